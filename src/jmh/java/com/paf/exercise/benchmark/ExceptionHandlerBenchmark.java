@@ -0,0 +1,37 @@
+package com.paf.exercise.benchmark;
+
+import com.paf.exercise.exception.GlobalExceptionHandler;
+import com.paf.exercise.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The 404 path: creating the exception, logging it and building the error body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler exceptionHandler;
+    private ServletWebRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        exceptionHandler = new GlobalExceptionHandler();
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tournaments/1"));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> resourceNotFound() {
+        return exceptionHandler.resourceNotFoundException(
+                new ResourceNotFoundException("The tournament with id: 1 does not exist!"), request);
+    }
+}
@@ -0,0 +1,167 @@
+package com.paf.exercise.benchmark;
+
+import com.paf.exercise.ExerciseApplication;
+import com.paf.exercise.model.Player;
+import com.paf.exercise.model.Tournament;
+import com.paf.exercise.service.api.PlayerService;
+import com.paf.exercise.service.api.TournamentService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load comparison of the execution modes over HTTP. Most threads read a large roster, which saturates the small
+ * request thread and connection pools the way a slow database would, while a few threads search the in-memory name
+ * index, which needs no connection. The p99 of the search route shows whether the saturation spills over to it;
+ * the requests in flight and the connections held are sampled as every response arrives, and reported as counters
+ * next to the number of samples, so their means are part of the results.
+ * <p>
+ * The admission control is off: all the threads are one client, which it would throttle long before the pools
+ * saturate.
+ * <p>
+ * The virtual mode needs the benchmark JVM to run on Java 21 or newer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ExecutionModeBenchmark {
+    private static final int ROSTER_SIZE = 5_000;
+    private static final int REQUEST_THREADS = 32;
+    private static final int POOL_SIZE = 8;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private InFlightRequests inFlightRequests;
+    private HikariDataSource dataSource;
+    private HttpClient client;
+    private HttpRequest rosterRequest;
+    private HttpRequest searchRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(ExerciseApplication.class)
+                .initializers((GenericApplicationContext applicationContext) -> applicationContext.registerBean(InFlightRequests.class))
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.cache.type=none",
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + REQUEST_THREADS,
+                        "--tournament.admission.enabled=false",
+                        "--tournament.execution.mode=" + mode);
+        inFlightRequests = context.getBean(InFlightRequests.class);
+        dataSource = context.getBean(DataSource.class).unwrap(HikariDataSource.class);
+
+        long tournamentId = context.getBean(TournamentService.class).create(Tournament.builder().rewardAmount(1_000).build()).getId();
+        List<Player> players = new ArrayList<>(ROSTER_SIZE);
+        for (int i = 0; i < ROSTER_SIZE; i++) {
+            players.add(Player.builder().name("Player " + i).build());
+        }
+        context.getBean(PlayerService.class).createAll(tournamentId, players);
+
+        String baseUri = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        rosterRequest = HttpRequest.newBuilder(URI.create(baseUri + "/players?tournament_id=" + tournamentId)).build();
+        searchRequest = HttpRequest.newBuilder(URI.create(baseUri + "/players/search?q=player%2042")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(48)
+    public int roster(Load load) throws IOException, InterruptedException {
+        return send(rosterRequest, load);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public int search(Load load) throws IOException, InterruptedException {
+        return send(searchRequest, load);
+    }
+
+    private int send(HttpRequest request, Load load) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " from " + request.uri());
+        }
+        load.sample(inFlightRequests.inFlight.get(), dataSource.getHikariPoolMXBean().getActiveConnections());
+        return response.body().length;
+    }
+
+    /**
+     * The requests in flight and the pool connections active, summed over the samples taken as the responses
+     * arrive, so dividing them by the samples gives the mean load the clients saw.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Load {
+        public long samples;
+        public long inFlight;
+        public long activeConnections;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            samples = 0;
+            inFlight = 0;
+            activeConnections = 0;
+        }
+
+        void sample(int requestsInFlight, int connectionsActive) {
+            samples++;
+            inFlight += requestsInFlight;
+            activeConnections += connectionsActive;
+        }
+    }
+
+    /**
+     * Tracks the requests being handled at once.
+     */
+    static class InFlightRequests extends OncePerRequestFilter {
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            inFlight.incrementAndGet();
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
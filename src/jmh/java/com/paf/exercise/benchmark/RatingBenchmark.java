@@ -0,0 +1,127 @@
+package com.paf.exercise.benchmark;
+
+import com.paf.exercise.ExerciseApplication;
+import com.paf.exercise.model.MatchResults;
+import com.paf.exercise.model.Player;
+import com.paf.exercise.model.PlayerRegistrationResult;
+import com.paf.exercise.model.RatingUpdate;
+import com.paf.exercise.model.ScheduleFormat;
+import com.paf.exercise.model.ScheduleRequest;
+import com.paf.exercise.model.ScheduleSummary;
+import com.paf.exercise.model.Tournament;
+import com.paf.exercise.repository.memory.InMemoryStore;
+import com.paf.exercise.service.api.PlayerService;
+import com.paf.exercise.service.api.RatingService;
+import com.paf.exercise.service.api.ScheduleService;
+import com.paf.exercise.service.api.TournamentService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The rating of a whole round of results and the seeding of a bracket by rating, over a large roster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RatingBenchmark {
+    private static final int REGISTRATION_BATCH = 10_000;
+
+    @Param({"100000"})
+    private int rosterSize;
+
+    @Param({"postgres", "memory"})
+    private String storage;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private RatingService ratingService;
+    private ScheduleService scheduleService;
+    private long tournamentId;
+    private MatchResults results;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(ExerciseApplication.class)
+                .web(WebApplicationType.NONE);
+        if (InMemoryStore.PROFILE.equals(storage)) {
+            context = application.profiles(InMemoryStore.PROFILE).run();
+        } else {
+            postgres = EmbeddedPostgres.start();
+            context = application.run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres")
+                            + "&reWriteBatchedInserts=true",
+                    "--spring.jpa.show-sql=false",
+                    "--tournament.players.bulk.batch-size=1000");
+        }
+        ratingService = context.getBean(RatingService.class);
+        scheduleService = context.getBean(ScheduleService.class);
+        PlayerService playerService = context.getBean(PlayerService.class);
+
+        tournamentId = context.getBean(TournamentService.class)
+                .create(Tournament.builder().rewardAmount(1_000_000).build()).getId();
+        long[] ids = new long[rosterSize];
+        int registered = 0;
+        while (registered < rosterSize) {
+            int batch = Math.min(REGISTRATION_BATCH, rosterSize - registered);
+            for (PlayerRegistrationResult result : playerService.createAll(tournamentId, players(batch))) {
+                ids[registered++] = result.getId();
+            }
+        }
+        results = pairings(ids);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    /**
+     * Every player plays one match, so a report updates the rating of the whole roster.
+     */
+    @Benchmark
+    public RatingUpdate reportResults() {
+        return ratingService.reportResults(tournamentId, results);
+    }
+
+    @Benchmark
+    public ScheduleSummary generateBracketByRating() {
+        return scheduleService.generate(tournamentId,
+                ScheduleRequest.builder().format(ScheduleFormat.SINGLE_ELIMINATION).byRating(true).build());
+    }
+
+    private static MatchResults pairings(long[] ids) {
+        int matches = ids.length / 2;
+        long[] home = new long[matches];
+        long[] away = new long[matches];
+        double[] scores = new double[matches];
+        Random random = new Random(1);
+        for (int i = 0; i < matches; i++) {
+            home[i] = ids[2 * i];
+            away[i] = ids[2 * i + 1];
+            scores[i] = random.nextInt(3) / 2.0;
+        }
+        return MatchResults.builder().homePlayerIds(home).awayPlayerIds(away).scores(scores).build();
+    }
+
+    private static List<Player> players(int count) {
+        List<Player> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            players.add(Player.builder().name("Player " + i).build());
+        }
+        return players;
+    }
+}
@@ -0,0 +1,46 @@
+package com.paf.exercise.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paf.exercise.model.Player;
+import com.paf.exercise.model.Tournament;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the tournament entity graph as returned by GET /api/tournaments/{id}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int players;
+
+    private ObjectMapper objectMapper;
+    private Tournament tournament;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        tournament = Tournament.builder().id(1L).rewardAmount(1_000).build();
+        List<Player> roster = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            roster.add(Player.builder().id(i).name("Player " + i).tournament(tournament).build());
+        }
+        tournament.setPlayers(roster);
+    }
+
+    @Benchmark
+    public byte[] serializeTournament() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tournament);
+    }
+}
@@ -0,0 +1,165 @@
+package com.paf.exercise.benchmark;
+
+import com.paf.exercise.ExerciseApplication;
+import com.paf.exercise.metrics.RequestStatistics;
+import com.paf.exercise.model.CursorPage;
+import com.paf.exercise.model.Player;
+import com.paf.exercise.model.PlayerDetails;
+import com.paf.exercise.model.PlayerRegistrationResult;
+import com.paf.exercise.model.PlayerSummary;
+import com.paf.exercise.model.Tournament;
+import com.paf.exercise.model.TournamentDetails;
+import com.paf.exercise.model.TournamentSummary;
+import com.paf.exercise.repository.memory.InMemoryStore;
+import com.paf.exercise.service.api.PlayerService;
+import com.paf.exercise.service.api.TournamentService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service operations against an embedded PostgreSQL, with and without the read-through caches, and against the
+ * in-memory storage, the ceiling of the services without the round trips to the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final int ROSTER_SIZE = 1_000;
+    private static final int TOURNAMENTS = 1_000;
+    private static final int REGISTRATIONS = 100;
+    private static final long FIRST_GIVEN_ID = 1_000_000L;
+
+    @Param({"caffeine", "none"})
+    private String cache;
+
+    @Param({"postgres", "memory"})
+    private String storage;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private TournamentService tournamentService;
+    private PlayerService playerService;
+    private long tournamentId;
+    private long nextGivenId = FIRST_GIVEN_ID;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(ExerciseApplication.class)
+                .web(WebApplicationType.NONE);
+        if (InMemoryStore.PROFILE.equals(storage)) {
+            context = application.profiles(InMemoryStore.PROFILE).run("--spring.cache.type=" + cache);
+        } else {
+            postgres = EmbeddedPostgres.start();
+            context = application.run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres")
+                            + "&reWriteBatchedInserts=true",
+                    "--spring.jpa.show-sql=false",
+                    "--spring.cache.type=" + cache);
+        }
+        tournamentService = context.getBean(TournamentService.class);
+        playerService = context.getBean(PlayerService.class);
+
+        for (int i = 0; i < TOURNAMENTS; i++) {
+            tournamentId = tournamentService.create(Tournament.builder().rewardAmount(1_000).build()).getId();
+        }
+        playerService.createAll(tournamentId, players(ROSTER_SIZE));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    public TournamentDetails getTournamentById() {
+        return tournamentService.getTournamentById(tournamentId);
+    }
+
+    @Benchmark
+    public List<PlayerDetails> getPlayersByTournamentId() {
+        return playerService.getPlayersByTournamentId(tournamentId);
+    }
+
+    @Benchmark
+    public CursorPage<TournamentSummary> getTournamentsPage() {
+        return tournamentService.getTournaments(null, 100);
+    }
+
+    @Benchmark
+    public CursorPage<PlayerSummary> getPlayersPage() {
+        return tournamentService.getPlayers(tournamentId, null, 100);
+    }
+
+    @Benchmark
+    public void createAndDeletePlayer(Statements statements) {
+        RequestStatistics.current().reset();
+        Player player = playerService.create(tournamentId, Player.builder().name("Benchmark").build());
+        playerService.delete(player.getId());
+        statements.count(2);
+    }
+
+    @Benchmark
+    public void createAndDeleteTournament(Statements statements) {
+        RequestStatistics.current().reset();
+        Tournament tournament = tournamentService.create(Tournament.builder().id(nextGivenId++).rewardAmount(1_000).build());
+        tournamentService.delete(tournament.getId());
+        statements.count(2);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTRATIONS)
+    public void registerPlayersOneByOne() {
+        for (Player player : players(REGISTRATIONS)) {
+            playerService.create(tournamentId, player);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTRATIONS)
+    public List<PlayerRegistrationResult> registerPlayersInBulk() {
+        return playerService.createAll(tournamentId, players(REGISTRATIONS));
+    }
+
+    /**
+     * JDBC statements issued by the write benchmarks next to the number of writes, so the round trips per write
+     * are part of the results.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Statements {
+        public long statements;
+        public long writes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            writes = 0;
+        }
+
+        void count(int writeCount) {
+            statements += RequestStatistics.current().getStatements();
+            writes += writeCount;
+        }
+    }
+
+    private static List<Player> players(int count) {
+        List<Player> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            players.add(Player.builder().name("Player " + i).build());
+        }
+        return players;
+    }
+}
@@ -0,0 +1,126 @@
+package com.paf.exercise.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paf.exercise.exception.ExceptionDetails;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Admits the requests of the API before any other work is done for them. A client over the rate of its route class
+ * gets 429, and any request beyond the concurrency limit gets 503, both with a Retry-After, so an overloaded server
+ * sheds the excess load cheaply instead of letting every request queue.
+ * <p>
+ * The clients are told apart by the configured header, or by their address without one.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "tournament.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionFilter extends OncePerRequestFilter {
+    static final String RATE_LIMITED_ERROR = "Too many requests, retry later!";
+    static final String OVERLOADED_ERROR = "The server is overloaded, retry later!";
+    private static final String API_PATH = "/api/";
+    private static final String REJECTED = "tournament.admission.rejected";
+    /**
+     * Routes that stream for as long as their data lasts; their duration says nothing about the load.
+     */
+    private static final Set<String> STREAMING_PATHS = Set.of("/api/tournaments/export");
+
+    private final RateLimiter rateLimiter;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String clientHeader;
+    private final Duration overloadedRetryAfter;
+
+    public AdmissionFilter(RateLimiter rateLimiter, ConcurrencyLimiter concurrencyLimiter, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${tournament.admission.client-header:}") String clientHeader,
+                           @Value("${tournament.admission.concurrency.retry-after:1s}") Duration overloadedRetryAfter) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.clientHeader = clientHeader;
+        this.overloadedRetryAfter = overloadedRetryAfter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RouteClass routeClass = RouteClass.of(request.getMethod());
+        long start = System.nanoTime();
+        long wait = rateLimiter.tryAcquire(client(request, clientHeader), routeClass, start);
+        if (wait > 0) {
+            reject(request, response, routeClass, HttpStatus.TOO_MANY_REQUESTS, RATE_LIMITED_ERROR, wait);
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            reject(request, response, routeClass, HttpStatus.SERVICE_UNAVAILABLE, OVERLOADED_ERROR,
+                    overloadedRetryAfter.toNanos());
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long end = System.nanoTime();
+            boolean sample = !request.isAsyncStarted() && !STREAMING_PATHS.contains(request.getRequestURI());
+            concurrencyLimiter.release(sample ? end - start : -1, end);
+        }
+    }
+
+    /**
+     * @return the client of the request: the value of the client header, or the address without one.
+     */
+    public static String client(HttpServletRequest request, String clientHeader) {
+        String client = clientHeader.isEmpty() ? null : request.getHeader(clientHeader);
+        return StringUtils.hasText(client) ? client : request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RouteClass routeClass,
+                        HttpStatus status, String message, long retryAfterNanos) throws IOException {
+        Counter.builder(REJECTED)
+                .description("Requests rejected before they were handled")
+                .tag("status", String.valueOf(status.value()))
+                .tag("route", routeClass.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .increment();
+        ExceptionDetails exceptionDetails = ExceptionDetails.builder()
+                .timestamp(new Date())
+                .messages(singletonList(message))
+                .path("uri=" + request.getRequestURI())
+                .build();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), exceptionDetails);
+    }
+}
@@ -0,0 +1,82 @@
+package com.paf.exercise.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the requests in flight by a limit that follows the observed latency, additive increase and multiplicative
+ * decrease: a request slower than the target shrinks the limit, at most once per target interval, and a fast one
+ * grows it while the limit is in use. Once the database slows down, the excess requests are rejected right away
+ * instead of queueing for threads and connections. The state is a few atomics, there is no lock.
+ */
+@Component
+@ConditionalOnProperty(name = "tournament.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimiter {
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger limit;
+    private final AtomicLong lastDecrease;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTarget;
+    private final double backoffRatio;
+
+    public ConcurrencyLimiter(MeterRegistry meterRegistry,
+                              @Value("${tournament.admission.concurrency.initial-limit:50}") int initialLimit,
+                              @Value("${tournament.admission.concurrency.min-limit:8}") int minLimit,
+                              @Value("${tournament.admission.concurrency.max-limit:200}") int maxLimit,
+                              @Value("${tournament.admission.concurrency.latency-target:250ms}") Duration latencyTarget,
+                              @Value("${tournament.admission.concurrency.backoff-ratio:0.9}") double backoffRatio) {
+        this.limit = new AtomicInteger(initialLimit);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTarget = latencyTarget.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.lastDecrease = new AtomicLong(System.nanoTime() - this.latencyTarget);
+        Gauge.builder("tournament.admission.concurrency.limit", limit, AtomicInteger::get)
+                .description("Requests allowed in flight")
+                .register(meterRegistry);
+        Gauge.builder("tournament.admission.concurrency.in-flight", inFlight, AtomicInteger::get)
+                .description("Requests in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return whether the request is admitted; an admitted request must be released.
+     */
+    boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit.get()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param latency - The nanoseconds the request took, negative if it is not a sample of the latency.
+     */
+    void release(long latency, long now) {
+        int current = inFlight.getAndDecrement();
+        if (latency < 0) {
+            return;
+        }
+        if (latency > latencyTarget) {
+            long last = lastDecrease.get();
+            if (now - last >= latencyTarget && lastDecrease.compareAndSet(last, now)) {
+                limit.updateAndGet(value -> Math.max(minLimit, (int) (value * backoffRatio)));
+            }
+        } else if (current * 2 >= limit.get()) {
+            limit.updateAndGet(value -> Math.min(maxLimit, value + 1));
+        }
+    }
+
+    int getLimit() {
+        return limit.get();
+    }
+}
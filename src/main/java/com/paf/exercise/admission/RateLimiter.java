@@ -0,0 +1,53 @@
+package com.paf.exercise.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The token buckets of the clients, one per client and route class. The buckets of the idle clients expire, and
+ * the number of buckets is bounded, so a flood of new clients cannot exhaust the memory.
+ */
+@Component
+@ConditionalOnProperty(name = "tournament.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimiter {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<RouteClass, Cache<String, TokenBucket>> buckets = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Long> intervals = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Integer> bursts = new EnumMap<>(RouteClass.class);
+
+    public RateLimiter(@Value("${tournament.admission.read.rate:500}") double readRate,
+                       @Value("${tournament.admission.read.burst:1000}") int readBurst,
+                       @Value("${tournament.admission.write.rate:100}") double writeRate,
+                       @Value("${tournament.admission.write.burst:200}") int writeBurst,
+                       @Value("${tournament.admission.max-clients:100000}") long maxClients,
+                       @Value("${tournament.admission.client-expiry:1m}") Duration clientExpiry) {
+        intervals.put(RouteClass.READ, (long) (NANOS_PER_SECOND / readRate));
+        intervals.put(RouteClass.WRITE, (long) (NANOS_PER_SECOND / writeRate));
+        bursts.put(RouteClass.READ, readBurst);
+        bursts.put(RouteClass.WRITE, writeBurst);
+        for (RouteClass routeClass : RouteClass.values()) {
+            buckets.put(routeClass, Caffeine.newBuilder()
+                    .maximumSize(maxClients)
+                    .expireAfterAccess(clientExpiry)
+                    .build());
+        }
+    }
+
+    /**
+     * @return 0 if the request is admitted, otherwise the nanoseconds until the client may retry.
+     */
+    long tryAcquire(String client, RouteClass routeClass, long now) {
+        return buckets.get(routeClass)
+                .get(client, key -> new TokenBucket(intervals.get(routeClass), bursts.get(routeClass), now))
+                .tryAcquire(now);
+    }
+}
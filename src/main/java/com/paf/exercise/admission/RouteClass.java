@@ -0,0 +1,15 @@
+package com.paf.exercise.admission;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * The classes of routes that are rate limited separately, so a client writing at its limit can still read.
+ */
+enum RouteClass {
+    READ, WRITE;
+
+    static RouteClass of(String method) {
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)
+                ? READ : WRITE;
+    }
+}
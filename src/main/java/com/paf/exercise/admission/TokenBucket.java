@@ -0,0 +1,41 @@
+package com.paf.exercise.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket kept as a single timestamp, the generic cell rate algorithm: the theoretical arrival time of the
+ * next request at the sustained rate. A request is admitted if that time is at most a burst ahead of now, and pushes
+ * it one interval further. Admitting is one compare-and-set, without a lock and without a refill task.
+ */
+final class TokenBucket {
+    private final long interval;
+    private final long burstTolerance;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param interval - The nanoseconds per token, the inverse of the sustained rate.
+     * @param burst    - The number of tokens a full bucket holds.
+     */
+    TokenBucket(long interval, int burst, long now) {
+        this.interval = interval;
+        this.burstTolerance = interval * burst;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * @return 0 if a token has been taken, otherwise the nanoseconds until the next one is available.
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + interval;
+            long wait = next - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.paf.exercise.cache;
+
+import lombok.Value;
+
+/**
+ * The JSON of a tournament at one version, and its gzip encoding, null if the gzip encoding is disabled.
+ */
+@Value
+public class EncodedTournament {
+    long version;
+    byte[] json;
+    byte[] gzip;
+
+    int size() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+}
@@ -0,0 +1,43 @@
+package com.paf.exercise.cache;
+
+import com.paf.exercise.config.CacheConfig;
+import com.paf.exercise.event.PlayerChangedEvent;
+import com.paf.exercise.event.TournamentChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+
+/**
+ * Evicts the cached roster and encoded response of every tournament touched by a committed write.
+ * <p>
+ * The eviction runs after the commit, and the cached reads load with {@code sync = true}, so a read that loaded
+ * the old state concurrently with the write is always evicted after it has been stored.
+ */
+@Component
+public class TournamentCacheInvalidator {
+    private final Cache rosters;
+    private final TournamentResponseCache responses;
+
+    public TournamentCacheInvalidator(CacheManager cacheManager, TournamentResponseCache responses) {
+        this.rosters = Objects.requireNonNull(cacheManager.getCache(CacheConfig.ROSTERS));
+        this.responses = responses;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTournamentChanged(TournamentChangedEvent event) {
+        evict(event.getTournamentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerChanged(PlayerChangedEvent event) {
+        evict(event.getTournamentId());
+    }
+
+    private void evict(long tournamentId) {
+        rosters.evict(tournamentId);
+        responses.invalidate(tournamentId);
+    }
+}
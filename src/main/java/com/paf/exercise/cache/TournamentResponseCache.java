@@ -0,0 +1,100 @@
+package com.paf.exercise.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.paf.exercise.model.TournamentDetails;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.LongFunction;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The JSON of the tournaments, encoded once per version and written to the responses as it is. The entries are
+ * bounded by their total size in bytes; the least recently used ones are evicted first.
+ * <p>
+ * An entry is only served for the version it was encoded at, so an entry stored by a read that raced a write is
+ * never served after the write, even before the write has evicted it.
+ */
+@Component
+public class TournamentResponseCache {
+    static final String CACHE_NAME = "tournamentResponses";
+
+    private final Cache<Long, EncodedTournament> responses;
+    private final ObjectMapper objectMapper;
+    private final boolean gzip;
+
+    public TournamentResponseCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                   @Value("${tournament.response-cache.max-size}") DataSize maxSize,
+                                   @Value("${tournament.response-cache.gzip}") boolean gzip) {
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long id, EncodedTournament tournament) -> tournament.size())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, CACHE_NAME);
+    }
+
+    /**
+     * Returns the encoded tournament if it is cached at the given version, otherwise loads, encodes and caches it.
+     * The loaded tournament may already be at a later version, the returned one tells which.
+     */
+    public EncodedTournament get(long id, long version, LongFunction<TournamentDetails> loader) {
+        EncodedTournament cached = responses.getIfPresent(id);
+        if (cached != null && cached.getVersion() == version) {
+            return cached;
+        }
+        EncodedTournament encoded = encode(loader.apply(id));
+        responses.asMap().merge(id, encoded, (current, loaded) -> loaded.getVersion() >= current.getVersion() ? loaded : current);
+        return encoded;
+    }
+
+    public void invalidate(long id) {
+        responses.invalidate(id);
+    }
+
+    /**
+     * @return whether the Accept-Encoding header accepts gzip, the only coding the cache stores.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.trim().split(";");
+            if (parameters[0].trim().equalsIgnoreCase("gzip")) {
+                return parameters.length == 1 || !parameters[1].replace(" ", "").matches("q=0(\\.0{0,3})?");
+            }
+        }
+        return false;
+    }
+
+    private EncodedTournament encode(TournamentDetails tournament) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(tournament);
+            return new EncodedTournament(tournament.getVersion(), json, gzip ? compress(json) : null);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("The tournament with id: " + tournament.getId() + " could not be encoded!", exception);
+        }
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+            output.write(json);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,43 @@
+package com.paf.exercise.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * The caches are named through the spring.cache properties. The caching advice runs before the transactional one,
+ * so a cache hit does not open a transaction.
+ * <p>
+ * The roster cache is bounded by the number of players it holds rather than by its entries, so a few huge rosters
+ * cannot exhaust the heap.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String ROSTERS = "rosters";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> rosterCacheCustomizer(
+            @Value("${tournament.cache.max-players:1000000}") long maxPlayers,
+            @Value("${tournament.cache.expire-after-write:60s}") Duration expireAfterWrite) {
+        return cacheManager -> cacheManager.registerCustomCache(ROSTERS, Caffeine.newBuilder()
+                .maximumWeight(maxPlayers)
+                .weigher((Object key, Object value) -> 1 + players(value))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build());
+    }
+
+    private static int players(Object value) {
+        return value instanceof Collection ? ((Collection<?>) value).size() : 0;
+    }
+}
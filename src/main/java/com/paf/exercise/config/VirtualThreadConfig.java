@@ -0,0 +1,64 @@
+package com.paf.exercise.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The virtual execution mode, selected with tournament.execution.mode=virtual. Tomcat then handles every request on
+ * its own virtual thread instead of the bounded pool of platform threads. A request waiting on the database parks
+ * its virtual thread, so a slow database no longer exhausts the request threads and the routes that do not need a
+ * connection keep their latency. The connection pool still bounds the concurrent queries.
+ * <p>
+ * Virtual threads need Java 21 or newer at runtime; the application still compiles for Java 11, so the executor is
+ * looked up reflectively and the startup fails on an older runtime.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "tournament.execution.mode", havingValue = "virtual")
+public class VirtualThreadConfig {
+
+    /**
+     * The executor is not a bean of its own, an Executor bean would replace the application task executor.
+     */
+    @Bean
+    public VirtualThreadCustomizer virtualThreadCustomizer() {
+        return new VirtualThreadCustomizer(newVirtualThreadPerTaskExecutor());
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException exception) {
+            throw new IllegalStateException("The virtual execution mode requires Java 21 or newer!", exception);
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException("The virtual thread executor could not be created!", exception);
+        }
+    }
+
+    static class VirtualThreadCustomizer implements TomcatProtocolHandlerCustomizer<ProtocolHandler>, DisposableBean {
+        private final ExecutorService executor;
+
+        VirtualThreadCustomizer(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void customize(ProtocolHandler protocolHandler) {
+            protocolHandler.setExecutor(executor);
+            log.info("The requests are handled on virtual threads.");
+        }
+
+        @Override
+        public void destroy() {
+            executor.shutdown();
+        }
+    }
+}
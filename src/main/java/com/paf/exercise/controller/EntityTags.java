@@ -0,0 +1,39 @@
+package com.paf.exercise.controller;
+
+import com.paf.exercise.exception.InvalidInputException;
+
+/**
+ * Converts between the tournament versions and the strong ETags of the tournament and roster resources.
+ */
+final class EntityTags {
+    private static final long NO_VERSION = -1;
+
+    private EntityTags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @return the version named by the If-Match header, null if the header is absent or "*". A weak or unknown
+     * ETag never matches under the strong comparison If-Match requires, so it becomes a version no tournament has.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.indexOf(',') >= 0) {
+            throw new InvalidInputException("The If-Match header must name a single ETag!");
+        }
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return NO_VERSION;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException exception) {
+            return NO_VERSION;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.paf.exercise.controller;
+
+import com.paf.exercise.outbox.OutboxRelay;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.validation.constraints.Min;
+
+@Validated
+@RestController
+@RequestMapping("/api")
+public class EventController {
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final OutboxRelay outboxRelay;
+
+    public EventController(OutboxRelay outboxRelay) {
+        this.outboxRelay = outboxRelay;
+    }
+
+    /**
+     * Streams the changes of the tournaments and the players as server-sent events named tournament or player, each
+     * with its offset as the event ID.
+     *
+     * @param lastEventId - The ID of the last event received, sent by an event source reconnecting.
+     * @param after       - The ID to resume after, if there is no Last-Event-ID; without either the stream starts
+     *                    with the next change.
+     * @return Status 200 and the stream, 400 if an ID is faulty.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getEvents(@Min(0) @RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId,
+                                                @Min(0) @RequestParam(value = "after", required = false) Long after) {
+        return new ResponseEntity<>(outboxRelay.subscribe(lastEventId != null ? lastEventId : after), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,59 @@
+package com.paf.exercise.controller;
+
+import com.paf.exercise.model.CursorPage;
+import com.paf.exercise.model.PayoutDistribution;
+import com.paf.exercise.model.PayoutRequest;
+import com.paf.exercise.model.PayoutSummary;
+import com.paf.exercise.service.api.PayoutService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+@Validated
+@RestController
+@RequestMapping("/api")
+public class PayoutController {
+    private final PayoutService payoutService;
+
+    public PayoutController(PayoutService payoutService) {
+        this.payoutService = payoutService;
+    }
+
+    /**
+     * Splits the reward of a tournament over its final standings, replacing any previous payouts.
+     *
+     * @param id      - Tournament ID.
+     * @param request - The standings and the payout curve.
+     * @return Status 200 and the summary of the split, 400 if the request param is faulty or a ranked player is not
+     * registered in the tournament, 404 if the tournament with the ID param is missing.
+     */
+    @PostMapping("/tournaments/{id}/payouts")
+    public ResponseEntity<PayoutDistribution> distribute(@Min(0) @PathVariable("id") long id,
+                                                         @Valid @RequestBody PayoutRequest request) {
+        PayoutDistribution distribution = payoutService.distribute(id, request);
+        return new ResponseEntity<>(distribution, HttpStatus.OK);
+    }
+
+    /**
+     * Return a page of the payouts of a tournament ordered by position. Reads the page with one SQL statement.
+     *
+     * @param id    - Tournament ID.
+     * @param after - Cursor returned as nextCursor by the previous page, omitted for the first page.
+     * @param limit - Maximum number of payouts on the page.
+     * @return Status Code 200 and the page of the payouts, 400 if the request param is faulty,
+     * 404 there is no tournament with the ID.
+     */
+    @GetMapping("/tournaments/{id}/payouts")
+    public ResponseEntity<CursorPage<PayoutSummary>> getPayouts(@Min(0) @PathVariable("id") long id,
+                                                                @RequestParam(value = "after", required = false) String after,
+                                                                @Min(1) @Max(CursorPage.MAX_LIMIT)
+                                                                @RequestParam(value = "limit", defaultValue = CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<PayoutSummary> payouts = payoutService.getPayouts(id, after, limit);
+        return new ResponseEntity<>(payouts, HttpStatus.OK);
+    }
+}
@@ -1,15 +1,24 @@
 package com.paf.exercise.controller;
 
 import com.paf.exercise.model.Player;
+import com.paf.exercise.model.PlayerDetails;
+import com.paf.exercise.model.PlayerRegistration;
+import com.paf.exercise.model.PlayerRegistrationResult;
+import com.paf.exercise.model.PlayerSearchResult;
+import com.paf.exercise.service.api.PlayerRegistrationService;
 import com.paf.exercise.service.api.PlayerService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
 import java.util.List;
 
 
@@ -17,10 +26,15 @@ import java.util.List;
 @RestController
 @RequestMapping("/api")
 public class PlayerController {
+    private static final int MAX_BULK_SIZE = 10_000;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final PlayerService playerService;
+    private final PlayerRegistrationService registrationService;
 
-    public PlayerController(PlayerService playerService) {
+    public PlayerController(PlayerService playerService, PlayerRegistrationService registrationService) {
         this.playerService = playerService;
+        this.registrationService = registrationService;
     }
 
     /**
@@ -35,6 +49,50 @@ public class PlayerController {
         return new ResponseEntity<>(createdPlayer, HttpStatus.OK);
     }
 
+    /**
+     * Queues the registration of a new player, which is written together with the other queued registrations.
+     *
+     * @param player - Player to create.
+     * @return - Status 202 and the registration, whose Location can be polled, 400 if the request body is faulty,
+     * 503 and a Retry-After if the registration queue is full.
+     */
+    @PostMapping(value = "/players", params = "async=true")
+    public ResponseEntity<PlayerRegistration> registerPlayer(@Valid @RequestBody Player player) {
+        PlayerRegistration registration = registrationService.register(player.getTournament().getId(), player);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/players/registrations/{registrationId}").buildAndExpand(registration.getId()).toUri())
+                .body(registration);
+    }
+
+    /**
+     * Returns the status of a queued registration.
+     *
+     * @param registrationId - The registration ID.
+     * @return - Status 200 and the registration, with the player ID once it is created, 404 if there is no
+     * registration with the ID or it has expired.
+     */
+    @GetMapping("/players/registrations/{registrationId}")
+    public ResponseEntity<PlayerRegistration> getRegistration(@PathVariable("registrationId") String registrationId) {
+        return new ResponseEntity<>(registrationService.getRegistration(registrationId), HttpStatus.OK);
+    }
+
+    /**
+     * Registers many players into a tournament in one transaction.
+     *
+     * @param id      - The tournament ID.
+     * @param players - Players to create, the tournament is taken from the path.
+     * @return - Status 200 and one result per player in request order, 404 if there is no tournament with the ID,
+     * 400 if the request body is faulty.
+     */
+    @PostMapping("/tournaments/{id}/players:bulk")
+    public ResponseEntity<List<PlayerRegistrationResult>> createPlayers(@Min(0) @PathVariable("id") long id,
+                                                                        @Size(max = MAX_BULK_SIZE, message = "At most 10000 players can be registered at once!")
+                                                                        @RequestBody List<Player> players) {
+        List<PlayerRegistrationResult> results = playerService.createAll(id, players);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
     /**
      * Returns a Player based on the given name parameter.
      *
@@ -50,20 +108,35 @@ public class PlayerController {
     }
 
     /**
-     * @return ArrayList of all visible widgets
+     * Type-ahead search over the player names.
+     *
+     * @param query - The beginning of the name, may contain typos.
+     * @param limit - Maximum number of players to return.
+     * @return - Status 200 and the matching players, exact and prefix matches first, then the closest fuzzy matches,
+     * 400 if the request param is faulty.
      */
+    @GetMapping("/players/search")
+    public ResponseEntity<List<PlayerSearchResult>> searchPlayers(@NotBlank(message = "The q parameter must not be blank!")
+                                                                  @RequestParam("q") String query,
+                                                                  @Min(1) @Max(MAX_SEARCH_LIMIT)
+                                                                  @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        List<PlayerSearchResult> players = playerService.search(query, limit);
+        return new ResponseEntity<>(players, HttpStatus.OK);
+    }
 
 
     /**
      * Updates a player object with the given ID.
      *
-     * @param player - Player to update.
+     * @param player  - Player to update.
+     * @param ifMatch - Optional ETag of the player's tournament the update is based on.
      * @return Status 200 and the updated players, 404 if there is no player with the ID,
-     * 400 if the request param is faulty.
+     * 400 if the request param is faulty, 412 if the If-Match is not the current ETag of the tournament.
      */
     @PutMapping("/players")
-    public ResponseEntity<Player> updatePlayer(@Valid @RequestBody Player player) {
-        Player createdPlayer = playerService.update(player.getId(), player);
+    public ResponseEntity<Player> updatePlayer(@Valid @RequestBody Player player,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Player createdPlayer = playerService.update(player.getId(), player, EntityTags.parseIfMatch(ifMatch));
         return new ResponseEntity<>(createdPlayer, HttpStatus.OK);
     }
 
@@ -75,8 +148,8 @@ public class PlayerController {
      * 400 if the request param is faulty.
      */
     @GetMapping(value = "/players", params = "tournament_id")
-    public ResponseEntity<List<Player>> getPlayersByTournamentId(@Min(0) @RequestParam("tournament_id") long id) {
-        List<Player> player = playerService.getPlayersByTournamentId(id);
+    public ResponseEntity<List<PlayerDetails>> getPlayersByTournamentId(@Min(0) @RequestParam("tournament_id") long id) {
+        List<PlayerDetails> player = playerService.getPlayersByTournamentId(id);
         return new ResponseEntity<>(player, HttpStatus.OK);
     }
 
@@ -0,0 +1,38 @@
+package com.paf.exercise.controller;
+
+import com.paf.exercise.model.MatchResults;
+import com.paf.exercise.model.RatingUpdate;
+import com.paf.exercise.service.api.RatingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+
+@Validated
+@RestController
+@RequestMapping("/api")
+public class RatingController {
+    private final RatingService ratingService;
+
+    public RatingController(RatingService ratingService) {
+        this.ratingService = ratingService;
+    }
+
+    /**
+     * Reports a burst of match results and updates the ratings of the players.
+     *
+     * @param id      - Tournament ID.
+     * @param results - The results, one element of each array per match.
+     * @return Status 200 and the summary of the update, 400 if the request param is faulty or a player is not
+     * registered in the tournament, 404 if the tournament with the ID param is missing.
+     */
+    @PostMapping("/tournaments/{id}/results")
+    public ResponseEntity<RatingUpdate> reportResults(@Min(0) @PathVariable("id") long id,
+                                                      @Valid @RequestBody MatchResults results) {
+        RatingUpdate update = ratingService.reportResults(id, results);
+        return new ResponseEntity<>(update, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,74 @@
+package com.paf.exercise.controller;
+
+import com.paf.exercise.model.CursorPage;
+import com.paf.exercise.model.MatchSummary;
+import com.paf.exercise.model.ScheduleRequest;
+import com.paf.exercise.model.ScheduleSummary;
+import com.paf.exercise.service.api.ScheduleService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+@Validated
+@RestController
+@RequestMapping("/api")
+public class ScheduleController {
+    private final ScheduleService scheduleService;
+
+    public ScheduleController(ScheduleService scheduleService) {
+        this.scheduleService = scheduleService;
+    }
+
+    /**
+     * Generates the schedule of a tournament from its current roster, replacing any previous schedule.
+     *
+     * @param id      - Tournament ID.
+     * @param request - The format and the optional random seeding.
+     * @return Status 200 and the summary of the schedule, 400 if the request param is faulty or the tournament has
+     * fewer than 2 players, 404 if the tournament with the ID param is missing.
+     */
+    @PostMapping("/tournaments/{id}/schedule")
+    public ResponseEntity<ScheduleSummary> generateSchedule(@Min(0) @PathVariable("id") long id,
+                                                            @Valid @RequestBody ScheduleRequest request) {
+        ScheduleSummary schedule = scheduleService.generate(id, request);
+        return new ResponseEntity<>(schedule, HttpStatus.OK);
+    }
+
+    /**
+     * Returns the summary of the schedule of a tournament.
+     *
+     * @param id - Tournament ID.
+     * @return Status 200 and the summary of the schedule, 400 if the request param is faulty,
+     * 404 if the tournament is missing or has no schedule.
+     */
+    @GetMapping("/tournaments/{id}/schedule")
+    public ResponseEntity<ScheduleSummary> getSchedule(@Min(0) @PathVariable("id") long id) {
+        ScheduleSummary schedule = scheduleService.getSchedule(id);
+        return new ResponseEntity<>(schedule, HttpStatus.OK);
+    }
+
+    /**
+     * Return a page of the matches of a round ordered by number.
+     *
+     * @param id    - Tournament ID.
+     * @param round - Round number, from 1.
+     * @param after - Cursor returned as nextCursor by the previous page, omitted for the first page.
+     * @param limit - Maximum number of matches on the page.
+     * @return Status Code 200 and the page of the matches, 400 if the request param is faulty,
+     * 404 if the tournament is missing or has no schedule.
+     */
+    @GetMapping("/tournaments/{id}/schedule/rounds/{round}")
+    public ResponseEntity<CursorPage<MatchSummary>> getRound(@Min(0) @PathVariable("id") long id,
+                                                             @Min(1) @PathVariable("round") int round,
+                                                             @RequestParam(value = "after", required = false) String after,
+                                                             @Min(1) @Max(CursorPage.MAX_LIMIT)
+                                                             @RequestParam(value = "limit", defaultValue = CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<MatchSummary> matches = scheduleService.getRound(id, round, after, limit);
+        return new ResponseEntity<>(matches, HttpStatus.OK);
+    }
+}
@@ -1,26 +1,53 @@
 package com.paf.exercise.controller;
 
-import com.paf.exercise.model.Player;
+import com.paf.exercise.cache.EncodedTournament;
+import com.paf.exercise.cache.TournamentResponseCache;
+import com.paf.exercise.model.CursorPage;
+import com.paf.exercise.model.PlayerSummary;
+import com.paf.exercise.model.PurgeJob;
 import com.paf.exercise.model.Tournament;
+import com.paf.exercise.model.TournamentDetails;
+import com.paf.exercise.model.TournamentStats;
+import com.paf.exercise.model.TournamentSummary;
+import com.paf.exercise.model.TournamentTotals;
+import com.paf.exercise.service.api.ExportService;
+import com.paf.exercise.service.api.TournamentPurgeService;
 import com.paf.exercise.service.api.TournamentService;
+import com.paf.exercise.service.api.TournamentStatsService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
-import java.util.List;
+import java.io.IOException;
 
 @Validated
 @RestController
 @RequestMapping("/api")
 public class TournamentController {
     private final TournamentService tournamentService;
+    private final ExportService exportService;
+    private final TournamentPurgeService purgeService;
+    private final TournamentResponseCache responseCache;
+    private final TournamentStatsService statsService;
 
-    public TournamentController(TournamentService tournamentService) {
+    public TournamentController(TournamentService tournamentService, ExportService exportService,
+                                TournamentPurgeService purgeService, TournamentResponseCache responseCache,
+                                TournamentStatsService statsService) {
         this.tournamentService = tournamentService;
+        this.exportService = exportService;
+        this.purgeService = purgeService;
+        this.responseCache = responseCache;
+        this.statsService = statsService;
     }
 
     /**
@@ -49,40 +76,139 @@ public class TournamentController {
     }
 
     /**
-     * Returns a tournament with the given ID.
+     * Starts deleting a tournament in the background, in chunks of players, for tournaments with large rosters.
      *
      * @param id - Tournament ID.
-     * @return Status Code 200 and the tournament, 400 if the request param is faulty,
+     * @return Status 202 and the purge job, whose Location can be polled, 400 if the request param is faulty,
      * 404 if the tournament with the ID param is missing.
      */
-    @GetMapping("/tournaments/{id}")
-    public ResponseEntity<Tournament> getTournament(@Min(0) @PathVariable("id") long id) {
-        Tournament tournament = tournamentService.getTournamentById(id);
-        return new ResponseEntity<>(tournament, HttpStatus.OK);
+    @DeleteMapping(value = "/tournaments/{id}", params = "async=true")
+    public ResponseEntity<PurgeJob> purgeTournament(@Min(0) @PathVariable("id") long id) {
+        PurgeJob job = purgeService.purge(id);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/tournaments/purges/{jobId}").buildAndExpand(job.getId()).toUri())
+                .body(job);
     }
 
     /**
-     * Return all the tournaments.
+     * Returns the progress of a tournament purge.
      *
-     * @return Status Code 200 and the list of the tournaments, 400 if the request param is faulty.
+     * @param jobId - Purge job ID.
+     * @return Status Code 200 and the purge job, 404 if the job is missing or has expired.
+     */
+    @GetMapping("/tournaments/purges/{jobId}")
+    public ResponseEntity<PurgeJob> getPurgeJob(@PathVariable("jobId") String jobId) {
+        PurgeJob job = purgeService.getJob(jobId);
+        return new ResponseEntity<>(job, HttpStatus.OK);
+    }
+
+    /**
+     * Returns a tournament with the given ID. A matching If-None-Match is answered after reading the version
+     * column only, without loading the players or serializing the tournament. Otherwise the JSON is served from the
+     * response cache, gzip encoded if the client accepts it, and only encoded again after the tournament changed.
+     *
+     * @param id             - Tournament ID.
+     * @param acceptEncoding - The content codings the client accepts.
+     * @param request        - The request, whose If-None-Match is checked against the version of the tournament.
+     * @return Status Code 200 and the tournament with its ETag, 304 if the If-None-Match names the current ETag,
+     * 400 if the request param is faulty, 404 if the tournament with the ID param is missing.
+     */
+    @GetMapping(value = "/tournaments/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getTournament(@Min(0) @PathVariable("id") long id,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                WebRequest request) {
+        long version = tournamentService.getVersion(id);
+        if (request.checkNotModified(EntityTags.of(version))) {
+            return null;
+        }
+        EncodedTournament tournament = responseCache.get(id, version, tournamentService::getTournamentById);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(EntityTags.of(tournament.getVersion()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (tournament.getGzip() != null && TournamentResponseCache.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(tournament.getGzip());
+        }
+        return response.body(tournament.getJson());
+    }
+
+    /**
+     * Return a page of the tournaments ordered by ID, without their players. Reads the page with one SQL statement.
+     *
+     * @param after - Cursor returned as nextCursor by the previous page, omitted for the first page.
+     * @param limit - Maximum number of tournaments on the page.
+     * @return Status Code 200 and the page of the tournaments, 400 if the request param is faulty.
      */
     @GetMapping("/tournaments")
-    public ResponseEntity<List<Tournament>> getTournaments() {
-        List<Tournament> tournament = tournamentService.getTournaments();
-        return new ResponseEntity<>(tournament, HttpStatus.OK);
+    public ResponseEntity<CursorPage<TournamentSummary>> getTournaments(@RequestParam(value = "after", required = false) String after,
+                                                                        @Min(1) @Max(CursorPage.MAX_LIMIT)
+                                                                        @RequestParam(value = "limit", defaultValue = CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<TournamentSummary> tournaments = tournamentService.getTournaments(after, limit);
+        return new ResponseEntity<>(tournaments, HttpStatus.OK);
+    }
+
+    /**
+     * Streams every tournament and its players as newline-delimited JSON.
+     *
+     * @param response - The response the lines are written to.
+     */
+    @GetMapping(value = "/tournaments/export", produces = ExportService.NDJSON)
+    public void exportTournaments(HttpServletResponse response) throws IOException {
+        response.setContentType(ExportService.NDJSON);
+        exportService.exportTournaments(response.getOutputStream());
+    }
+
+    /**
+     * Return a page of the players from a given tournament ordered by ID. Issues two SQL statements: one reads the
+     * version for the ETag, the other reads the page. A matching If-None-Match is answered after the first.
+     *
+     * @param id    - Tournament ID.
+     * @param after - Cursor returned as nextCursor by the previous page, omitted for the first page.
+     * @param limit - Maximum number of players on the page.
+     * @param request - The request, whose If-None-Match is checked against the version of the tournament.
+     * @return Status Code 200 and the page of the players with the ETag of the roster, 304 if the If-None-Match
+     * names the current ETag, 400 if the request param is faulty, 404 there is no tournament with the ID.
+     */
+    @GetMapping("/tournaments/{id}/players")
+    public ResponseEntity<CursorPage<PlayerSummary>> getPlayers(@Min(0) @PathVariable("id") long id,
+                                                                @RequestParam(value = "after", required = false) String after,
+                                                                @Min(1) @Max(CursorPage.MAX_LIMIT)
+                                                                @RequestParam(value = "limit", defaultValue = CursorPage.DEFAULT_LIMIT) int limit,
+                                                                WebRequest request) {
+        // The version is read before the page, so a concurrent change can only make the ETag older than the page.
+        String eTag = EntityTags.of(tournamentService.getVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        CursorPage<PlayerSummary> players = tournamentService.getPlayers(id, after, limit);
+        return ResponseEntity.ok().eTag(eTag).body(players);
     }
 
     /**
-     * Return the list of the players from a given tournament.
+     * Returns the player count and the reward of a tournament from its precomputed counters, without counting the
+     * players.
      *
      * @param id - Tournament ID.
-     * @return Status Code 200 and the list of the players, 400 if the request param is faulty,
+     * @return Status Code 200 and the stats of the tournament, 400 if the request param is faulty,
      * 404 there is no tournament with the ID.
      */
-    @GetMapping("/tournaments/{id}/players")
-    public ResponseEntity<List<Player>> getPlayers(@Min(0) @PathVariable("id") long id) {
-        List<Player> players = tournamentService.getPlayers(id);
-        return new ResponseEntity<>(players, HttpStatus.OK);
+    @GetMapping("/tournaments/{id}/stats")
+    public ResponseEntity<TournamentStats> getTournamentStats(@Min(0) @PathVariable("id") long id) {
+        TournamentStats stats = statsService.getStats(id);
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    /**
+     * Returns the number of tournaments, their players and their reward total from the precomputed counters, as of
+     * their last flush.
+     *
+     * @return Status Code 200 and the totals over all the tournaments.
+     */
+    @GetMapping("/tournaments/stats")
+    public ResponseEntity<TournamentTotals> getTournamentTotals() {
+        TournamentTotals totals = statsService.getTotals();
+        return new ResponseEntity<>(totals, HttpStatus.OK);
     }
 
     /**
@@ -90,12 +216,15 @@ public class TournamentController {
      *
      * @param tournamentId      - Tournament ID.
      * @param tournamentUpdated - Tournament to update.
-     * @return Status Code 200 and the updated tournament, 400 if the request param is faulty,
-     * 404 there is no tournament with the ID.
+     * @param ifMatch           - Optional ETag of the tournament the update is based on.
+     * @return Status Code 200 and the updated tournament with its new ETag, copied inside the transaction, so its
+     * players are not loaded again while the response is serialized, 400 if the request param is faulty,
+     * 404 there is no tournament with the ID, 412 if the If-Match is not the current ETag.
      */
     @PutMapping("/tournaments/{id}")
-    public ResponseEntity<Tournament> update(@Positive @PathVariable("id") long tournamentId, @Valid @RequestBody Tournament tournamentUpdated) {
-        tournamentService.update(tournamentId, tournamentUpdated);
-        return new ResponseEntity<>(tournamentUpdated, HttpStatus.OK);
+    public ResponseEntity<TournamentDetails> update(@Positive @PathVariable("id") long tournamentId, @Valid @RequestBody Tournament tournamentUpdated,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TournamentDetails tournament = tournamentService.update(tournamentId, tournamentUpdated, EntityTags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(tournament.getVersion())).body(tournament);
     }
 }
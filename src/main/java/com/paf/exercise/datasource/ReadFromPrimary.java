@@ -0,0 +1,18 @@
+package com.paf.exercise.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sends the read-only transaction of the annotated method to the primary. For the loaders of the caches shared by
+ * all the clients: a copy read from a lagging replica would be served to every client, the writer included, until
+ * it expires.
+ * <p>
+ * Only routes a transaction the method begins; one it joins already holds its connection.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromPrimary {
+}
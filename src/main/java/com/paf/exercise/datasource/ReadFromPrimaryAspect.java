@@ -0,0 +1,36 @@
+package com.paf.exercise.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the thread while a {@link ReadFromPrimary} method runs. The connection is only taken by the first statement
+ * of the method, see {@link ReplicaRoutingDataSource}, so the mark is seen whatever the order of the advices.
+ */
+@Aspect
+@Component
+public class ReadFromPrimaryAspect {
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    @Around("@annotation(com.paf.exercise.datasource.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        Boolean previous = PRIMARY_READS.get();
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (previous == null) {
+                PRIMARY_READS.remove();
+            }
+        }
+    }
+
+    /**
+     * @return whether the current thread runs a {@link ReadFromPrimary} method.
+     */
+    static boolean isRequested() {
+        return PRIMARY_READS.get() != null;
+    }
+}
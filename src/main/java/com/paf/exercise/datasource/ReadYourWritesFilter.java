@@ -0,0 +1,45 @@
+package com.paf.exercise.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Binds the client of the request as the session of the replica routing, so its reads go to the primary right
+ * after it has written. The clients are told apart by the configured header, or by their address without one.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@ConditionalOnProperty("tournament.replicas.urls")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final String sessionHeader;
+
+    public ReadYourWritesFilter(ReplicaRoutingDataSource routingDataSource,
+                                @Value("${tournament.replicas.session-header:}") String sessionHeader) {
+        this.routingDataSource = routingDataSource;
+        this.sessionHeader = sessionHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String session = sessionHeader.isEmpty() ? null : request.getHeader(sessionHeader);
+        routingDataSource.setSession(StringUtils.hasText(session) ? session : request.getRemoteAddr());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            routingDataSource.setSession(null);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.paf.exercise.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The read replicas, configured with tournament.replicas.urls. The primary keeps the spring.datasource settings; the
+ * replicas share its credentials unless they have their own, and get read-only pools of their own.
+ */
+@Configuration
+@ConditionalOnProperty("tournament.replicas.urls")
+public class ReplicaRoutingConfig {
+    private static final String PRIMARY_POOL = "primary";
+    private static final String REPLICA_POOL = "replica-%d";
+
+    private final List<HikariDataSource> replicaPools = new ArrayList<>();
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(PRIMARY_POOL);
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                                             DataSourceProperties properties,
+                                                             @Value("${tournament.replicas.urls}") String[] urls,
+                                                             @Value("${tournament.replicas.username:}") String username,
+                                                             @Value("${tournament.replicas.password:}") String password,
+                                                             @Value("${tournament.replicas.pool-size:10}") int poolSize,
+                                                             @Value("${tournament.replicas.max-lag:16MB}") DataSize maxLag,
+                                                             @Value("${tournament.replicas.allow-standalone:false}") boolean allowStandalone,
+                                                             @Value("${tournament.replicas.health-check-interval:5s}") Duration checkInterval,
+                                                             @Value("${tournament.replicas.sticky-for:5s}") Duration stickyFor) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(String.format(REPLICA_POOL, i));
+            replica.setJdbcUrl(urls[i].trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(StringUtils.hasText(username) ? username : properties.determineUsername());
+            replica.setPassword(StringUtils.hasText(password) ? password : properties.determinePassword());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replica.setInitializationFailTimeout(-1);
+            replicas.put(replica.getPoolName(), replica);
+            replicaPools.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, maxLag.toBytes(), allowStandalone, checkInterval, stickyFor);
+    }
+
+    /**
+     * The meter registry depends on the data source for its pool metrics, so the replica pools are only bound to it,
+     * and started by the health checks, once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startReplicas(ApplicationReadyEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        replicaPools.forEach(replica -> replica.setMetricRegistry(meterRegistry));
+        context.getBean(ReplicaRoutingDataSource.class).start();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,223 @@
+package com.paf.exercise.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+
+/**
+ * Sends the read-only transactions to the replicas and everything else to the primary. A replica only takes reads
+ * while its health check passes, it is a standby in recovery and it lags the primary by at most the maximum lag;
+ * without such a replica the reads go to the primary too.
+ * <p>
+ * A session that has just committed a write reads from the primary for a while, so it reads its own writes even from
+ * a lagging replica. The session is the client of the current request, see {@link ReadYourWritesFilter}. The
+ * loaders of the shared caches read from the primary too, see {@link ReadFromPrimary}.
+ * <p>
+ * The lookup happens when the connection is taken, so it has to be wrapped into a lazy connection proxy: a
+ * transaction is only known to be read-only after it has begun.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    static final String PRIMARY = "primary";
+    private static final String PRIMARY_POSITION = "select pg_wal_lsn_diff(pg_current_wal_lsn(), '0/0')";
+    private static final String REPLICA_POSITION = "select pg_is_in_recovery(), pg_wal_lsn_diff(pg_last_wal_replay_lsn(), '0/0')";
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Cache<String, Boolean> stickySessions;
+    private final ThreadLocal<String> session = new ThreadLocal<>();
+    private final long maxLag;
+    private final boolean allowStandalone;
+    private final Duration checkInterval;
+    private ScheduledExecutorService checker;
+
+    /**
+     * @param maxLag          - The bytes of write-ahead log a replica may be behind the primary.
+     * @param allowStandalone - Whether a replica that is not in recovery takes reads, although its lag cannot be
+     *                        told.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLag,
+                                    boolean allowStandalone, Duration checkInterval, Duration stickyFor) {
+        this.primary = primary;
+        this.maxLag = maxLag;
+        this.allowStandalone = allowStandalone;
+        this.checkInterval = checkInterval;
+        this.stickySessions = Caffeine.newBuilder().expireAfterWrite(stickyFor).build();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            this.replicas.add(new Replica(name, dataSource));
+            targets.put(name, dataSource);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Starts the health checks; the replicas take reads once their first check has passed.
+     */
+    public void start() {
+        if (checker != null) {
+            return;
+        }
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::checkReplicas, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) replica.dataSource).close();
+            }
+        }
+    }
+
+    /**
+     * Binds the session of the current thread, null for none.
+     */
+    public void setSession(String session) {
+        if (session == null) {
+            this.session.remove();
+        } else {
+            this.session.set(session);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String currentSession = session.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (currentSession != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        stickySessions.put(currentSession, Boolean.TRUE);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (ReadFromPrimaryAspect.isRequested()
+                || currentSession != null && stickySessions.getIfPresent(currentSession) != null) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int first = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((first + i) % size);
+            if (replica.available) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Compares the replayed position of every replica with the current position of the primary. A replica that is
+     * not in recovery is a standalone copy, or a promoted standby, that replays nothing: it only takes reads when
+     * standalone replicas are allowed. If the primary cannot tell its position, only the reachability of the
+     * replicas counts.
+     */
+    void checkReplicas() {
+        long primaryPosition;
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(PRIMARY_POSITION)) {
+                resultSet.next();
+                primaryPosition = resultSet.getLong(1);
+            }
+        } catch (SQLException exception) {
+            log.warn("The position of the primary could not be read: {}", exception.getMessage());
+            primaryPosition = -1;
+        }
+        for (Replica replica : replicas) {
+            replica.check(primaryPosition);
+        }
+    }
+
+    /**
+     * @return whether the replica takes reads.
+     */
+    boolean isAvailable(String name) {
+        return replicas.stream().anyMatch(replica -> replica.name.equals(name) && replica.available);
+    }
+
+    private final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean available;
+        private boolean standalone;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void check(long primaryPosition) {
+            boolean wasAvailable = available;
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+                long lag = 0;
+                boolean wasStandalone = standalone;
+                try (ResultSet resultSet = statement.executeQuery(REPLICA_POSITION)) {
+                    resultSet.next();
+                    standalone = !resultSet.getBoolean(1);
+                    if (!standalone && primaryPosition >= 0) {
+                        lag = Math.max(0, primaryPosition - resultSet.getLong(2));
+                    }
+                }
+                if (standalone) {
+                    available = allowStandalone;
+                    if (!allowStandalone && !wasStandalone) {
+                        log.warn(format("The replica %s is not in recovery, so its lag cannot be told, reading from the primary!", name));
+                    }
+                } else {
+                    available = lag <= maxLag;
+                    if (!available && wasAvailable) {
+                        log.warn(format("The replica %s lags %s bytes behind the primary, reading from the primary!", name, lag));
+                    }
+                }
+            } catch (SQLException exception) {
+                available = false;
+                if (wasAvailable) {
+                    log.warn(format("The replica %s has failed its health check, reading from the primary!", name), exception);
+                }
+            }
+            if (available && !wasAvailable) {
+                log.info(format("The replica %s takes reads.", name));
+            }
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.paf.exercise.event;
+
+public enum ChangeType {
+    CREATED, UPDATED, DELETED
+}
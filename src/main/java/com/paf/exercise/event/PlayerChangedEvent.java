@@ -0,0 +1,14 @@
+package com.paf.exercise.event;
+
+import lombok.Value;
+
+/**
+ * Published by the service layer inside the transaction that created, updated or deleted a player.
+ */
+@Value
+public class PlayerChangedEvent {
+    long playerId;
+    long tournamentId;
+    String name;
+    ChangeType type;
+}
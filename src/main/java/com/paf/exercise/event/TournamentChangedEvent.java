@@ -0,0 +1,12 @@
+package com.paf.exercise.event;
+
+import lombok.Value;
+
+/**
+ * Published by the service layer inside the transaction that created, updated or deleted a tournament.
+ */
+@Value
+public class TournamentChangedEvent {
+    long tournamentId;
+    ChangeType type;
+}
@@ -45,6 +45,30 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(exceptionDetails, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<?> preconditionFailedException(PreconditionFailedException exception, WebRequest request) {
+        log.error("Precondition Failed Exception: ", exception);
+        ExceptionDetails exceptionDetails = ExceptionDetails.builder()
+                .timestamp(new Date())
+                .messages(singletonList(exception.getMessage()))
+                .path(request.getDescription(false))
+                .build();
+        return new ResponseEntity<>(exceptionDetails, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> serviceUnavailableException(ServiceUnavailableException exception, WebRequest request) {
+        log.warn("Service Unavailable Exception: {}", exception.getMessage());
+        ExceptionDetails exceptionDetails = ExceptionDetails.builder()
+                .timestamp(new Date())
+                .messages(singletonList(exception.getMessage()))
+                .path(request.getDescription(false))
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, exception.getRetryAfter().toSeconds())))
+                .body(exceptionDetails);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleException(Exception exception) {
         log.error("Exception: ", exception);
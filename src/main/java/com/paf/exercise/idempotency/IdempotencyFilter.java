@@ -0,0 +1,201 @@
+package com.paf.exercise.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.paf.exercise.admission.AdmissionFilter;
+import com.paf.exercise.exception.ExceptionDetails;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
+import static java.util.Collections.singletonList;
+
+/**
+ * Makes the POST and PUT requests of the API safe to retry. The response to a request with an Idempotency-Key header
+ * is stored under the key, and a retry with the same key gets the stored response instead of running again.
+ * <p>
+ * The responses are kept in memory, bounded by their total size and expiring after a while, so a retry costs a
+ * lookup and no database work. The server errors are not stored, they are worth retrying. A key is bound to the
+ * method, URI and body of its first request: reusing it for another request is rejected with 422, and a retry that
+ * arrives while the first request is still running gets 409.
+ * <p>
+ * The keys are scoped by client, told apart the way {@link AdmissionFilter} does, so a client can neither replay
+ * nor block the requests of another one that happens to use the same key.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    static final String CACHE_NAME = "idempotentResponses";
+    static final String KEY_INVALID_ERROR = "The Idempotency-Key must be 1 to %s characters long!";
+    static final String KEY_REUSED_ERROR = "The Idempotency-Key: %s has already been used for another request!";
+    static final String KEY_IN_PROGRESS_ERROR = "The request with the Idempotency-Key: %s is still in progress!";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String API_PATH = "/api/";
+
+    private final Cache<String, StoredResponse> responses;
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+    private final ObjectMapper objectMapper;
+    private final String clientHeader;
+
+    public IdempotencyFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             @Value("${tournament.idempotency.max-size:16MB}") DataSize maxSize,
+                             @Value("${tournament.idempotency.expire-after:24h}") Duration expireAfter,
+                             @Value("${tournament.admission.client-header:}") String clientHeader) {
+        this.objectMapper = objectMapper;
+        this.clientHeader = clientHeader;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, StoredResponse response) -> response.size())
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, CACHE_NAME);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return request.getHeader(IDEMPOTENCY_KEY) == null
+                || !(HttpMethod.POST.matches(method) || HttpMethod.PUT.matches(method))
+                || !request.getRequestURI().startsWith(request.getContextPath() + API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST, format(KEY_INVALID_ERROR, MAX_KEY_LENGTH));
+            return;
+        }
+        // A header value cannot hold a line break, so no other client and key make the same scoped key.
+        String scopedKey = AdmissionFilter.client(request, clientHeader) + '\n' + key;
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        byte[] fingerprint = fingerprint(request, body);
+
+        if (replay(scopedKey, key, fingerprint, request, response)) {
+            return;
+        }
+        if (!inProgress.add(scopedKey)) {
+            writeError(request, response, HttpStatus.CONFLICT, format(KEY_IN_PROGRESS_ERROR, key));
+            return;
+        }
+        try {
+            // The first request may have completed between the lookup and the claim of the key.
+            if (replay(scopedKey, key, fingerprint, request, response)) {
+                return;
+            }
+            ContentCachingResponseWrapper recorder = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(new CachedBodyRequest(request, body), recorder);
+            if (recorder.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                responses.put(scopedKey, new StoredResponse(fingerprint, recorder.getStatus(), headers(recorder),
+                        recorder.getContentAsByteArray()));
+            }
+            recorder.copyBodyToResponse();
+        } finally {
+            inProgress.remove(scopedKey);
+        }
+    }
+
+    /**
+     * @return whether a stored response has been written, or the key has been rejected.
+     */
+    private boolean replay(String scopedKey, String key, byte[] fingerprint, HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        StoredResponse stored = responses.getIfPresent(scopedKey);
+        if (stored == null) {
+            return false;
+        }
+        if (!Arrays.equals(stored.getFingerprint(), fingerprint)) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY, format(KEY_REUSED_ERROR, key));
+            return true;
+        }
+        response.setStatus(stored.getStatus());
+        stored.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(IDEMPOTENT_REPLAYED, Boolean.TRUE.toString());
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+        return true;
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        log.warn(message);
+        ExceptionDetails exceptionDetails = ExceptionDetails.builder()
+                .timestamp(new Date())
+                .messages(singletonList(message))
+                .path("uri=" + request.getRequestURI())
+                .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), exceptionDetails);
+    }
+
+    /**
+     * The content type is not a header of every container until the response is committed, so it is copied on its
+     * own; the length is set again by the replay.
+     */
+    private static Map<String, List<String>> headers(HttpServletResponse response) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String name : response.getHeaderNames()) {
+            headers.computeIfAbsent(name, header -> new ArrayList<>(response.getHeaders(header)));
+        }
+        if (response.getContentType() != null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, singletonList(response.getContentType()));
+        }
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        return headers;
+    }
+
+    private static byte[] fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            return digest.digest(body);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available!", exception);
+        }
+    }
+}
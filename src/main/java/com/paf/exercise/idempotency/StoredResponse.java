@@ -0,0 +1,33 @@
+package com.paf.exercise.idempotency;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The response to a request with an idempotency key, replayed to the retries of the request.
+ */
+@Value
+class StoredResponse {
+    private static final int OVERHEAD = 64;
+
+    /**
+     * The hash of the method, the URI and the body of the request, so the key cannot be reused for another one.
+     */
+    byte[] fingerprint;
+    int status;
+    Map<String, List<String>> headers;
+    byte[] body;
+
+    int size() {
+        int size = OVERHEAD + fingerprint.length + body.length;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            size += header.getKey().length();
+            for (String value : header.getValue()) {
+                size += value.length();
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,40 @@
+package com.paf.exercise.metrics;
+
+/**
+ * Per thread counters of the JDBC statements and entity loads Hibernate reports, so they can be attributed to the
+ * request being served on that thread.
+ */
+public final class RequestStatistics {
+    private static final ThreadLocal<RequestStatistics> CURRENT = ThreadLocal.withInitial(RequestStatistics::new);
+
+    private int statements;
+    private int entityLoads;
+
+    private RequestStatistics() {
+    }
+
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    public void reset() {
+        statements = 0;
+        entityLoads = 0;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+}
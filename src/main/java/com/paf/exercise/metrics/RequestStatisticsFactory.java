@@ -0,0 +1,30 @@
+package com.paf.exercise.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Hibernate statistics that, next to the session factory wide totals, also count on the calling thread through
+ * {@link RequestStatistics}. Registered with the hibernate.stats.factory property.
+ */
+public class RequestStatisticsFactory implements StatisticsFactory {
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new StatisticsImpl(sessionFactory) {
+            @Override
+            public void prepareStatement() {
+                super.prepareStatement();
+                RequestStatistics.current().statementPrepared();
+            }
+
+            @Override
+            public void loadEntity(String entityName) {
+                super.loadEntity(entityName);
+                RequestStatistics.current().entityLoaded();
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.paf.exercise.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTags;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Records how many JDBC statements and entity loads each request caused, tagged with the same method and route as
+ * the http.server.requests timer.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS = "tournament.request.statements";
+    public static final String ENTITY_LOADS = "tournament.request.entity.loads";
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestStatisticsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStatistics statistics = RequestStatistics.current();
+        statistics.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Tags tags = Tags.of(WebMvcTags.method(request), WebMvcTags.uri(request, response));
+            DistributionSummary.builder(STATEMENTS)
+                    .description("JDBC statements prepared while serving the request")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(statistics.getStatements());
+            DistributionSummary.builder(ENTITY_LOADS)
+                    .description("Entities loaded while serving the request")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(statistics.getEntityLoads());
+        }
+    }
+}
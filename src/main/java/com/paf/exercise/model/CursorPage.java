@@ -0,0 +1,57 @@
+package com.paf.exercise.model;
+
+import com.paf.exercise.exception.InvalidInputException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * One page of a keyset-paginated listing. The cursor is the opaque, URL safe encoding of the last returned id,
+ * so the next page is fetched with an indexed "id > cursor" range scan instead of an offset.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final String DEFAULT_LIMIT = "100";
+    public static final int MAX_LIMIT = 1000;
+
+    private static final String INVALID_CURSOR_ERROR = "The cursor: %s is invalid!";
+
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * Builds a page from a query that was asked for {@code limit + 1} rows; the extra row only signals that
+     * there is a next page and is not returned.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, ToLongFunction<T> idExtractor) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, encode(idExtractor.applyAsLong(items.get(limit - 1))));
+    }
+
+    public static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the id after which the page starts, 0 when there is no cursor.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidInputException(String.format(INVALID_CURSOR_ERROR, cursor));
+        }
+    }
+}
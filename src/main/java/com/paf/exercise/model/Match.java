@@ -0,0 +1,78 @@
+package com.paf.exercise.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.*;
+
+/**
+ * A stored match of a schedule. A side is either a player, or the source the player comes from once the earlier
+ * matches are played: "W12" is the winner and "L12" the loser of the match number 12. A side with neither is a bye.
+ */
+@Builder
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = Match.MATCH,
+        uniqueConstraints = @UniqueConstraint(columnNames = {Match.TOURNAMENT_ID, Match.NUMBER}),
+        indexes = @Index(columnList = Match.TOURNAMENT_ID + ", " + Match.ROUND + ", " + Match.NUMBER))
+public class Match {
+
+    public enum Bracket {
+        MAIN, LOSERS, FINAL
+    }
+
+    protected static final String MATCH = "match";
+    protected static final String TOURNAMENT_ID = "tournament_id";
+    protected static final String NUMBER = "number";
+    protected static final String ROUND = "round";
+    private static final String ID = "id";
+    private static final String BRACKET = "bracket";
+    private static final String HOME_PLAYER_ID = "home_player_id";
+    private static final String AWAY_PLAYER_ID = "away_player_id";
+    private static final String HOME_SOURCE = "home_source";
+    private static final String AWAY_SOURCE = "away_source";
+
+    @Id
+    @Column(name = ID)
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = TOURNAMENT_ID)
+    private long tournamentId;
+
+    /**
+     * Unique in the schedule, in order of play.
+     */
+    @Column(name = NUMBER)
+    private long number;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = BRACKET, nullable = false)
+    private Bracket bracket;
+
+    @Column(name = ROUND)
+    private int round;
+
+    @Column(name = HOME_PLAYER_ID)
+    private Long homePlayerId;
+
+    @Column(name = AWAY_PLAYER_ID)
+    private Long awayPlayerId;
+
+    @Column(name = HOME_SOURCE)
+    private String homeSource;
+
+    @Column(name = AWAY_SOURCE)
+    private String awaySource;
+
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = TOURNAMENT_ID, insertable = false, updatable = false)
+    private Tournament tournament;
+}
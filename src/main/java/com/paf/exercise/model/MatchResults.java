@@ -0,0 +1,30 @@
+package com.paf.exercise.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+
+/**
+ * A burst of results as parallel arrays, one element per match.
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchResults {
+
+    @NotEmpty(message = "The homePlayerIds object is required!")
+    private long[] homePlayerIds;
+
+    @NotEmpty(message = "The awayPlayerIds object is required!")
+    private long[] awayPlayerIds;
+
+    /**
+     * The score of the home player: 1 for a win, 0.5 for a draw, 0 for a loss.
+     */
+    @NotEmpty(message = "The scores object is required!")
+    private double[] scores;
+}
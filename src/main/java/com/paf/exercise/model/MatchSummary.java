@@ -0,0 +1,17 @@
+package com.paf.exercise.model;
+
+import lombok.Value;
+
+/**
+ * Read-only view of a match, built directly by the query or computed for the rounds that are not stored.
+ */
+@Value
+public class MatchSummary {
+    Long number;
+    Match.Bracket bracket;
+    Integer round;
+    Long homePlayerId;
+    Long awayPlayerId;
+    String homeSource;
+    String awaySource;
+}
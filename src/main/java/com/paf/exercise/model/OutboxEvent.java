@@ -0,0 +1,50 @@
+package com.paf.exercise.model;
+
+import com.paf.exercise.event.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * A change of a tournament or of one of its players, appended in the transaction that made it. The ID orders the
+ * events by commit, so it is the offset a subscriber resumes from; the player ID is null for a tournament change.
+ */
+@Builder
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = OutboxEvent.OUTBOX_EVENT)
+public class OutboxEvent {
+
+    protected static final String OUTBOX_EVENT = "outbox_event";
+    private static final String TOURNAMENT_ID = "tournament_id";
+    private static final String PLAYER_ID = "player_id";
+    private static final String NAME = "name";
+    private static final String TYPE = "type";
+    private static final String CREATED_AT = "created_at";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = TOURNAMENT_ID, nullable = false)
+    private long tournamentId;
+
+    @Column(name = PLAYER_ID)
+    private Long playerId;
+
+    @Column(name = NAME)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = TYPE, nullable = false)
+    private ChangeType type;
+
+    @Column(name = CREATED_AT, nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,56 @@
+package com.paf.exercise.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.*;
+
+/**
+ * The reward paid to a player of a tournament. The rows are written in bulk by the payout repository; the
+ * associations only declare the foreign keys, which delete the payouts together with their player or tournament.
+ */
+@Builder
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = Payout.PAYOUT, uniqueConstraints = @UniqueConstraint(columnNames = {Payout.TOURNAMENT_ID, Payout.POSITION}))
+public class Payout {
+
+    protected static final String PAYOUT = "payout";
+    protected static final String PLAYER_ID = "player_id";
+    protected static final String TOURNAMENT_ID = "tournament_id";
+    protected static final String POSITION = "position";
+    private static final String PLACE = "place";
+    private static final String AMOUNT = "amount";
+
+    @Id
+    private long playerId;
+
+    @Column(name = TOURNAMENT_ID)
+    private long tournamentId;
+
+    @Column(name = POSITION)
+    private long position;
+
+    @Column(name = PLACE)
+    private int place;
+
+    @Column(name = AMOUNT)
+    private long amount;
+
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = PLAYER_ID)
+    private Player player;
+
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = TOURNAMENT_ID, insertable = false, updatable = false)
+    private Tournament tournament;
+}
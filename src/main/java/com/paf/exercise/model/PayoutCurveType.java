@@ -0,0 +1,5 @@
+package com.paf.exercise.model;
+
+public enum PayoutCurveType {
+    WINNER_TAKES_ALL, TOP_PERCENTAGE, GEOMETRIC
+}
@@ -0,0 +1,20 @@
+package com.paf.exercise.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayoutDistribution {
+
+    private long tournamentId;
+    private PayoutCurveType curve;
+    private long rewardAmount;
+    private int rankedPlayers;
+    private int paidPlayers;
+    private long paidAmount;
+}
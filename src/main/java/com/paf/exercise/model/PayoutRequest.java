@@ -0,0 +1,51 @@
+package com.paf.exercise.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.util.List;
+
+/**
+ * The final standings of a tournament and the curve to pay the reward along. The standings are two parallel
+ * arrays, so hundreds of thousands of players are read without an object per player.
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayoutRequest {
+
+    @NotNull(message = "The curve object is required!")
+    private PayoutCurveType curve;
+
+    /**
+     * Number of paid places of the geometric curve.
+     */
+    @Positive(message = "The places object must be greater than 0!")
+    private Integer places;
+
+    /**
+     * Ratio between the rewards of two consecutive places of the geometric curve.
+     */
+    @DecimalMin(value = "0", inclusive = false, message = "The ratio object must be greater than 0!")
+    @DecimalMax(value = "1", message = "The ratio object must be at most 1!")
+    private Double ratio;
+
+    /**
+     * Percentage of the reward of each paid place of the top percentage curve, best first.
+     */
+    private List<@NotNull @Positive Integer> percentages;
+
+    @NotEmpty(message = "The playerIds object is required!")
+    private long[] playerIds;
+
+    @NotEmpty(message = "The scores object is required!")
+    private double[] scores;
+}
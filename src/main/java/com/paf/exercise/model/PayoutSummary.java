@@ -0,0 +1,15 @@
+package com.paf.exercise.model;
+
+import lombok.Value;
+
+/**
+ * Read-only view of a payout, built directly by the query. The position is the unique order of the standings, the
+ * place is shared by tied players.
+ */
+@Value
+public class PayoutSummary {
+    Long position;
+    Long playerId;
+    Integer place;
+    Long amount;
+}
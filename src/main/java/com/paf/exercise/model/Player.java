@@ -1,6 +1,7 @@
 package com.paf.exercise.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,22 +20,33 @@ import javax.validation.constraints.NotNull;
 public class Player {
 
     protected static final String PLAYER = "player";
+    private static final String PLAYER_SEQUENCE = "player_seq";
     private static final String ID = " id";
     private static final String NAME = "name";
+    private static final String TOURNAMENT_ID = "tournament_id";
+    private static final String RATING = "rating";
 
     @NotNull
     @Id
     @Column(name = ID)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = PLAYER_SEQUENCE)
+    @SequenceGenerator(name = PLAYER_SEQUENCE, sequenceName = PLAYER_SEQUENCE, allocationSize = 50)
     private long id;
 
     @NotBlank(message = "The name object is required!")
     @Column(name = NAME)
     private String name;
 
+    /**
+     * The Elo rating, null until the first result of the player is reported.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = RATING)
+    private Double rating;
+
     @NotNull(message = "The tournament object is required!")
     @JsonBackReference
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "tournament_id", nullable = false)
+    @JoinColumn(name = TOURNAMENT_ID, nullable = false)
     private Tournament tournament;
 }
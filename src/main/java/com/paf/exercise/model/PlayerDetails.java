@@ -0,0 +1,17 @@
+package com.paf.exercise.model;
+
+import lombok.Value;
+
+/**
+ * Read-only view of a player of a cached tournament or roster, serialized like the player entity.
+ */
+@Value
+public class PlayerDetails {
+    long id;
+    String name;
+    Double rating;
+
+    public static PlayerDetails of(Player player) {
+        return new PlayerDetails(player.getId(), player.getName(), player.getRating());
+    }
+}
@@ -0,0 +1,38 @@
+package com.paf.exercise.model;
+
+import lombok.Getter;
+
+/**
+ * An asynchronous registration of a player. It is queued by the request and completed by the writer, which
+ * registers the queued players in group commits; the pollers read its status.
+ */
+@Getter
+public class PlayerRegistration {
+
+    public enum Status {
+        PENDING, CREATED, REJECTED
+    }
+
+    private final String id;
+    private final long tournamentId;
+    private final String name;
+    private volatile Status status = Status.PENDING;
+    private volatile Long playerId;
+    private volatile String message;
+
+    public PlayerRegistration(String id, long tournamentId, String name) {
+        this.id = id;
+        this.tournamentId = tournamentId;
+        this.name = name;
+    }
+
+    public void created(long playerId) {
+        this.playerId = playerId;
+        status = Status.CREATED;
+    }
+
+    public void reject(String message) {
+        this.message = message;
+        status = Status.REJECTED;
+    }
+}
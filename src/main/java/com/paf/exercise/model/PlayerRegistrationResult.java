@@ -0,0 +1,22 @@
+package com.paf.exercise.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerRegistrationResult {
+
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    private int index;
+    private Long id;
+    private Status status;
+    private String message;
+}
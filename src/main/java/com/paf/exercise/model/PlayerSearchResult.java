@@ -0,0 +1,10 @@
+package com.paf.exercise.model;
+
+import lombok.Value;
+
+@Value
+public class PlayerSearchResult {
+    long id;
+    String name;
+    long tournamentId;
+}
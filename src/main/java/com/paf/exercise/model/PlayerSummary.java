@@ -0,0 +1,12 @@
+package com.paf.exercise.model;
+
+import lombok.Value;
+
+/**
+ * Read-only view of a player of a roster, built directly by the query.
+ */
+@Value
+public class PlayerSummary {
+    Long id;
+    String name;
+}
@@ -0,0 +1,38 @@
+package com.paf.exercise.model;
+
+import lombok.Getter;
+
+/**
+ * Progress of an asynchronous tournament purge. It is updated by the purging thread and read by the pollers.
+ */
+@Getter
+public class PurgeJob {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id;
+    private final long tournamentId;
+    private volatile Status status = Status.RUNNING;
+    private volatile long deletedPlayers;
+    private volatile String message;
+
+    public PurgeJob(String id, long tournamentId) {
+        this.id = id;
+        this.tournamentId = tournamentId;
+    }
+
+    public void playersDeleted(int count) {
+        deletedPlayers += count;
+    }
+
+    public void complete() {
+        status = Status.COMPLETED;
+    }
+
+    public void fail(String message) {
+        this.message = message;
+        status = Status.FAILED;
+    }
+}
@@ -0,0 +1,17 @@
+package com.paf.exercise.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingUpdate {
+
+    private long tournamentId;
+    private int results;
+    private int updatedPlayers;
+}
@@ -0,0 +1,61 @@
+package com.paf.exercise.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.*;
+
+/**
+ * The schedule of a tournament. The seeding is stored with it, so the rounds that are computed on demand do not
+ * change when players register or leave afterwards.
+ */
+@Builder
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = Schedule.SCHEDULE)
+public class Schedule {
+
+    protected static final String SCHEDULE = "schedule";
+    private static final String TOURNAMENT_ID = "tournament_id";
+    private static final String FORMAT = "format";
+    private static final String PLAYERS = "players";
+    private static final String ROUNDS = "rounds";
+    private static final String MATCHES = "matches";
+    private static final String SEEDS = "seeds";
+
+    @Id
+    private long tournamentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = FORMAT, nullable = false)
+    private ScheduleFormat format;
+
+    @Column(name = PLAYERS)
+    private int players;
+
+    @Column(name = ROUNDS)
+    private int rounds;
+
+    @Column(name = MATCHES)
+    private long matches;
+
+    /**
+     * The player IDs in seeding order, packed as 8 bytes each.
+     */
+    @ToString.Exclude
+    @Column(name = SEEDS, nullable = false)
+    private byte[] seeds;
+
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = TOURNAMENT_ID)
+    private Tournament tournament;
+}
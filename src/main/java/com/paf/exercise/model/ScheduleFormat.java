@@ -0,0 +1,5 @@
+package com.paf.exercise.model;
+
+public enum ScheduleFormat {
+    SINGLE_ELIMINATION, DOUBLE_ELIMINATION, SWISS, ROUND_ROBIN
+}
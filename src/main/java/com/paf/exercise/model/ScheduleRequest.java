@@ -0,0 +1,29 @@
+package com.paf.exercise.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleRequest {
+
+    @NotNull(message = "The format object is required!")
+    private ScheduleFormat format;
+
+    /**
+     * Seed of the random seeding, the players are seeded in registration order without it.
+     */
+    private Long randomSeed;
+
+    /**
+     * Seeds the highest rated players first, so the brackets are balanced; the random seeding then only orders the
+     * players with equal ratings.
+     */
+    private boolean byRating;
+}
@@ -0,0 +1,12 @@
+package com.paf.exercise.model;
+
+import lombok.Value;
+
+@Value
+public class ScheduleSummary {
+    Long tournamentId;
+    ScheduleFormat format;
+    Integer players;
+    Integer rounds;
+    Long matches;
+}
@@ -1,6 +1,7 @@
 package com.paf.exercise.model;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,6 +24,7 @@ public class Tournament {
     protected static final String TOURNAMENT = "tournament";
     private static final String ID = " id";
     private static final String REWARD_AMOUNT = "reward_amount";
+    private static final String VERSION = "version";
 
     @NotNull
     @Id
@@ -40,4 +42,12 @@ public class Tournament {
     @Positive(message = "The reward object amount must be greater than 0!")
     @Column(name = REWARD_AMOUNT)
     private int rewardAmount;
+
+    /**
+     * Bumped by every change of the tournament or of its roster, it is the strong ETag of both resources.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Version
+    @Column(name = VERSION)
+    private long version;
 }
@@ -0,0 +1,28 @@
+package com.paf.exercise.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toUnmodifiableList;
+
+/**
+ * Read-only view of a tournament with its players, serialized like the tournament entity. It holds no entity, so
+ * one cached instance can be shared by concurrent readers.
+ */
+@Value
+public class TournamentDetails {
+    long id;
+    List<PlayerDetails> players;
+    int rewardAmount;
+    long version;
+
+    /**
+     * @param tournament - A tournament with its players initialized.
+     */
+    public static TournamentDetails of(Tournament tournament) {
+        List<PlayerDetails> players = tournament.getPlayers() == null ? List.of()
+                : tournament.getPlayers().stream().map(PlayerDetails::of).collect(toUnmodifiableList());
+        return new TournamentDetails(tournament.getId(), players, tournament.getRewardAmount(), tournament.getVersion());
+    }
+}
@@ -0,0 +1,38 @@
+package com.paf.exercise.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The counters of a tournament, kept up to date by the stats collector instead of being counted on every read.
+ */
+@Builder
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = TournamentStats.TOURNAMENT_STATS)
+public class TournamentStats {
+
+    protected static final String TOURNAMENT_STATS = "tournament_stats";
+    private static final String TOURNAMENT_ID = "tournament_id";
+    private static final String PLAYER_COUNT = "player_count";
+    private static final String REWARD_AMOUNT = "reward_amount";
+
+    @Id
+    @Column(name = TOURNAMENT_ID)
+    private long tournamentId;
+
+    @Column(name = PLAYER_COUNT, nullable = false)
+    private long playerCount;
+
+    @Column(name = REWARD_AMOUNT, nullable = false)
+    private int rewardAmount;
+}
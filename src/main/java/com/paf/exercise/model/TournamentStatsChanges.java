@@ -0,0 +1,27 @@
+package com.paf.exercise.model;
+
+import lombok.Value;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The changes the stats collector has accumulated since its last flush.
+ */
+@Value
+public class TournamentStatsChanges {
+    Set<Long> created;
+    /**
+     * The change of the player count per tournament.
+     */
+    Map<Long, Long> playerDeltas;
+    /**
+     * The tournaments whose reward may have changed.
+     */
+    Set<Long> updated;
+    Set<Long> deleted;
+
+    public boolean isEmpty() {
+        return created.isEmpty() && playerDeltas.isEmpty() && updated.isEmpty() && deleted.isEmpty();
+    }
+}
@@ -0,0 +1,21 @@
+package com.paf.exercise.model;
+
+import lombok.Value;
+
+/**
+ * A difference between the flushed counters of a tournament and a recount of its rows.
+ */
+@Value
+public class TournamentStatsCorrection {
+    long tournamentId;
+    /**
+     * The tournament no longer exists, its counters are to be removed.
+     */
+    boolean orphaned;
+    /**
+     * What the recount found minus what was flushed, added rather than set so the flushes of other instances
+     * meanwhile are kept.
+     */
+    long playerDelta;
+    int rewardAmount;
+}
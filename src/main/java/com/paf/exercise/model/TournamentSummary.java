@@ -0,0 +1,12 @@
+package com.paf.exercise.model;
+
+import lombok.Value;
+
+/**
+ * Read-only view of a tournament without its players, built directly by the query.
+ */
+@Value
+public class TournamentSummary {
+    long id;
+    int rewardAmount;
+}
@@ -0,0 +1,43 @@
+package com.paf.exercise.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The counters over all the tournaments, the single row of its table.
+ */
+@Builder
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = TournamentTotals.TOURNAMENT_TOTALS)
+public class TournamentTotals {
+
+    public static final int ID = 1;
+    protected static final String TOURNAMENT_TOTALS = "tournament_totals";
+    private static final String TOURNAMENT_COUNT = "tournament_count";
+    private static final String PLAYER_COUNT = "player_count";
+    private static final String REWARD_TOTAL = "reward_total";
+
+    @JsonIgnore
+    @Id
+    private int id;
+
+    @Column(name = TOURNAMENT_COUNT, nullable = false)
+    private long tournamentCount;
+
+    @Column(name = PLAYER_COUNT, nullable = false)
+    private long playerCount;
+
+    @Column(name = REWARD_TOTAL, nullable = false)
+    private long rewardTotal;
+}
@@ -0,0 +1,266 @@
+package com.paf.exercise.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paf.exercise.model.OutboxEvent;
+import com.paf.exercise.repository.OutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.lang.String.format;
+
+/**
+ * Relays the outbox to the subscribers of the change stream. A single thread scans the outbox for the events after
+ * the last one it has relayed, encodes each once into a ring of recent events and wakes the subscribers up; each
+ * subscriber then sends the events after its own offset from the ring on a small pool of sender threads, so the
+ * number of queries does not grow with the number of subscribers.
+ * <p>
+ * Only a subscriber resuming from an offset older than the ring reads the outbox itself, until it has caught up.
+ * <p>
+ * The writers append without a lock, so an event may commit before one with a smaller ID. The relay therefore stops
+ * at a gap in the IDs, remembering the next transaction ID of the primary when it first saw the gap: the event
+ * filling the gap got its ID before that, in a transaction that got its own ID before the event's. Once every
+ * transaction up to there has ended, the gap is read once more and then skipped, whether it was filled or rolled
+ * back.
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements DisposableBean {
+    public static final String TOURNAMENT_EVENT = "tournament";
+    public static final String PLAYER_EVENT = "player";
+    private static final int SEND_BATCH_SIZE = 100;
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(10);
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final RecentEvents recentEvents;
+    private final ExecutorService senders;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration timeout;
+    private final Duration retention;
+    private volatile Thread relay;
+    private long lastId;
+    private long gapAfter = -1;
+    private long gapHorizon;
+    private Instant lastPurge = Instant.MIN;
+
+    public OutboxRelay(OutboxRepository outboxRepository, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                       @Value("${tournament.events.batch-size:1000}") int batchSize,
+                       @Value("${tournament.events.buffer-size:10000}") int bufferSize,
+                       @Value("${tournament.events.sender-threads:4}") int senderThreads,
+                       @Value("${tournament.events.poll-interval:200ms}") Duration pollInterval,
+                       @Value("${tournament.events.timeout:30m}") Duration timeout,
+                       @Value("${tournament.events.retention:24h}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.recentEvents = new RecentEvents(bufferSize);
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.timeout = timeout;
+        this.retention = retention;
+        Gauge.builder("tournament.events.subscribers", subscribers, Set::size)
+                .description("Subscribers of the change stream")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a change stream.
+     *
+     * @param after - The ID of the last event received, null to start with the next change.
+     */
+    public SseEmitter subscribe(Long after) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, after == null ? recentEvents.lastId() : after);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        subscribers.add(subscriber);
+        subscriber.signal();
+        return emitter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        lastId = outboxRepository.findLastId();
+        recentEvents.skipTo(lastId);
+        Thread thread = new Thread(this::run, "outbox-relay");
+        thread.setDaemon(true);
+        relay = thread;
+        thread.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        Thread thread = relay;
+        relay = null;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join();
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private void run() {
+        while (relay == Thread.currentThread()) {
+            try {
+                if (relayBatch() == 0) {
+                    purge();
+                    Thread.sleep(pollInterval.toMillis());
+                }
+            } catch (InterruptedException exception) {
+                return;
+            } catch (RuntimeException exception) {
+                log.error("The outbox relay has failed!", exception);
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException interruptedException) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the next events of the outbox into the ring and wakes the subscribers up.
+     *
+     * @return the number of events relayed.
+     */
+    int relayBatch() {
+        // Checked before the read, so an event committed in between is read rather than skipped.
+        boolean gapSettled = gapAfter == lastId && outboxRepository.findOldestRunningTransactionId() >= gapHorizon;
+        List<OutboxEvent> events = outboxRepository.findAfter(lastId, PageRequest.of(0, batchSize));
+        int relayed = 0;
+        for (OutboxEvent event : events) {
+            if (event.getId() != lastId + 1) {
+                if (!gapSettled) {
+                    if (gapAfter != lastId) {
+                        gapAfter = lastId;
+                        gapHorizon = outboxRepository.findNextTransactionId();
+                    }
+                    break;
+                }
+                // Only the gap seen before the read is settled, the transactions of a later one may still run.
+                gapSettled = false;
+            }
+            recentEvents.append(encode(event));
+            lastId = event.getId();
+            relayed++;
+        }
+        if (relayed > 0) {
+            subscribers.forEach(Subscriber::signal);
+        }
+        return relayed;
+    }
+
+    private void purge() {
+        Instant now = Instant.now();
+        if (Duration.between(lastPurge, now).compareTo(PURGE_INTERVAL) < 0) {
+            return;
+        }
+        lastPurge = now;
+        int deleted = outboxRepository.deleteCreatedBefore(now.minus(retention));
+        if (deleted > 0) {
+            log.info(format("%s outbox events older than %s have been deleted.", deleted, retention));
+        }
+    }
+
+    private RelayedEvent encode(OutboxEvent event) {
+        try {
+            return new RelayedEvent(event.getId(), event.getPlayerId() == null ? TOURNAMENT_EVENT : PLAYER_EVENT,
+                    objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException(format("The outbox event with id: %s cannot be encoded!", event.getId()), exception);
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long offset;
+
+        Subscriber(SseEmitter emitter, long offset) {
+            this.emitter = emitter;
+            this.offset = offset;
+        }
+
+        /**
+         * Schedules the sending of the events after the offset, unless it is already running.
+         */
+        void signal() {
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                for (List<RelayedEvent> events = next(); !events.isEmpty(); events = next()) {
+                    for (RelayedEvent event : events) {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(event.getId()))
+                                .name(event.getName())
+                                .data(event.getData(), MediaType.APPLICATION_JSON));
+                        offset = event.getId();
+                    }
+                }
+            } catch (IOException | IllegalStateException exception) {
+                log.debug("A subscriber of the change stream has gone: {}", exception.getMessage());
+                subscribers.remove(this);
+                return;
+            } catch (RuntimeException exception) {
+                log.error("Sending the change stream has failed!", exception);
+                subscribers.remove(this);
+                emitter.completeWithError(exception);
+                return;
+            } finally {
+                sending.set(false);
+            }
+            // An event relayed after the last look but before the flag was cleared has not woken the subscriber up.
+            if (recentEvents.lastId() > offset && subscribers.contains(this)) {
+                signal();
+            }
+        }
+
+        private List<RelayedEvent> next() {
+            List<RelayedEvent> events = recentEvents.after(offset, SEND_BATCH_SIZE);
+            if (events != null) {
+                return events;
+            }
+            // Bounded by the relay, which does not pass a gap before it is settled.
+            List<OutboxEvent> missed = outboxRepository.findBetween(offset, recentEvents.lastId(),
+                    PageRequest.of(0, SEND_BATCH_SIZE));
+            List<RelayedEvent> encoded = new ArrayList<>(missed.size());
+            for (OutboxEvent event : missed) {
+                encoded.add(encode(event));
+            }
+            return encoded;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.paf.exercise.outbox;
+
+import com.paf.exercise.event.PlayerChangedEvent;
+import com.paf.exercise.event.TournamentChangedEvent;
+import com.paf.exercise.model.OutboxEvent;
+import com.paf.exercise.repository.OutboxRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Appends every published change to the outbox in the transaction that made it, so an event exists if and only if
+ * its change has been committed. The events of a transaction are collected and appended together right before it
+ * commits, so a bulk registration costs a few batched inserts instead of a statement per player.
+ */
+@Component
+public class OutboxWriter {
+    private final OutboxRepository outboxRepository;
+
+    public OutboxWriter(OutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    @EventListener
+    public void onTournamentChanged(TournamentChangedEvent event) {
+        append(OutboxEvent.builder()
+                .tournamentId(event.getTournamentId())
+                .type(event.getType())
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    @EventListener
+    public void onPlayerChanged(PlayerChangedEvent event) {
+        append(OutboxEvent.builder()
+                .tournamentId(event.getTournamentId())
+                .playerId(event.getPlayerId())
+                .name(event.getName())
+                .type(event.getType())
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    private void append(OutboxEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxRepository.appendAll(singletonList(event));
+            return;
+        }
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+        private final List<OutboxEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            outboxRepository.appendAll(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(OutboxWriter.this);
+        }
+    }
+}
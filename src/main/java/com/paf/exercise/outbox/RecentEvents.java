@@ -0,0 +1,96 @@
+package com.paf.exercise.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The last relayed events in a ring, in ID order. The relay appends and every subscriber reads the events after its
+ * own offset, so a single scan of the outbox serves all of them.
+ * <p>
+ * The IDs have gaps, so the ring remembers the last ID it has dropped: a reader behind it may have missed events
+ * and has to read them from the outbox.
+ */
+class RecentEvents {
+    private final RelayedEvent[] events;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long appended;
+    private long droppedId;
+
+    RecentEvents(int capacity) {
+        this.events = new RelayedEvent[capacity];
+    }
+
+    /**
+     * Marks every event up to the ID as dropped, for the events relayed before the ring existed.
+     */
+    void skipTo(long id) {
+        lock.writeLock().lock();
+        try {
+            droppedId = Math.max(droppedId, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void append(RelayedEvent event) {
+        lock.writeLock().lock();
+        try {
+            int slot = (int) (appended++ % events.length);
+            if (events[slot] != null) {
+                droppedId = events[slot].getId();
+            }
+            events[slot] = event;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the ID of the last event relayed, or skipped to.
+     */
+    long lastId() {
+        lock.readLock().lock();
+        try {
+            return appended == 0 ? droppedId : events[(int) ((appended - 1) % events.length)].getId();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return up to the given number of events after the ID, null if some of them have been dropped.
+     */
+    List<RelayedEvent> after(long id, int limit) {
+        lock.readLock().lock();
+        try {
+            if (id < droppedId) {
+                return null;
+            }
+            int size = (int) Math.min(appended, events.length);
+            long oldest = appended - size;
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (get(oldest + middle).getId() <= id) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            List<RelayedEvent> page = new ArrayList<>(Math.min(limit, size - low));
+            for (int i = low; i < size && page.size() < limit; i++) {
+                page.add(get(oldest + i));
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RelayedEvent get(long sequence) {
+        return events[(int) (sequence % events.length)];
+    }
+}
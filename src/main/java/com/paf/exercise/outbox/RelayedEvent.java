@@ -0,0 +1,13 @@
+package com.paf.exercise.outbox;
+
+import lombok.Value;
+
+/**
+ * An outbox event encoded once for all the subscribers.
+ */
+@Value
+class RelayedEvent {
+    long id;
+    String name;
+    String data;
+}
@@ -0,0 +1,35 @@
+package com.paf.exercise.payout;
+
+import com.paf.exercise.exception.InvalidInputException;
+import com.paf.exercise.model.PayoutCurveType;
+import com.paf.exercise.model.PayoutRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pays the given number of places, each place the ratio of the reward of the place before it.
+ */
+@Component
+public class GeometricCurve implements PayoutCurve {
+
+    @Override
+    public PayoutCurveType getType() {
+        return PayoutCurveType.GEOMETRIC;
+    }
+
+    @Override
+    public double[] weights(PayoutRequest request, int players) {
+        if (request.getPlaces() == null) {
+            throw new InvalidInputException("The places object is required!");
+        }
+        if (request.getRatio() == null) {
+            throw new InvalidInputException("The ratio object is required!");
+        }
+        double[] weights = new double[Math.min(request.getPlaces(), players)];
+        double weight = 1;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = weight;
+            weight *= request.getRatio();
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,87 @@
+package com.paf.exercise.payout;
+
+import com.paf.exercise.rating.Ranking;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Ranks the standings and splits the reward along the weights of a curve. Everything works on primitive arrays,
+ * and the sort and the per player passes run in parallel for large standings.
+ */
+public final class PayoutCalculator {
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private PayoutCalculator() {
+    }
+
+    /**
+     * Ranks the players by descending score with standard competition ranking, so tied players share a place and
+     * the next place is skipped. Tied players split the weights of the positions they occupy equally; players tied
+     * with the last paid position are paid as well.
+     * <p>
+     * The amounts are the differences of the rounded cumulative shares, so they add up to the reward exactly and
+     * each one is within 1 of its exact share.
+     *
+     * @param reward    - The amount to split.
+     * @param playerIds - The IDs of the ranked players.
+     * @param scores    - The finite score of each player, higher is better.
+     * @param weights   - The weight of each paid position, best first.
+     */
+    public static PayoutTable calculate(long reward, long[] playerIds, double[] scores, double[] weights) {
+        long[] ranking = Ranking.rank(scores);
+        int paid = paidPositions(ranking, weights.length);
+
+        long[] playerIdsByPosition = new long[paid];
+        int[] places = new int[paid];
+        double[] cumulativeWeights = new double[paid];
+        for (int start = 0; start < paid; ) {
+            int end = start + 1;
+            while (end < paid && Ranking.group(ranking[end]) == Ranking.group(ranking[start])) {
+                end++;
+            }
+            double groupWeight = 0;
+            for (int position = start; position < Math.min(end, weights.length); position++) {
+                groupWeight += weights[position];
+            }
+            for (int position = start; position < end; position++) {
+                playerIdsByPosition[position] = playerIds[Ranking.index(ranking[position])];
+                places[position] = start + 1;
+                cumulativeWeights[position] = groupWeight / (end - start);
+            }
+            start = end;
+        }
+        Arrays.parallelPrefix(cumulativeWeights, Double::sum);
+
+        return new PayoutTable(playerIdsByPosition, places, allocate(reward, cumulativeWeights));
+    }
+
+    private static int paidPositions(long[] ranking, int weightedPositions) {
+        int paid = Math.min(weightedPositions, ranking.length);
+        while (paid > 0 && paid < ranking.length && Ranking.group(ranking[paid]) == Ranking.group(ranking[paid - 1])) {
+            paid++;
+        }
+        return paid;
+    }
+
+    private static long[] allocate(long reward, double[] cumulativeWeights) {
+        int paid = cumulativeWeights.length;
+        long[] bounds = new long[paid];
+        if (paid == 0) {
+            return bounds;
+        }
+        double total = cumulativeWeights[paid - 1];
+        range(paid).forEach(i -> bounds[i] = Math.min(reward, Math.round(reward * (cumulativeWeights[i] / total))));
+        bounds[paid - 1] = reward;
+        Arrays.parallelPrefix(bounds, Math::max);
+
+        long[] amounts = new long[paid];
+        range(paid).forEach(i -> amounts[i] = i == 0 ? bounds[0] : bounds[i] - bounds[i - 1]);
+        return amounts;
+    }
+
+    private static IntStream range(int size) {
+        IntStream range = IntStream.range(0, size);
+        return size < PARALLEL_THRESHOLD ? range : range.parallel();
+    }
+}
@@ -0,0 +1,22 @@
+package com.paf.exercise.payout;
+
+import com.paf.exercise.model.PayoutCurveType;
+import com.paf.exercise.model.PayoutRequest;
+
+/**
+ * A distribution of the reward over the final standings. Every curve is a bean, so a new curve only needs a new
+ * {@link PayoutCurveType} and a component implementing this interface.
+ */
+public interface PayoutCurve {
+
+    PayoutCurveType getType();
+
+    /**
+     * Returns the relative weight of each paid position, best first. The weights do not need to add up to anything,
+     * the calculator pays the whole reward in their proportions.
+     *
+     * @param request - The payout request, whose curve parameters are validated here.
+     * @param players - Number of ranked players, no more weights than this are needed.
+     */
+    double[] weights(PayoutRequest request, int players);
+}
@@ -0,0 +1,20 @@
+package com.paf.exercise.payout;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The paid positions of the standings, best first, as parallel primitive arrays. The position of a row is its
+ * index plus one.
+ */
+@Getter
+@AllArgsConstructor
+public class PayoutTable {
+    private final long[] playerIds;
+    private final int[] places;
+    private final long[] amounts;
+
+    public int size() {
+        return playerIds.length;
+    }
+}
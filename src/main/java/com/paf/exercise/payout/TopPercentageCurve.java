@@ -0,0 +1,34 @@
+package com.paf.exercise.payout;
+
+import com.paf.exercise.exception.InvalidInputException;
+import com.paf.exercise.model.PayoutCurveType;
+import com.paf.exercise.model.PayoutRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Pays the top N places the given percentages of the reward. With fewer players than places the percentages of
+ * the missing places are shared by the others in proportion.
+ */
+@Component
+public class TopPercentageCurve implements PayoutCurve {
+    private static final int TOTAL_PERCENTAGE = 100;
+
+    @Override
+    public PayoutCurveType getType() {
+        return PayoutCurveType.TOP_PERCENTAGE;
+    }
+
+    @Override
+    public double[] weights(PayoutRequest request, int players) {
+        List<Integer> percentages = request.getPercentages();
+        if (percentages == null || percentages.isEmpty()) {
+            throw new InvalidInputException("The percentages object is required!");
+        }
+        if (percentages.stream().mapToInt(Integer::intValue).sum() != TOTAL_PERCENTAGE) {
+            throw new InvalidInputException("The percentages object must add up to 100!");
+        }
+        return percentages.stream().limit(players).mapToDouble(Integer::doubleValue).toArray();
+    }
+}
@@ -0,0 +1,22 @@
+package com.paf.exercise.payout;
+
+import com.paf.exercise.model.PayoutCurveType;
+import com.paf.exercise.model.PayoutRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pays the whole reward to the first place, split equally between the players tied for it.
+ */
+@Component
+public class WinnerTakesAllCurve implements PayoutCurve {
+
+    @Override
+    public PayoutCurveType getType() {
+        return PayoutCurveType.WINNER_TAKES_ALL;
+    }
+
+    @Override
+    public double[] weights(PayoutRequest request, int players) {
+        return new double[]{1};
+    }
+}
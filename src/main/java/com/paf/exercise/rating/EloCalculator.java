@@ -0,0 +1,41 @@
+package com.paf.exercise.rating;
+
+/**
+ * Elo rating updates over primitive arrays.
+ */
+public final class EloCalculator {
+    private static final double SCALE = 400;
+
+    private EloCalculator() {
+    }
+
+    /**
+     * Applies a burst of results as one rating period, in one pass over the results: every expected score comes from
+     * the ratings before the period, so the order of the results does not matter, and the change of a player is the
+     * sum of the changes of their results.
+     *
+     * @param ratings - The ratings by player index, updated in place.
+     * @param home    - The index of the home player of each result.
+     * @param away    - The index of the away player of each result.
+     * @param scores  - The score of the home player of each result: 1 for a win, 0.5 for a draw, 0 for a loss.
+     * @param kFactor - The largest change of a single result.
+     */
+    public static void apply(double[] ratings, int[] home, int[] away, double[] scores, double kFactor) {
+        double[] changes = new double[ratings.length];
+        for (int i = 0; i < scores.length; i++) {
+            double change = kFactor * (scores[i] - expectedScore(ratings[home[i]], ratings[away[i]]));
+            changes[home[i]] += change;
+            changes[away[i]] -= change;
+        }
+        for (int i = 0; i < ratings.length; i++) {
+            ratings[i] += changes[i];
+        }
+    }
+
+    /**
+     * @return the probability that a player with the rating beats a player with the opponent rating.
+     */
+    public static double expectedScore(double rating, double opponentRating) {
+        return 1 / (1 + Math.pow(10, (opponentRating - rating) / SCALE));
+    }
+}
@@ -0,0 +1,77 @@
+package com.paf.exercise.rating;
+
+import java.util.Arrays;
+
+/**
+ * A map from long keys to int values with open addressing over two primitive arrays, so a lookup neither boxes
+ * the key nor follows a pointer to an entry. The capacity is fixed at construction; entries are never removed.
+ */
+public final class LongIntHashMap {
+    private static final int MISSING = -1;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long[] keys;
+    private final int[] values;
+    private final int mask;
+    private int size;
+
+    /**
+     * @param expectedSize - The most entries the map will hold, the tables are kept at most half full.
+     */
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, expectedSize * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * @param key   - Any key except {@link Long#MIN_VALUE}, which marks the empty slots.
+     * @param value - A value that is not negative.
+     */
+    public void put(long key, int value) {
+        int slot = slot(key);
+        if (keys[slot] == EMPTY) {
+            if (size == keys.length / 2) {
+                throw new IllegalStateException("The map is full!");
+            }
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * @return the value of the key, -1 if the key is missing.
+     */
+    public int get(long key) {
+        int slot = slot(key);
+        return keys[slot] == EMPTY ? MISSING : values[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Spreads sequential IDs over the table, the finalizer of the 64-bit MurmurHash3.
+     */
+    private static int mix(long key) {
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+}
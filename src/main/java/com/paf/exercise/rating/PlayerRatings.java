@@ -0,0 +1,18 @@
+package com.paf.exercise.rating;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The ratings of a roster as parallel primitive arrays, ordered by player ID.
+ */
+@Getter
+@AllArgsConstructor
+public class PlayerRatings {
+    private final long[] playerIds;
+    private final double[] ratings;
+
+    public int size() {
+        return playerIds.length;
+    }
+}
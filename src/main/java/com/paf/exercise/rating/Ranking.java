@@ -0,0 +1,56 @@
+package com.paf.exercise.rating;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Orders scores from the highest with one parallel sort of packed primitive keys: the position of the score among
+ * the distinct scores from the highest in the upper half, and the index of the score in the lower half, which
+ * keeps equal scores in their original order.
+ */
+public final class Ranking {
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    private static final long INDEX_MASK = 0xFFFF_FFFFL;
+
+    private Ranking() {
+    }
+
+    /**
+     * @param scores - Finite scores, higher is better.
+     * @return the packed keys, best first.
+     */
+    public static long[] rank(double[] scores) {
+        double[] distinct = scores.clone();
+        Arrays.parallelSort(distinct);
+        int count = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[count - 1]) {
+                distinct[count++] = distinct[i];
+            }
+        }
+        int distinctCount = count;
+
+        long[] ranking = new long[scores.length];
+        IntStream indexes = IntStream.range(0, scores.length);
+        (scores.length < PARALLEL_THRESHOLD ? indexes : indexes.parallel()).forEach(i -> {
+            long group = distinctCount - 1 - Arrays.binarySearch(distinct, 0, distinctCount, scores[i]);
+            ranking[i] = group << Integer.SIZE | i;
+        });
+        Arrays.parallelSort(ranking);
+        return ranking;
+    }
+
+    /**
+     * @return the group of equal scores of a key, 0 for the highest score.
+     */
+    public static long group(long key) {
+        return key >>> Integer.SIZE;
+    }
+
+    /**
+     * @return the index of the score of a key.
+     */
+    public static int index(long key) {
+        return (int) (key & INDEX_MASK);
+    }
+}
@@ -0,0 +1,20 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.model.Match;
+import com.paf.exercise.model.MatchSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MatchRepository extends StorageRepository<Match> {
+
+    @Query("select new com.paf.exercise.model.MatchSummary(m.number, m.bracket, m.round, m.homePlayerId, m.awayPlayerId, "
+            + "m.homeSource, m.awaySource) from Match m "
+            + "where m.tournamentId = :id and m.round = :round and m.number > :after order by m.number")
+    List<MatchSummary> findRound(@Param("id") long id, @Param("round") int round, @Param("after") long after,
+                                 Pageable pageable);
+}
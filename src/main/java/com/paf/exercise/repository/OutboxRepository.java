@@ -0,0 +1,53 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The reads of the relay are read-write transactions so they go to the primary: the relay compares the events it
+ * reads with the transactions running on the primary, which a replica has not necessarily replayed yet.
+ */
+@Repository
+public interface OutboxRepository extends StorageRepository<OutboxEvent>, OutboxRepositoryCustom {
+
+    @Transactional
+    @Query("select e from OutboxEvent e where e.id > :after order by e.id")
+    List<OutboxEvent> findAfter(@Param("after") long after, Pageable pageable);
+
+    @Transactional
+    @Query("select e from OutboxEvent e where e.id > :after and e.id <= :upTo order by e.id")
+    List<OutboxEvent> findBetween(@Param("after") long after, @Param("upTo") long upTo, Pageable pageable);
+
+    /**
+     * @return the ID of the last event, 0 if there is none.
+     */
+    @Query("select coalesce(max(e.id), 0) from OutboxEvent e")
+    long findLastId();
+
+    /**
+     * @return the ID of the oldest transaction still running; every transaction with a smaller ID has ended.
+     */
+    @Transactional
+    @Query(value = "select cast(cast(pg_snapshot_xmin(pg_current_snapshot()) as text) as int8)", nativeQuery = true)
+    long findOldestRunningTransactionId();
+
+    /**
+     * @return the ID the next transaction will get; every transaction running now has a smaller one.
+     */
+    @Transactional
+    @Query(value = "select cast(cast(pg_snapshot_xmax(pg_current_snapshot()) as text) as int8)", nativeQuery = true)
+    long findNextTransactionId();
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,15 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.model.OutboxEvent;
+
+import java.util.List;
+
+public interface OutboxRepositoryCustom {
+
+    /**
+     * Inserts the events with batched statements. The transaction gets its ID before the events get theirs, so a
+     * reader seeing a gap in the event IDs knows the gap is settled once every transaction older than its snapshot
+     * has ended.
+     */
+    void appendAll(List<OutboxEvent> events);
+}
@@ -0,0 +1,48 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+public class OutboxRepositoryImpl implements OutboxRepositoryCustom {
+    private static final String ASSIGN_TRANSACTION_ID = "select pg_current_xact_id()";
+    private static final String INSERT_EVENT = "insert into outbox_event (tournament_id, player_id, name, type, created_at) values (?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${tournament.players.bulk.batch-size:50}")
+    private int batchSize;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Takes no lock, so concurrent writers commit their events in parallel and the IDs may become visible out of
+     * order; the relay waits for the gaps instead, see OutboxRelay.
+     */
+    @Transactional
+    @Override
+    public void appendAll(List<OutboxEvent> events) {
+        entityManager.flush();
+        jdbcTemplate.query(ASSIGN_TRANSACTION_ID, resultSet -> {
+        });
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, batchSize, (statement, event) -> {
+            statement.setLong(1, event.getTournamentId());
+            statement.setObject(2, event.getPlayerId(), Types.BIGINT);
+            statement.setString(3, event.getName());
+            statement.setString(4, event.getType().name());
+            statement.setTimestamp(5, Timestamp.from(event.getCreatedAt()));
+        });
+    }
+}
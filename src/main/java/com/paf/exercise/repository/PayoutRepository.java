@@ -0,0 +1,22 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.model.Payout;
+import com.paf.exercise.model.PayoutSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PayoutRepository extends StorageRepository<Payout>, PayoutRepositoryCustom {
+
+    /**
+     * Returns no row if the tournament does not exist, and a single row with a null position if it has no payouts
+     * after the given position, so the existence check and the page are one statement.
+     */
+    @Query("select new com.paf.exercise.model.PayoutSummary(p.position, p.playerId, p.place, p.amount) from Tournament t "
+            + "left join Payout p on p.tournamentId = t.id and p.position > :after where t.id = :id order by p.position")
+    List<PayoutSummary> findPayouts(@Param("id") long id, @Param("after") long after, Pageable pageable);
+}
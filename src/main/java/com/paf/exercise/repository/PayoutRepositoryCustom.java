@@ -0,0 +1,12 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.payout.PayoutTable;
+
+public interface PayoutRepositoryCustom {
+
+    /**
+     * Replaces the payouts of the tournament with the table, inserting the rows in JDBC batches without creating
+     * an entity per row.
+     */
+    void replaceAll(long tournamentId, PayoutTable payouts);
+}
@@ -0,0 +1,61 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.payout.PayoutTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+public class PayoutRepositoryImpl implements PayoutRepositoryCustom {
+    private static final String DELETE_PAYOUTS = "delete from payout where tournament_id = ?";
+    private static final String INSERT_PAYOUT = "insert into payout (player_id, tournament_id, position, place, amount) "
+            + "values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public PayoutRepositoryImpl(JdbcTemplate jdbcTemplate, @Value("${tournament.payouts.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void replaceAll(long tournamentId, PayoutTable payouts) {
+        jdbcTemplate.update(DELETE_PAYOUTS, tournamentId);
+        for (int offset = 0; offset < payouts.size(); offset += batchSize) {
+            jdbcTemplate.batchUpdate(INSERT_PAYOUT, new PayoutBatch(tournamentId, payouts, offset,
+                    Math.min(batchSize, payouts.size() - offset)));
+        }
+    }
+
+    private static class PayoutBatch implements BatchPreparedStatementSetter {
+        private final long tournamentId;
+        private final PayoutTable payouts;
+        private final int offset;
+        private final int size;
+
+        PayoutBatch(long tournamentId, PayoutTable payouts, int offset, int size) {
+            this.tournamentId = tournamentId;
+            this.payouts = payouts;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        @Override
+        public void setValues(PreparedStatement statement, int i) throws SQLException {
+            int row = offset + i;
+            statement.setLong(1, payouts.getPlayerIds()[row]);
+            statement.setLong(2, tournamentId);
+            statement.setLong(3, row + 1L);
+            statement.setInt(4, payouts.getPlaces()[row]);
+            statement.setLong(5, payouts.getAmounts()[row]);
+        }
+
+        @Override
+        public int getBatchSize() {
+            return size;
+        }
+    }
+}
@@ -1,14 +1,71 @@
 package com.paf.exercise.repository;
 
 import com.paf.exercise.model.Player;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.paf.exercise.model.PlayerSearchResult;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.paf.exercise.repository.TournamentRepository.STREAM_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
-public interface PlayerRepository extends JpaRepository<Player, Long> {
+public interface PlayerRepository extends StorageRepository<Player>, PlayerRepositoryCustom {
+    Optional<Player> findById(Long id);
+
+    boolean existsById(Long id);
+
+    <S extends Player> S save(S player);
+
     List<Player> findByName(String name);
 
     List<Player> findByTournamentId(long id);
+
+    /**
+     * Returns no row if the tournament does not exist, and a single null row if it has no players, so the
+     * existence check and the roster are one statement.
+     */
+    @Query("select p from Tournament t left join t.players p where t.id = :tournamentId")
+    List<Player> findRosterByTournamentId(@Param("tournamentId") long tournamentId);
+
+    /**
+     * Deletes the player with one statement. The caller only has the player ID, so the delete probes the ID index of
+     * every partition; looking the tournament up first would probe them all the same, in one more statement.
+     *
+     * @return the ID of the player's tournament, empty if the player does not exist.
+     */
+    @Query(value = "delete from player where id = :id returning tournament_id", nativeQuery = true)
+    Optional<Long> deleteByIdReturningTournamentId(@Param("id") long id);
+
+    @Query("select p.id from Player p where p.tournament.id = :tournamentId order by p.id")
+    List<Long> findIdsByTournamentId(@Param("tournamentId") long tournamentId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Player p where p.tournament.id = :tournamentId")
+    int bulkDeleteByTournamentId(@Param("tournamentId") long tournamentId);
+
+    /**
+     * Deletes the players of the tournament with one statement, from its partition only.
+     *
+     * @return the IDs of the players deleted, without the ones that did not exist anymore.
+     */
+    @Query(value = "delete from player where tournament_id = :tournamentId and id in (:ids) returning id", nativeQuery = true)
+    List<Long> deleteByTournamentIdAndIdIn(@Param("tournamentId") long tournamentId, @Param("ids") List<Long> ids);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select p from Player p order by p.tournament.id, p.id")
+    Stream<Player> streamAllOrderByTournamentId();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select new com.paf.exercise.model.PlayerSearchResult(p.id, p.name, p.tournament.id) from Player p")
+    Stream<PlayerSearchResult> streamAllForSearch();
 }
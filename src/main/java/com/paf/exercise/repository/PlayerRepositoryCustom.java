@@ -0,0 +1,26 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.model.Player;
+import com.paf.exercise.rating.PlayerRatings;
+
+import java.util.List;
+
+public interface PlayerRepositoryCustom {
+
+    /**
+     * Persists new players in JDBC batches, flushing and clearing the persistence context after every batch.
+     */
+    void saveAllInBatches(List<Player> players);
+
+    /**
+     * Reads the ratings of the players of a tournament into primitive arrays, without creating an entity per player.
+     *
+     * @param initialRating - The rating of the players without one.
+     */
+    PlayerRatings findRatings(long tournamentId, double initialRating);
+
+    /**
+     * Writes the ratings of players of the tournament with batched UPDATE statements.
+     */
+    void updateRatings(long tournamentId, long[] playerIds, double[] ratings);
+}
@@ -0,0 +1,118 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.model.Player;
+import com.paf.exercise.rating.PlayerRatings;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+public class PlayerRepositoryImpl implements PlayerRepositoryCustom {
+    private static final String SELECT_RATINGS = "select id, coalesce(rating, ?) from player where tournament_id = ? order by id";
+    /**
+     * Filters by the tournament too, so every update is planned against its partition only.
+     */
+    static final String UPDATE_RATING = "update player set rating = ? where tournament_id = ? and id = ?";
+    private static final int INITIAL_CAPACITY = 1024;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${tournament.players.bulk.batch-size:50}")
+    private int batchSize;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PlayerRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void saveAllInBatches(List<Player> players) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        for (int i = 0; i < players.size(); i++) {
+            entityManager.persist(players.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    public PlayerRatings findRatings(long tournamentId, double initialRating) {
+        RatingReader reader = new RatingReader();
+        jdbcTemplate.query(SELECT_RATINGS, reader, initialRating, tournamentId);
+        return reader.getRatings();
+    }
+
+    @Override
+    public void updateRatings(long tournamentId, long[] playerIds, double[] ratings) {
+        for (int offset = 0; offset < playerIds.length; offset += batchSize) {
+            jdbcTemplate.batchUpdate(UPDATE_RATING, new RatingBatch(tournamentId, playerIds, ratings, offset,
+                    Math.min(batchSize, playerIds.length - offset)));
+        }
+    }
+
+    /**
+     * Reads the rows straight into growing primitive arrays.
+     */
+    private static class RatingReader implements RowCallbackHandler {
+        private long[] playerIds = new long[INITIAL_CAPACITY];
+        private double[] ratings = new double[INITIAL_CAPACITY];
+        private int size;
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            if (size == playerIds.length) {
+                playerIds = Arrays.copyOf(playerIds, size * 2);
+                ratings = Arrays.copyOf(ratings, size * 2);
+            }
+            playerIds[size] = resultSet.getLong(1);
+            ratings[size++] = resultSet.getDouble(2);
+        }
+
+        PlayerRatings getRatings() {
+            return new PlayerRatings(Arrays.copyOf(playerIds, size), Arrays.copyOf(ratings, size));
+        }
+    }
+
+    private static class RatingBatch implements BatchPreparedStatementSetter {
+        private final long tournamentId;
+        private final long[] playerIds;
+        private final double[] ratings;
+        private final int offset;
+        private final int size;
+
+        RatingBatch(long tournamentId, long[] playerIds, double[] ratings, int offset, int size) {
+            this.tournamentId = tournamentId;
+            this.playerIds = playerIds;
+            this.ratings = ratings;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        @Override
+        public void setValues(PreparedStatement statement, int i) throws SQLException {
+            statement.setDouble(1, ratings[offset + i]);
+            statement.setLong(2, tournamentId);
+            statement.setLong(3, playerIds[offset + i]);
+        }
+
+        @Override
+        public int getBatchSize() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.model.Schedule;
+import com.paf.exercise.model.ScheduleSummary;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ScheduleRepository extends StorageRepository<Schedule>, ScheduleRepositoryCustom {
+
+    @Query("select new com.paf.exercise.model.ScheduleSummary(s.tournamentId, s.format, s.players, s.rounds, s.matches) "
+            + "from Schedule s where s.tournamentId = :id")
+    Optional<ScheduleSummary> findSummary(@Param("id") long id);
+
+    @Query("select s.seeds from Schedule s where s.tournamentId = :id")
+    Optional<byte[]> findSeeds(@Param("id") long id);
+}
@@ -0,0 +1,14 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.model.Match;
+import com.paf.exercise.model.Schedule;
+
+import java.util.List;
+
+public interface ScheduleRepositoryCustom {
+
+    /**
+     * Replaces the schedule of the tournament and its matches, inserting the matches in JDBC batches.
+     */
+    void replace(Schedule schedule, List<Match> matches);
+}
@@ -0,0 +1,44 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.model.Match;
+import com.paf.exercise.model.Schedule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.List;
+
+public class ScheduleRepositoryImpl implements ScheduleRepositoryCustom {
+    private static final String DELETE_MATCHES = "delete from match where tournament_id = ?";
+    private static final String DELETE_SCHEDULE = "delete from schedule where tournament_id = ?";
+    private static final String INSERT_SCHEDULE = "insert into schedule (tournament_id, format, players, rounds, matches, seeds) "
+            + "values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MATCH = "insert into match (tournament_id, number, bracket, round, "
+            + "home_player_id, away_player_id, home_source, away_source) values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public ScheduleRepositoryImpl(JdbcTemplate jdbcTemplate, @Value("${tournament.schedule.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void replace(Schedule schedule, List<Match> matches) {
+        jdbcTemplate.update(DELETE_MATCHES, schedule.getTournamentId());
+        jdbcTemplate.update(DELETE_SCHEDULE, schedule.getTournamentId());
+        jdbcTemplate.update(INSERT_SCHEDULE, schedule.getTournamentId(), schedule.getFormat().name(), schedule.getPlayers(),
+                schedule.getRounds(), schedule.getMatches(), schedule.getSeeds());
+        jdbcTemplate.batchUpdate(INSERT_MATCH, matches, batchSize, (statement, match) -> {
+            statement.setLong(1, match.getTournamentId());
+            statement.setLong(2, match.getNumber());
+            statement.setString(3, match.getBracket().name());
+            statement.setInt(4, match.getRound());
+            statement.setObject(5, match.getHomePlayerId(), Types.BIGINT);
+            statement.setObject(6, match.getAwayPlayerId(), Types.BIGINT);
+            statement.setString(7, match.getHomeSource());
+            statement.setString(8, match.getAwaySource());
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.paf.exercise.repository;
+
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+
+/**
+ * The storage SPI of the repositories, implemented by Spring Data JPA over the database and by the in-memory storage.
+ * It only has the operations each repository declares, the ones the services use, instead of the whole
+ * JpaRepository contract with its sorting, paging and queries by example.
+ */
+@NoRepositoryBean
+public interface StorageRepository<T> extends Repository<T, Long> {
+}
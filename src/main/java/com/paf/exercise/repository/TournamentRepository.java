@@ -1,11 +1,114 @@
 package com.paf.exercise.repository;
 
+import com.paf.exercise.model.PlayerSummary;
 import com.paf.exercise.model.Tournament;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.paf.exercise.model.TournamentSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
-public interface TournamentRepository extends JpaRepository<Tournament, Long> {
+public interface TournamentRepository extends StorageRepository<Tournament>, TournamentRepositoryCustom {
+
+    String STREAM_FETCH_SIZE = "1000";
+
+    Optional<Tournament> findById(Long id);
+
+    boolean existsById(Long id);
+
+    Tournament getReferenceById(Long id);
+
+    <S extends Tournament> S saveAndFlush(S tournament);
 
     void deleteById(long id);
+
+    /**
+     * Deletes the tournament row only, without loading it or cascading to the players, which have to be deleted
+     * first.
+     *
+     * @return the number of deleted tournaments, 0 if it does not exist.
+     */
+    @Modifying
+    @Query("delete from Tournament t where t.id = :id")
+    int bulkDeleteById(@Param("id") long id);
+
+    /**
+     * Deletes the tournament and its players with one statement, without loading any of them. The players are
+     * deleted from the one partition holding the tournament, through its primary key.
+     *
+     * @return the number of deleted tournaments, 0 if it does not exist.
+     */
+    @Modifying
+    @Query(value = "with deleted_players as (delete from player where tournament_id = :id) "
+            + "delete from tournament where id = :id", nativeQuery = true)
+    int deleteWithPlayersById(@Param("id") long id);
+
+    /**
+     * Locks the tournament row until the end of the transaction, which serializes the writes of the tournament.
+     *
+     * @return the ID, empty if the tournament does not exist.
+     */
+    @Query(value = "select id from tournament where id = :id for update", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") long id);
+
+    /**
+     * Locks the existing tournaments of the IDs against deletion until the end of the transaction, so players can
+     * be added to all of them after a single existence check.
+     *
+     * @return the IDs of the tournaments that exist.
+     */
+    @Query(value = "select id from tournament where id in (:ids) for share", nativeQuery = true)
+    List<Long> lockExistingByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select t.version from Tournament t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    /**
+     * Bumps the version after a change of the roster, which the entity does not see. The row stays locked until
+     * the end of the transaction.
+     *
+     * @return the number of updated tournaments, 0 if it does not exist.
+     */
+    @Modifying
+    @Query("update Tournament t set t.version = t.version + 1 where t.id = :id")
+    int incrementVersion(@Param("id") long id);
+
+    /**
+     * Bumps the version only if it still is the expected one, so the check and the bump are atomic.
+     *
+     * @return the number of updated tournaments, 0 if it does not exist or is at another version.
+     */
+    @Modifying
+    @Query("update Tournament t set t.version = t.version + 1 where t.id = :id and t.version = :version")
+    int incrementVersion(@Param("id") long id, @Param("version") long version);
+
+    @Query("select t.rewardAmount from Tournament t where t.id = :id")
+    Optional<Integer> findRewardAmountById(@Param("id") long id);
+
+    @Query("select new com.paf.exercise.model.TournamentSummary(t.id, t.rewardAmount) from Tournament t "
+            + "where t.id > :after order by t.id")
+    List<TournamentSummary> findSummaries(@Param("after") long after, Pageable pageable);
+
+    /**
+     * Returns no row if the tournament does not exist, and a single row with a null ID if it has no players
+     * after the given one, so the existence check and the page are one statement.
+     */
+    @Query("select new com.paf.exercise.model.PlayerSummary(p.id, p.name) from Tournament t "
+            + "left join t.players p on p.id > :after where t.id = :id order by p.id")
+    List<PlayerSummary> findRoster(@Param("id") long id, @Param("after") long after, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<Tournament> streamAllByOrderByIdAsc();
 }
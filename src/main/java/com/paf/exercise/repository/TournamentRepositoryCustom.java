@@ -0,0 +1,19 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.model.Tournament;
+
+public interface TournamentRepositoryCustom {
+
+    /**
+     * Inserts the tournament with one statement. A tournament without an ID gets a generated one, a tournament
+     * with an ID is only inserted if no tournament has that ID yet.
+     *
+     * @return false if a tournament with the ID already exists.
+     */
+    boolean insertIfAbsent(Tournament tournament);
+
+    /**
+     * Detaches every entity loaded so far, so long running streams do not grow the persistence context.
+     */
+    void clearPersistenceContext();
+}
@@ -0,0 +1,48 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.model.Tournament;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+public class TournamentRepositoryImpl implements TournamentRepositoryCustom {
+    private static final String ID_SEQUENCE = "cast(pg_get_serial_sequence('tournament', 'id') as regclass)";
+    /**
+     * One statement: it takes the transaction-level advisory lock keyed by the OID of the ID sequence, moves the
+     * sequence past the given ID, then inserts the row, whose conflict check and insert are atomic.
+     * <p>
+     * The sequence moves before the row exists, so a concurrent generated insert cannot draw the given ID and then
+     * collide with it; a conflicting insert only wastes a sequence value. The sequence only ever moves forward, and
+     * the bumps are serialized by the lock: setval is not transactional, and setting it below a value another insert
+     * has already drawn would hand that value out again. The insert reads the aggregate over the bump, so the bump
+     * always runs first, whether it moves the sequence or not.
+     */
+    private static final String INSERT_IF_ABSENT = "with bump as ("
+            + "select setval(" + ID_SEQUENCE + ", :id) "
+            + "from (select pg_advisory_xact_lock(cast(cast(" + ID_SEQUENCE + " as oid) as int8))) locked "
+            + "where :id > coalesce(pg_sequence_last_value(" + ID_SEQUENCE + "), 0)) "
+            + "insert into tournament (id, reward_amount, version) "
+            + "select :id, :rewardAmount, 0 from (select count(*) from bump) bumped "
+            + "on conflict do nothing returning id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public boolean insertIfAbsent(Tournament tournament) {
+        if (tournament.getId() == 0) {
+            entityManager.persist(tournament);
+            return true;
+        }
+        return !entityManager.createNativeQuery(INSERT_IF_ABSENT)
+                .setParameter("id", tournament.getId())
+                .setParameter("rewardAmount", tournament.getRewardAmount())
+                .getResultList()
+                .isEmpty();
+    }
+
+    @Override
+    public void clearPersistenceContext() {
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,26 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.model.TournamentStats;
+import com.paf.exercise.model.TournamentTotals;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TournamentStatsRepository extends StorageRepository<TournamentStats>, TournamentStatsRepositoryCustom {
+
+    Optional<TournamentStats> findById(Long id);
+
+    /**
+     * Reads the flushed counters together with the current reward, both by primary key; empty if the tournament
+     * does not exist, zero players if its counters have not been flushed yet.
+     */
+    @Query("select new com.paf.exercise.model.TournamentStats(t.id, coalesce(s.playerCount, 0L), t.rewardAmount) "
+            + "from Tournament t left join TournamentStats s on s.tournamentId = t.id where t.id = :id")
+    Optional<TournamentStats> findStatsById(@Param("id") long id);
+
+    @Query("select t from TournamentTotals t")
+    Optional<TournamentTotals> findTotals();
+}
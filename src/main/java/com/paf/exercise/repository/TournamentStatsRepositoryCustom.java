@@ -0,0 +1,29 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.model.TournamentStatsChanges;
+import com.paf.exercise.model.TournamentStatsCorrection;
+
+import java.util.List;
+
+public interface TournamentStatsRepositoryCustom {
+
+    /**
+     * Applies the accumulated changes to the counters of the tournaments and to the totals, in one transaction.
+     * The counters of a deleted tournament are removed first, subtracting them from the totals, unless the
+     * tournament exists again and was not created since. A player delta creates the counters of a tournament
+     * flushed by no one yet; the changes of a tournament that no longer exists are dropped.
+     */
+    void applyChanges(TournamentStatsChanges changes);
+
+    /**
+     * Recounts every counter from the tournaments and players, in one statement.
+     *
+     * @return the counters the recount disagrees with.
+     */
+    List<TournamentStatsCorrection> findCorrections();
+
+    /**
+     * Applies the corrections and recounts the totals from the counters, in one transaction.
+     */
+    void applyCorrections(List<TournamentStatsCorrection> corrections);
+}
@@ -0,0 +1,142 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.model.TournamentStatsChanges;
+import com.paf.exercise.model.TournamentStatsCorrection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toList;
+
+public class TournamentStatsRepositoryImpl implements TournamentStatsRepositoryCustom {
+    /**
+     * A tournament deleted and created again under the same ID keeps its row, unless this flush also has its
+     * creation, which inserts the row again.
+     */
+    private static final String DELETE_STATS = "delete from tournament_stats s where s.tournament_id = any(?) "
+            + "and (s.tournament_id = any(?) or not exists (select 1 from tournament t where t.id = s.tournament_id)) "
+            + "returning s.player_count, s.reward_amount";
+    private static final String INSERT_STATS = "insert into tournament_stats (tournament_id, player_count, reward_amount) "
+            + "select id, 0, coalesce(reward_amount, 0) from tournament where id = any(?) "
+            + "on conflict (tournament_id) do nothing returning reward_amount";
+    /**
+     * Inserts the row of a tournament whose creation another instance has not flushed yet; xmax is 0 for an
+     * inserted row.
+     */
+    private static final String ADD_PLAYERS = "insert into tournament_stats (tournament_id, player_count, reward_amount) "
+            + "select t.id, d.delta, coalesce(t.reward_amount, 0) from unnest(?, ?) d(tournament_id, delta) "
+            + "join tournament t on t.id = d.tournament_id "
+            + "on conflict (tournament_id) do update set player_count = tournament_stats.player_count + excluded.player_count "
+            + "returning tournament_id, xmax = 0, reward_amount";
+    /**
+     * The self-join reads the reward the row had before the update, so the change of the total can be returned.
+     */
+    private static final String UPDATE_REWARDS = "update tournament_stats s set reward_amount = coalesce(t.reward_amount, 0) "
+            + "from tournament t, tournament_stats old "
+            + "where s.tournament_id = any(?) and t.id = s.tournament_id and old.tournament_id = s.tournament_id "
+            + "and old.reward_amount <> coalesce(t.reward_amount, 0) "
+            + "returning s.reward_amount::int8 - old.reward_amount";
+    private static final String ADD_TOTALS = "update tournament_totals set tournament_count = tournament_count + ?, "
+            + "player_count = player_count + ?, reward_total = reward_total + ? where id = 1";
+    private static final String FIND_CORRECTIONS = "select coalesce(r.id, s.tournament_id), r.id is null, "
+            + "coalesce(r.player_count, 0) - coalesce(s.player_count, 0), coalesce(r.reward_amount, 0) "
+            + "from (select t.id, count(p.id) player_count, coalesce(t.reward_amount, 0) reward_amount "
+            + "from tournament t left join player p on p.tournament_id = t.id group by t.id) r "
+            + "full join tournament_stats s on s.tournament_id = r.id "
+            + "where r.id is null or s.tournament_id is null "
+            + "or r.player_count <> s.player_count or r.reward_amount <> s.reward_amount";
+    private static final String CORRECT_STATS = "insert into tournament_stats (tournament_id, player_count, reward_amount) "
+            + "values (?, ?, ?) on conflict (tournament_id) do update set "
+            + "player_count = tournament_stats.player_count + excluded.player_count, reward_amount = excluded.reward_amount";
+    private static final String DELETE_ORPHANED_STATS = "delete from tournament_stats s where s.tournament_id = ? "
+            + "and not exists (select 1 from tournament t where t.id = s.tournament_id)";
+    private static final String RECOUNT_TOTALS = "update tournament_totals set tournament_count = s.tournaments, "
+            + "player_count = s.players, reward_total = s.rewards from (select count(*) tournaments, "
+            + "coalesce(sum(player_count), 0) players, coalesce(sum(reward_amount), 0) rewards from tournament_stats) s "
+            + "where id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TournamentStatsRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    @Override
+    public void applyChanges(TournamentStatsChanges changes) {
+        long[] totals = new long[3];
+        if (!changes.getDeleted().isEmpty()) {
+            jdbcTemplate.query(withArrays(DELETE_STATS, changes.getDeleted(), changes.getCreated()), (RowCallbackHandler) resultSet -> {
+                totals[0]--;
+                totals[1] -= resultSet.getLong(1);
+                totals[2] -= resultSet.getLong(2);
+            });
+        }
+        if (!changes.getCreated().isEmpty()) {
+            jdbcTemplate.query(withArrays(INSERT_STATS, changes.getCreated()), (RowCallbackHandler) resultSet -> {
+                totals[0]++;
+                totals[2] += resultSet.getLong(1);
+            });
+        }
+        if (!changes.getPlayerDeltas().isEmpty()) {
+            Map<Long, Long> deltas = changes.getPlayerDeltas();
+            List<Long> ids = new ArrayList<>(deltas.keySet());
+            jdbcTemplate.query(withArrays(ADD_PLAYERS, ids, ids.stream().map(deltas::get).collect(toList())),
+                    (RowCallbackHandler) resultSet -> {
+                        totals[1] += deltas.get(resultSet.getLong(1));
+                        if (resultSet.getBoolean(2)) {
+                            totals[0]++;
+                            totals[2] += resultSet.getLong(3);
+                        }
+                    });
+        }
+        if (!changes.getUpdated().isEmpty()) {
+            jdbcTemplate.query(withArrays(UPDATE_REWARDS, changes.getUpdated()),
+                    (RowCallbackHandler) resultSet -> totals[2] += resultSet.getLong(1));
+        }
+        if (totals[0] != 0 || totals[1] != 0 || totals[2] != 0) {
+            jdbcTemplate.update(ADD_TOTALS, totals[0], totals[1], totals[2]);
+        }
+    }
+
+    @Override
+    public List<TournamentStatsCorrection> findCorrections() {
+        return jdbcTemplate.query(FIND_CORRECTIONS, (resultSet, row) -> new TournamentStatsCorrection(resultSet.getLong(1),
+                resultSet.getBoolean(2), resultSet.getLong(3), resultSet.getInt(4)));
+    }
+
+    @Transactional
+    @Override
+    public void applyCorrections(List<TournamentStatsCorrection> corrections) {
+        List<Object[]> orphaned = corrections.stream().filter(TournamentStatsCorrection::isOrphaned)
+                .map(correction -> new Object[]{correction.getTournamentId()})
+                .collect(toList());
+        List<Object[]> corrected = corrections.stream().filter(correction -> !correction.isOrphaned())
+                .map(correction -> new Object[]{correction.getTournamentId(), correction.getPlayerDelta(), correction.getRewardAmount()})
+                .collect(toList());
+        if (!orphaned.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_ORPHANED_STATS, orphaned);
+        }
+        if (!corrected.isEmpty()) {
+            jdbcTemplate.batchUpdate(CORRECT_STATS, corrected);
+        }
+        jdbcTemplate.update(RECOUNT_TOTALS);
+    }
+
+    private static PreparedStatementCreator withArrays(String sql, Collection<?>... arrays) {
+        return connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            for (int i = 0; i < arrays.length; i++) {
+                statement.setArray(i + 1, connection.createArrayOf("bigint", arrays[i].toArray()));
+            }
+            return statement;
+        };
+    }
+}
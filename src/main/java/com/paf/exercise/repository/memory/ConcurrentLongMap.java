@@ -0,0 +1,265 @@
+package com.paf.exercise.repository.memory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * A concurrent map from long keys to values that does not box the keys. The keys are spread over segments, each an
+ * open addressing table over a primitive key array, guarded by its own lock. Lookups are optimistic and only take
+ * the read lock if a write to the same segment interleaved.
+ * <p>
+ * The values must be immutable, so a value read optimistically is never seen half initialized.
+ */
+final class ConcurrentLongMap<V> {
+    private static final int SEGMENT_BITS = 6;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final Segment<V>[] segments;
+
+    @SuppressWarnings("unchecked")
+    ConcurrentLongMap() {
+        segments = new Segment[1 << SEGMENT_BITS];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment<>();
+        }
+    }
+
+    /**
+     * @return the value of the key, null if the key is missing.
+     */
+    V get(long key) {
+        long hash = mix(key);
+        return segment(hash).get(key, (int) hash);
+    }
+
+    /**
+     * @param key - Any key except {@link Long#MIN_VALUE}, which marks the empty slots.
+     * @return the previous value of the key, null if the key was missing.
+     */
+    V put(long key, V value) {
+        long hash = mix(key);
+        return segment(hash).update(key, (int) hash, current -> value, false);
+    }
+
+    /**
+     * @return the current value of the key, null if the value has been put.
+     */
+    V putIfAbsent(long key, V value) {
+        long hash = mix(key);
+        return segment(hash).update(key, (int) hash, current -> current == null ? value : current, false);
+    }
+
+    /**
+     * Replaces the value of the key with the result of the function, atomically. The function runs under the lock
+     * of the segment, so it must be short and must not access the map.
+     *
+     * @param function - Called with the current value, null if the key is missing; returns the new value, null to
+     *                 remove the key.
+     * @return the new value of the key, null if the key has been removed.
+     */
+    V compute(long key, UnaryOperator<V> function) {
+        long hash = mix(key);
+        return segment(hash).update(key, (int) hash, function, true);
+    }
+
+    /**
+     * @return the removed value, null if the key was missing.
+     */
+    V remove(long key) {
+        long hash = mix(key);
+        return segment(hash).update(key, (int) hash, current -> null, false);
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return the values, in no particular order. Each segment is copied atomically, the map as a whole is not.
+     */
+    List<V> values() {
+        List<V> values = new ArrayList<>();
+        for (Segment<V> segment : segments) {
+            segment.copyValues(values);
+        }
+        return values;
+    }
+
+    private Segment<V> segment(long hash) {
+        return segments[(int) (hash >>> (Long.SIZE - SEGMENT_BITS))];
+    }
+
+    /**
+     * Spreads sequential IDs over the segments and slots, the finalizer of the 64-bit MurmurHash3. The top bits
+     * select the segment, the bottom bits the slot.
+     */
+    private static long mix(long key) {
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * The keys and values are swapped together on a resize, so an optimistic reader always probes a matching pair.
+     */
+    private static final class Table {
+        final long[] keys;
+        final Object[] values;
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+            Arrays.fill(keys, EMPTY);
+        }
+    }
+
+    private static final class Segment<V> {
+        private final StampedLock lock = new StampedLock();
+        private Table table = new Table(INITIAL_CAPACITY);
+        private int size;
+
+        V get(long key, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                V value = find(table, key, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return find(table, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * A probe is bounded by the table length, so it terminates even on a table a writer is changing; the
+         * caller validates the result.
+         */
+        @SuppressWarnings("unchecked")
+        private static <V> V find(Table table, long key, int hash) {
+            long[] keys = table.keys;
+            int mask = keys.length - 1;
+            for (int slot = hash & mask, probes = 0; probes < keys.length; slot = (slot + 1) & mask, probes++) {
+                long slotKey = keys[slot];
+                if (slotKey == key) {
+                    return (V) table.values[slot];
+                }
+                if (slotKey == EMPTY) {
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        V update(long key, int hash, UnaryOperator<V> function, boolean returnNew) {
+            if (key == EMPTY) {
+                throw new IllegalArgumentException("The key " + EMPTY + " is reserved!");
+            }
+            long stamp = lock.writeLock();
+            try {
+                long[] keys = table.keys;
+                int mask = keys.length - 1;
+                int slot = hash & mask;
+                while (keys[slot] != EMPTY && keys[slot] != key) {
+                    slot = (slot + 1) & mask;
+                }
+                V current = keys[slot] == EMPTY ? null : (V) table.values[slot];
+                V value = function.apply(current);
+                if (value == null) {
+                    if (current != null) {
+                        delete(slot);
+                    }
+                } else if (current != null) {
+                    table.values[slot] = value;
+                } else {
+                    table.values[slot] = value;
+                    keys[slot] = key;
+                    if (++size * 4 > keys.length * 3) {
+                        resize(keys.length * 2);
+                    }
+                }
+                return returnNew ? value : current;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void copyValues(List<V> values) {
+            long stamp = lock.readLock();
+            try {
+                for (int slot = 0; slot < table.keys.length; slot++) {
+                    if (table.keys[slot] != EMPTY) {
+                        values.add((V) table.values[slot]);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Shifts the following entries of the probe sequence back, so no tombstones are needed.
+         */
+        private void delete(int slot) {
+            long[] keys = table.keys;
+            Object[] values = table.values;
+            int mask = keys.length - 1;
+            int hole = slot;
+            for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+                int home = (int) mix(keys[next]) & mask;
+                boolean reachable = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+                if (!reachable) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+            }
+            keys[hole] = EMPTY;
+            values[hole] = null;
+            size--;
+        }
+
+        private void resize(int capacity) {
+            Table resized = new Table(capacity);
+            int mask = capacity - 1;
+            for (int slot = 0; slot < table.keys.length; slot++) {
+                long key = table.keys[slot];
+                if (key != EMPTY) {
+                    int target = (int) mix(key) & mask;
+                    while (resized.keys[target] != EMPTY) {
+                        target = (target + 1) & mask;
+                    }
+                    resized.keys[target] = key;
+                    resized.values[target] = table.values[slot];
+                }
+            }
+            table = resized;
+        }
+    }
+}
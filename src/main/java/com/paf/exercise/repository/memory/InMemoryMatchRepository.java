@@ -0,0 +1,45 @@
+package com.paf.exercise.repository.memory;
+
+import com.paf.exercise.model.Match;
+import com.paf.exercise.model.MatchSummary;
+import com.paf.exercise.repository.MatchRepository;
+import com.paf.exercise.repository.memory.InMemoryStore.StoredSchedule;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The stored matches of the in-memory storage, read from the rounds of their schedule.
+ */
+@Repository
+@Profile(InMemoryStore.PROFILE)
+public class InMemoryMatchRepository extends InMemoryRepository implements MatchRepository {
+    private final InMemoryStore store;
+
+    public InMemoryMatchRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<MatchSummary> findRound(long id, int round, long after, Pageable pageable) {
+        StoredSchedule schedule = store.getSchedule(id);
+        List<MatchSummary> matches = schedule == null ? null : schedule.getRounds().get(round);
+        if (matches == null) {
+            return List.of();
+        }
+        int limit = limit(pageable);
+        List<MatchSummary> page = new ArrayList<>();
+        for (MatchSummary match : matches) {
+            if (page.size() == limit) {
+                break;
+            }
+            if (match.getNumber() > after) {
+                page.add(match);
+            }
+        }
+        return page;
+    }
+}
@@ -0,0 +1,92 @@
+package com.paf.exercise.repository.memory;
+
+import com.paf.exercise.model.OutboxEvent;
+import com.paf.exercise.repository.OutboxRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The outbox of the in-memory storage. The writes take effect at once, so the appends only have to be serialized to
+ * keep the IDs in the order the events become visible.
+ */
+@Repository
+@Profile(InMemoryStore.PROFILE)
+public class InMemoryOutboxRepository extends InMemoryRepository implements OutboxRepository {
+    private final ConcurrentNavigableMap<Long, OutboxEvent> events = new ConcurrentSkipListMap<>();
+    private long lastId;
+
+    @Override
+    public synchronized void appendAll(List<OutboxEvent> appended) {
+        for (OutboxEvent event : appended) {
+            event.setId(++lastId);
+            events.put(event.getId(), copy(event));
+        }
+    }
+
+    @Override
+    public List<OutboxEvent> findAfter(long after, Pageable pageable) {
+        int limit = limit(pageable);
+        List<OutboxEvent> page = new ArrayList<>();
+        for (OutboxEvent event : events.tailMap(after, false).values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(copy(event));
+        }
+        return page;
+    }
+
+    @Override
+    public List<OutboxEvent> findBetween(long after, long upTo, Pageable pageable) {
+        int limit = limit(pageable);
+        List<OutboxEvent> page = new ArrayList<>();
+        for (OutboxEvent event : events.subMap(after, false, upTo, true).values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(copy(event));
+        }
+        return page;
+    }
+
+    /**
+     * The appends are serialized, so a gap is never filled later and is settled at once.
+     */
+    @Override
+    public long findOldestRunningTransactionId() {
+        return 0;
+    }
+
+    @Override
+    public long findNextTransactionId() {
+        return 0;
+    }
+
+    @Override
+    public long findLastId() {
+        return events.isEmpty() ? 0 : events.lastKey();
+    }
+
+    @Override
+    public int deleteCreatedBefore(Instant before) {
+        int deleted = 0;
+        for (OutboxEvent event : events.values()) {
+            if (event.getCreatedAt().isBefore(before) && events.remove(event.getId(), event)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private OutboxEvent copy(OutboxEvent event) {
+        return new OutboxEvent(event.getId(), event.getTournamentId(), event.getPlayerId(), event.getName(),
+                event.getType(), event.getCreatedAt());
+    }
+}
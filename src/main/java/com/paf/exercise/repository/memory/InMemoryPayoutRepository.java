@@ -0,0 +1,55 @@
+package com.paf.exercise.repository.memory;
+
+import com.paf.exercise.model.Payout;
+import com.paf.exercise.model.PayoutSummary;
+import com.paf.exercise.payout.PayoutTable;
+import com.paf.exercise.repository.PayoutRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * The payouts of the in-memory storage, kept per tournament as the table they were computed as.
+ */
+@Repository
+@Profile(InMemoryStore.PROFILE)
+public class InMemoryPayoutRepository extends InMemoryRepository implements PayoutRepository {
+    private final InMemoryStore store;
+
+    public InMemoryPayoutRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Keeps the contract of the query: no row if the tournament does not exist, and a single row with a null
+     * position if it has no payouts after the given one. The payouts of deleted players are skipped, as their rows
+     * are deleted with them.
+     */
+    @Override
+    public List<PayoutSummary> findPayouts(long id, long after, Pageable pageable) {
+        if (store.getTournament(id) == null) {
+            return List.of();
+        }
+        PayoutTable table = store.getPayouts(id);
+        int limit = limit(pageable);
+        List<PayoutSummary> payouts = new ArrayList<>();
+        for (int row = (int) Math.max(0, Math.min(after, Integer.MAX_VALUE)); table != null && row < table.size()
+                && payouts.size() < limit; row++) {
+            long playerId = table.getPlayerIds()[row];
+            if (store.getPlayer(playerId) != null) {
+                payouts.add(new PayoutSummary(row + 1L, playerId, table.getPlaces()[row], table.getAmounts()[row]));
+            }
+        }
+        return payouts.isEmpty() ? singletonList(new PayoutSummary(null, null, null, null)) : payouts;
+    }
+
+    @Override
+    public void replaceAll(long tournamentId, PayoutTable payouts) {
+        store.putPayouts(tournamentId, payouts);
+    }
+}
@@ -0,0 +1,197 @@
+package com.paf.exercise.repository.memory;
+
+import com.paf.exercise.model.Player;
+import com.paf.exercise.model.PlayerSearchResult;
+import com.paf.exercise.rating.PlayerRatings;
+import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.repository.memory.InMemoryStore.PlayerRow;
+import com.paf.exercise.repository.memory.InMemoryStore.TournamentRow;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * The players of the in-memory storage. The queries by tournament read the roster index, the queries by name scan
+ * every player.
+ */
+@Repository
+@Profile(InMemoryStore.PROFILE)
+public class InMemoryPlayerRepository extends InMemoryRepository implements PlayerRepository {
+    private final InMemoryStore store;
+
+    public InMemoryPlayerRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Optional<Player> findById(Long id) {
+        return Optional.ofNullable(store.getPlayer(id)).flatMap(this::toPlayer);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return store.getPlayer(id) != null;
+    }
+
+    /**
+     * Inserts a new player, or updates the name and the rating of an existing one; the tournament of a player
+     * does not change.
+     */
+    @Override
+    public <S extends Player> S save(S player) {
+        PlayerRow updated = player.getId() == 0 ? null : store.updatePlayer(player.getId(),
+                current -> current.withName(player.getName()).withRating(player.getRating()));
+        if (updated == null) {
+            player.setId(store.insertPlayer(new PlayerRow(player.getId(), player.getName(),
+                    player.getTournament().getId(), player.getRating())));
+        }
+        return player;
+    }
+
+    @Override
+    public List<Player> findByName(String name) {
+        List<Player> players = new ArrayList<>();
+        for (PlayerRow row : store.getPlayers()) {
+            if (row.getName().equals(name)) {
+                toPlayer(row).ifPresent(players::add);
+            }
+        }
+        players.sort(Comparator.comparingLong(Player::getId));
+        return players;
+    }
+
+    @Override
+    public List<Player> findByTournamentId(long id) {
+        TournamentRow row = store.getTournament(id);
+        return row == null ? List.of() : store.findPlayers(store.toTournament(row));
+    }
+
+    @Override
+    public List<Player> findRosterByTournamentId(long tournamentId) {
+        TournamentRow row = store.getTournament(tournamentId);
+        if (row == null) {
+            return List.of();
+        }
+        List<Player> roster = store.findPlayers(store.toTournament(row));
+        return roster.isEmpty() ? singletonList(null) : roster;
+    }
+
+    @Override
+    public Optional<Long> deleteByIdReturningTournamentId(long id) {
+        return Optional.ofNullable(store.deletePlayer(id)).map(PlayerRow::getTournamentId);
+    }
+
+    @Override
+    public List<Long> findIdsByTournamentId(long tournamentId, Pageable pageable) {
+        long[] ids = store.rosterSlice(tournamentId, offset(pageable), limit(pageable));
+        List<Long> page = new ArrayList<>(ids == null ? 0 : ids.length);
+        for (long id : ids == null ? new long[0] : ids) {
+            page.add(id);
+        }
+        return page;
+    }
+
+    @Override
+    public int bulkDeleteByTournamentId(long tournamentId) {
+        int deleted = 0;
+        for (long id : findIdsByTournamentId(tournamentId, Pageable.unpaged())) {
+            if (store.deletePlayer(id) != null) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public List<Long> deleteByTournamentIdAndIdIn(long tournamentId, List<Long> ids) {
+        List<Long> deleted = new ArrayList<>(ids.size());
+        for (long id : ids) {
+            PlayerRow player = store.getPlayer(id);
+            if (player != null && player.getTournamentId() == tournamentId && store.deletePlayer(id) != null) {
+                deleted.add(id);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Walks the tournaments in order and reads each roster as it goes, so the players are never all copied at once.
+     */
+    @Override
+    public Stream<Player> streamAllOrderByTournamentId() {
+        return store.tournaments().flatMap(row -> store.findPlayers(store.toTournament(row)).stream());
+    }
+
+    @Override
+    public Stream<PlayerSearchResult> streamAllForSearch() {
+        return store.getPlayers().stream()
+                .map(row -> new PlayerSearchResult(row.getId(), row.getName(), row.getTournamentId()));
+    }
+
+    /**
+     * Generates the IDs of each tournament's players in one block and writes them back to the entities.
+     */
+    @Override
+    public void saveAllInBatches(List<Player> players) {
+        Map<Long, List<Player>> byTournament = players.stream()
+                .collect(Collectors.groupingBy(player -> player.getTournament().getId(), LinkedHashMap::new, Collectors.toList()));
+        byTournament.forEach((tournamentId, batch) -> {
+            List<PlayerRow> rows = new ArrayList<>(batch.size());
+            for (Player player : batch) {
+                rows.add(new PlayerRow(0, player.getName(), tournamentId, player.getRating()));
+            }
+            long[] ids = store.insertPlayers(tournamentId, rows);
+            for (int i = 0; i < ids.length; i++) {
+                batch.get(i).setId(ids[i]);
+            }
+        });
+    }
+
+    @Override
+    public PlayerRatings findRatings(long tournamentId, double initialRating) {
+        long[] ids = store.rosterSlice(tournamentId, 0, Integer.MAX_VALUE);
+        if (ids == null) {
+            return new PlayerRatings(new long[0], new double[0]);
+        }
+        long[] playerIds = new long[ids.length];
+        double[] ratings = new double[ids.length];
+        int size = 0;
+        for (long id : ids) {
+            PlayerRow row = store.getPlayer(id);
+            if (row != null) {
+                playerIds[size] = id;
+                ratings[size++] = row.getRating() == null ? initialRating : row.getRating();
+            }
+        }
+        return new PlayerRatings(Arrays.copyOf(playerIds, size), Arrays.copyOf(ratings, size));
+    }
+
+    @Override
+    public void updateRatings(long tournamentId, long[] playerIds, double[] ratings) {
+        for (int i = 0; i < playerIds.length; i++) {
+            double rating = ratings[i];
+            store.updatePlayer(playerIds[i], current ->
+                    current.getTournamentId() == tournamentId ? current.withRating(rating) : current);
+        }
+    }
+
+    /**
+     * @return the player with its tournament, empty if the tournament has been deleted meanwhile.
+     */
+    private Optional<Player> toPlayer(PlayerRow row) {
+        return Optional.ofNullable(store.getTournament(row.getTournamentId()))
+                .map(tournament -> store.toPlayer(row, store.toTournament(tournament)));
+    }
+}
@@ -0,0 +1,20 @@
+package com.paf.exercise.repository.memory;
+
+import org.springframework.data.domain.Pageable;
+
+/**
+ * The base of the in-memory repositories. Each one implements the operations its storage SPI declares, see
+ * {@link com.paf.exercise.repository.StorageRepository}, over the tables of the {@link InMemoryStore}.
+ * <p>
+ * The returned entities are detached copies: changing one changes nothing until it is saved.
+ */
+abstract class InMemoryRepository {
+
+    static long offset(Pageable pageable) {
+        return pageable.isPaged() ? pageable.getOffset() : 0;
+    }
+
+    static int limit(Pageable pageable) {
+        return pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,55 @@
+package com.paf.exercise.repository.memory;
+
+import com.paf.exercise.model.Match;
+import com.paf.exercise.model.MatchSummary;
+import com.paf.exercise.model.Schedule;
+import com.paf.exercise.model.ScheduleSummary;
+import com.paf.exercise.repository.ScheduleRepository;
+import com.paf.exercise.repository.memory.InMemoryStore.StoredSchedule;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * The schedules of the in-memory storage. A schedule is replaced as a whole, with its stored matches grouped by
+ * round.
+ */
+@Repository
+@Profile(InMemoryStore.PROFILE)
+public class InMemoryScheduleRepository extends InMemoryRepository implements ScheduleRepository {
+    private final InMemoryStore store;
+
+    public InMemoryScheduleRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Optional<ScheduleSummary> findSummary(long id) {
+        return Optional.ofNullable(store.getSchedule(id)).map(StoredSchedule::getSummary);
+    }
+
+    @Override
+    public Optional<byte[]> findSeeds(long id) {
+        return Optional.ofNullable(store.getSchedule(id)).map(StoredSchedule::getSeeds);
+    }
+
+    @Override
+    public void replace(Schedule schedule, List<Match> matches) {
+        Map<Integer, List<MatchSummary>> rounds = new TreeMap<>();
+        for (Match match : matches) {
+            rounds.computeIfAbsent(match.getRound(), round -> new ArrayList<>()).add(new MatchSummary(match.getNumber(),
+                    match.getBracket(), match.getRound(), match.getHomePlayerId(), match.getAwayPlayerId(),
+                    match.getHomeSource(), match.getAwaySource()));
+        }
+        rounds.values().forEach(round -> round.sort(Comparator.comparing(MatchSummary::getNumber)));
+        ScheduleSummary summary = new ScheduleSummary(schedule.getTournamentId(), schedule.getFormat(),
+                schedule.getPlayers(), schedule.getRounds(), schedule.getMatches());
+        store.putSchedule(schedule.getTournamentId(), new StoredSchedule(summary, schedule.getSeeds(), rounds));
+    }
+}
@@ -0,0 +1,411 @@
+package com.paf.exercise.repository.memory;
+
+import com.paf.exercise.model.MatchSummary;
+import com.paf.exercise.model.Player;
+import com.paf.exercise.model.ScheduleSummary;
+import com.paf.exercise.model.Tournament;
+import com.paf.exercise.payout.PayoutTable;
+import lombok.Value;
+import lombok.With;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static com.paf.exercise.repository.TournamentRepository.STREAM_FETCH_SIZE;
+
+/**
+ * The tables of the in-memory storage, shared by its repositories. Every table is a concurrent map keyed by the
+ * primitive ID, next to the ordered index of the tournaments and the index from each tournament to its players.
+ * <p>
+ * Each write is atomic on its own and is applied immediately. Within a transaction it is recorded in the undo log of
+ * the transaction, which a rollback runs, see {@link InMemoryTransactionManager}. The foreign keys are kept the way
+ * the database keeps them: a player can only be added to an existing tournament, and deleting a tournament deletes
+ * its players, payouts and schedule.
+ */
+@Component
+@Profile(InMemoryStore.PROFILE)
+public class InMemoryStore {
+    public static final String PROFILE = "memory";
+    private static final int STREAM_PAGE_SIZE = Integer.parseInt(STREAM_FETCH_SIZE);
+
+    private final ConcurrentLongMap<TournamentRow> tournaments = new ConcurrentLongMap<>();
+    private final SortedLongSet tournamentIds = new SortedLongSet();
+    private final ConcurrentLongMap<PlayerRow> players = new ConcurrentLongMap<>();
+    private final ConcurrentLongMap<SortedLongSet> rosters = new ConcurrentLongMap<>();
+    private final ConcurrentLongMap<PayoutTable> payouts = new ConcurrentLongMap<>();
+    private final ConcurrentLongMap<StoredSchedule> schedules = new ConcurrentLongMap<>();
+    private final AtomicLong tournamentSequence = new AtomicLong();
+    private final AtomicLong playerSequence = new AtomicLong();
+    private final Object tournamentLock = new Object();
+
+    TournamentRow getTournament(long id) {
+        return tournaments.get(id);
+    }
+
+    /**
+     * @return the inserted row, with a generated ID if the given one is 0, null if a tournament with the ID exists.
+     */
+    TournamentRow insertTournament(TournamentRow tournament) {
+        synchronized (tournamentLock) {
+            long id = nextId(tournamentSequence, tournament.getId());
+            if (tournaments.get(id) != null) {
+                return null;
+            }
+            TournamentRow inserted = tournament.withId(id);
+            rosters.put(id, new SortedLongSet());
+            tournaments.put(id, inserted);
+            tournamentIds.add(id);
+            onRollback(() -> deleteTournament(id));
+            return inserted;
+        }
+    }
+
+    /**
+     * @return the new row, null if the tournament does not exist.
+     */
+    TournamentRow updateTournament(long id, UnaryOperator<TournamentRow> update) {
+        TournamentRow[] previous = new TournamentRow[1];
+        TournamentRow updated = tournaments.compute(id, current -> {
+            previous[0] = current;
+            return current == null ? null : update.apply(current);
+        });
+        if (updated != previous[0]) {
+            onRollback(() -> tournaments.compute(id, current -> current == null ? null : previous[0]));
+        }
+        return updated;
+    }
+
+    /**
+     * Deletes the tournament and everything that references it.
+     *
+     * @return false if the tournament does not exist.
+     */
+    boolean deleteTournament(long id) {
+        synchronized (tournamentLock) {
+            TournamentRow deleted = tournaments.remove(id);
+            if (deleted == null) {
+                return false;
+            }
+            tournamentIds.remove(id);
+            SortedLongSet roster = rosters.remove(id);
+            List<PlayerRow> deletedPlayers = new ArrayList<>();
+            if (roster != null) {
+                for (long playerId : roster.close()) {
+                    PlayerRow player = players.remove(playerId);
+                    if (player != null) {
+                        deletedPlayers.add(player);
+                    }
+                }
+            }
+            PayoutTable deletedPayouts = payouts.remove(id);
+            StoredSchedule deletedSchedule = schedules.remove(id);
+            onRollback(() -> restoreTournament(deleted, deletedPlayers, deletedPayouts, deletedSchedule));
+            return true;
+        }
+    }
+
+    /**
+     * Puts a deleted tournament back with everything that referenced it, unless its ID has been taken again.
+     */
+    private void restoreTournament(TournamentRow tournament, List<PlayerRow> roster, PayoutTable payoutTable,
+                                   StoredSchedule schedule) {
+        synchronized (tournamentLock) {
+            long id = tournament.getId();
+            if (tournaments.get(id) != null) {
+                return;
+            }
+            long[] playerIds = new long[roster.size()];
+            for (int i = 0; i < playerIds.length; i++) {
+                playerIds[i] = roster.get(i).getId();
+                players.put(playerIds[i], roster.get(i));
+            }
+            SortedLongSet restored = new SortedLongSet();
+            restored.addAll(playerIds);
+            rosters.put(id, restored);
+            restore(payouts, id, payoutTable);
+            restore(schedules, id, schedule);
+            tournaments.put(id, tournament);
+            tournamentIds.add(id);
+        }
+    }
+
+    long[] tournamentIdsAfter(long after, int limit) {
+        return tournamentIds.after(after, limit);
+    }
+
+    /**
+     * Reads the ordered index one page at a time, so the stream does not copy every tournament ID up front.
+     *
+     * @return the tournaments ordered by ID.
+     */
+    Stream<TournamentRow> tournaments() {
+        return Stream.iterate(tournamentIds.after(Long.MIN_VALUE, STREAM_PAGE_SIZE),
+                        ids -> ids.length > 0,
+                        ids -> ids.length < STREAM_PAGE_SIZE ? new long[0]
+                                : tournamentIds.after(ids[ids.length - 1], STREAM_PAGE_SIZE))
+                .flatMapToLong(Arrays::stream)
+                .mapToObj(tournaments::get)
+                .filter(Objects::nonNull);
+    }
+
+    PlayerRow getPlayer(long id) {
+        return players.get(id);
+    }
+
+    List<PlayerRow> getPlayers() {
+        return players.values();
+    }
+
+    /**
+     * @return the ID of the player, the generated one if the given one is 0.
+     * @throws DataIntegrityViolationException if the tournament does not exist.
+     */
+    long insertPlayer(PlayerRow player) {
+        long id = nextId(playerSequence, player.getId());
+        insertPlayers(player.getTournamentId(), new long[]{id}, new PlayerRow[]{player.withId(id)});
+        return id;
+    }
+
+    /**
+     * Inserts new players of one tournament, with IDs generated in one block.
+     *
+     * @return the generated IDs, in the order of the players.
+     * @throws DataIntegrityViolationException if the tournament does not exist.
+     */
+    long[] insertPlayers(long tournamentId, List<PlayerRow> newPlayers) {
+        long first = playerSequence.getAndAdd(newPlayers.size()) + 1;
+        long[] ids = new long[newPlayers.size()];
+        PlayerRow[] rows = new PlayerRow[newPlayers.size()];
+        for (int i = 0; i < rows.length; i++) {
+            ids[i] = first + i;
+            rows[i] = newPlayers.get(i).withId(ids[i]);
+        }
+        insertPlayers(tournamentId, ids, rows);
+        return ids;
+    }
+
+    /**
+     * The rows are written before the index, and removed again if the tournament has been deleted meanwhile.
+     */
+    private void insertPlayers(long tournamentId, long[] ids, PlayerRow[] rows) {
+        SortedLongSet roster = rosters.get(tournamentId);
+        if (roster == null) {
+            throw tournamentMissing(tournamentId);
+        }
+        for (PlayerRow row : rows) {
+            players.put(row.getId(), row);
+        }
+        if (!roster.addAll(ids)) {
+            for (long id : ids) {
+                players.remove(id);
+            }
+            throw tournamentMissing(tournamentId);
+        }
+        onRollback(() -> {
+            for (long id : ids) {
+                deletePlayer(id);
+            }
+        });
+    }
+
+    /**
+     * @return the new row, null if the player does not exist.
+     */
+    PlayerRow updatePlayer(long id, UnaryOperator<PlayerRow> update) {
+        PlayerRow[] previous = new PlayerRow[1];
+        PlayerRow updated = players.compute(id, current -> {
+            previous[0] = current;
+            return current == null ? null : update.apply(current);
+        });
+        if (updated != previous[0]) {
+            onRollback(() -> players.compute(id, current -> current == null ? null : previous[0]));
+        }
+        return updated;
+    }
+
+    /**
+     * @return the deleted row, null if the player does not exist.
+     */
+    PlayerRow deletePlayer(long id) {
+        PlayerRow deleted = players.remove(id);
+        if (deleted != null) {
+            SortedLongSet roster = rosters.get(deleted.getTournamentId());
+            if (roster != null) {
+                roster.remove(id);
+            }
+            onRollback(() -> restorePlayer(deleted));
+        }
+        return deleted;
+    }
+
+    /**
+     * Puts a deleted player back, unless its tournament has been deleted meanwhile.
+     */
+    private void restorePlayer(PlayerRow player) {
+        SortedLongSet roster = rosters.get(player.getTournamentId());
+        if (roster == null) {
+            return;
+        }
+        players.put(player.getId(), player);
+        if (!roster.add(player.getId())) {
+            players.remove(player.getId());
+        }
+    }
+
+    /**
+     * @return null if the tournament does not exist.
+     */
+    long[] rosterAfter(long tournamentId, long after, int limit) {
+        SortedLongSet roster = rosters.get(tournamentId);
+        return roster == null ? null : roster.after(after, limit);
+    }
+
+    /**
+     * @return null if the tournament does not exist.
+     */
+    long[] rosterSlice(long tournamentId, long offset, int limit) {
+        SortedLongSet roster = rosters.get(tournamentId);
+        return roster == null ? null : roster.slice(offset, limit);
+    }
+
+    /**
+     * @return 0 if the tournament does not exist.
+     */
+    int rosterSize(long tournamentId) {
+        SortedLongSet roster = rosters.get(tournamentId);
+        return roster == null ? 0 : roster.size();
+    }
+
+    /**
+     * @return the entity of the row, whose players are read on first access.
+     */
+    Tournament toTournament(TournamentRow row) {
+        Tournament tournament = Tournament.builder()
+                .id(row.getId())
+                .rewardAmount(row.getRewardAmount())
+                .version(row.getVersion())
+                .build();
+        tournament.setPlayers(new LazyRoster(this, tournament));
+        return tournament;
+    }
+
+    Player toPlayer(PlayerRow row, Tournament tournament) {
+        return Player.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .rating(row.getRating())
+                .tournament(tournament)
+                .build();
+    }
+
+    /**
+     * @return the players of the tournament ordered by ID, empty if the tournament does not exist.
+     */
+    List<Player> findPlayers(Tournament tournament) {
+        long[] ids = rosterSlice(tournament.getId(), 0, Integer.MAX_VALUE);
+        List<Player> roster = new ArrayList<>(ids == null ? 0 : ids.length);
+        for (long id : ids == null ? new long[0] : ids) {
+            PlayerRow row = players.get(id);
+            if (row != null) {
+                roster.add(toPlayer(row, tournament));
+            }
+        }
+        return roster;
+    }
+
+    PayoutTable getPayouts(long tournamentId) {
+        return payouts.get(tournamentId);
+    }
+
+    void putPayouts(long tournamentId, PayoutTable table) {
+        requireTournament(tournamentId);
+        PayoutTable previous = payouts.put(tournamentId, table);
+        onRollback(() -> restore(payouts, tournamentId, previous));
+    }
+
+    StoredSchedule getSchedule(long tournamentId) {
+        return schedules.get(tournamentId);
+    }
+
+    void putSchedule(long tournamentId, StoredSchedule schedule) {
+        requireTournament(tournamentId);
+        StoredSchedule previous = schedules.put(tournamentId, schedule);
+        onRollback(() -> restore(schedules, tournamentId, previous));
+    }
+
+    /**
+     * @return the next generated ID if the given one is 0, otherwise the given one, which the sequence then skips.
+     */
+    private static long nextId(AtomicLong sequence, long id) {
+        if (id == 0) {
+            return sequence.incrementAndGet();
+        }
+        sequence.accumulateAndGet(id, Math::max);
+        return id;
+    }
+
+    /**
+     * Records the undo of a write in the transaction bound to the thread, if there is one.
+     */
+    private void onRollback(Runnable undo) {
+        UndoLog undoLog = (UndoLog) TransactionSynchronizationManager.getResource(this);
+        if (undoLog != null) {
+            undoLog.add(undo);
+        }
+    }
+
+    private static <V> void restore(ConcurrentLongMap<V> table, long id, V previous) {
+        if (previous == null) {
+            table.remove(id);
+        } else {
+            table.put(id, previous);
+        }
+    }
+
+    private void requireTournament(long tournamentId) {
+        if (tournaments.get(tournamentId) == null) {
+            throw tournamentMissing(tournamentId);
+        }
+    }
+
+    private static DataIntegrityViolationException tournamentMissing(long tournamentId) {
+        return new DataIntegrityViolationException("The tournament with id: " + tournamentId + " does not exist!");
+    }
+
+    @Value
+    @With
+    static class TournamentRow {
+        long id;
+        int rewardAmount;
+        long version;
+    }
+
+    @Value
+    @With
+    static class PlayerRow {
+        long id;
+        String name;
+        long tournamentId;
+        Double rating;
+    }
+
+    /**
+     * A schedule with its stored matches grouped by round, each round ordered by match number.
+     */
+    @Value
+    static class StoredSchedule {
+        ScheduleSummary summary;
+        byte[] seeds;
+        Map<Integer, List<MatchSummary>> rounds;
+    }
+}
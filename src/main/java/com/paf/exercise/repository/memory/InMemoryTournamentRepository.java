@@ -0,0 +1,180 @@
+package com.paf.exercise.repository.memory;
+
+import com.paf.exercise.model.PlayerSummary;
+import com.paf.exercise.model.Tournament;
+import com.paf.exercise.model.TournamentSummary;
+import com.paf.exercise.repository.TournamentRepository;
+import com.paf.exercise.repository.memory.InMemoryStore.PlayerRow;
+import com.paf.exercise.repository.memory.InMemoryStore.TournamentRow;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The tournaments of the in-memory storage. There are no row locks, {@link #lockById} only checks the existence;
+ * the version checks are atomic on their own.
+ */
+@Repository
+@Profile(InMemoryStore.PROFILE)
+public class InMemoryTournamentRepository extends InMemoryRepository implements TournamentRepository {
+    private final InMemoryStore store;
+
+    public InMemoryTournamentRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Optional<Tournament> findById(Long id) {
+        return Optional.ofNullable(store.getTournament(id)).map(store::toTournament);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return store.getTournament(id) != null;
+    }
+
+    @Override
+    public Tournament getReferenceById(Long id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException("The tournament with id: " + id + " does not exist!"));
+    }
+
+    /**
+     * Inserts a new tournament, or updates the reward of an existing one if its version is still the one the
+     * entity was read at, bumping the version the way the versioned entity is.
+     */
+    @Override
+    public <S extends Tournament> S saveAndFlush(S tournament) {
+        if (tournament.getId() == 0 || store.getTournament(tournament.getId()) == null) {
+            insertIfAbsent(tournament);
+            return tournament;
+        }
+        TournamentRow saved = store.updateTournament(tournament.getId(), current -> {
+            if (current.getVersion() != tournament.getVersion()) {
+                throw new ObjectOptimisticLockingFailureException(Tournament.class, tournament.getId());
+            }
+            return current.getRewardAmount() == tournament.getRewardAmount() ? current
+                    : current.withRewardAmount(tournament.getRewardAmount()).withVersion(current.getVersion() + 1);
+        });
+        if (saved == null) {
+            throw new ObjectOptimisticLockingFailureException(Tournament.class, tournament.getId());
+        }
+        tournament.setVersion(saved.getVersion());
+        return tournament;
+    }
+
+    @Override
+    public void deleteById(long id) {
+        store.deleteTournament(id);
+    }
+
+    @Override
+    public int bulkDeleteById(long id) {
+        return store.deleteTournament(id) ? 1 : 0;
+    }
+
+    @Override
+    public int deleteWithPlayersById(long id) {
+        return store.deleteTournament(id) ? 1 : 0;
+    }
+
+    @Override
+    public Optional<Long> lockById(long id) {
+        return existsById(id) ? Optional.of(id) : Optional.empty();
+    }
+
+    @Override
+    public List<Long> lockExistingByIdIn(Collection<Long> ids) {
+        return ids.stream().filter(id -> store.getTournament(id) != null).collect(toList());
+    }
+
+    @Override
+    public Optional<Long> findVersionById(long id) {
+        return Optional.ofNullable(store.getTournament(id)).map(TournamentRow::getVersion);
+    }
+
+    @Override
+    public int incrementVersion(long id) {
+        return store.updateTournament(id, current -> current.withVersion(current.getVersion() + 1)) == null ? 0 : 1;
+    }
+
+    @Override
+    public int incrementVersion(long id, long version) {
+        int[] updated = new int[1];
+        store.updateTournament(id, current -> {
+            if (current.getVersion() != version) {
+                return current;
+            }
+            updated[0] = 1;
+            return current.withVersion(version + 1);
+        });
+        return updated[0];
+    }
+
+    @Override
+    public Optional<Integer> findRewardAmountById(long id) {
+        return Optional.ofNullable(store.getTournament(id)).map(TournamentRow::getRewardAmount);
+    }
+
+    @Override
+    public List<TournamentSummary> findSummaries(long after, Pageable pageable) {
+        List<TournamentSummary> summaries = new ArrayList<>();
+        for (long id : store.tournamentIdsAfter(after, limit(pageable))) {
+            TournamentRow row = store.getTournament(id);
+            if (row != null) {
+                summaries.add(new TournamentSummary(row.getId(), row.getRewardAmount()));
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Keeps the contract of the query: no row if the tournament does not exist, and a single row with a null ID
+     * if it has no players after the given one.
+     */
+    @Override
+    public List<PlayerSummary> findRoster(long id, long after, Pageable pageable) {
+        long[] ids = store.rosterAfter(id, after, limit(pageable));
+        if (ids == null) {
+            return List.of();
+        }
+        List<PlayerSummary> roster = new ArrayList<>(ids.length);
+        for (long playerId : ids) {
+            PlayerRow row = store.getPlayer(playerId);
+            if (row != null) {
+                roster.add(new PlayerSummary(row.getId(), row.getName()));
+            }
+        }
+        return roster.isEmpty() ? singletonList(new PlayerSummary(null, null)) : roster;
+    }
+
+    @Override
+    public Stream<Tournament> streamAllByOrderByIdAsc() {
+        return store.tournaments().map(store::toTournament);
+    }
+
+    @Override
+    public boolean insertIfAbsent(Tournament tournament) {
+        TournamentRow inserted = store.insertTournament(new TournamentRow(tournament.getId(), tournament.getRewardAmount(), 0));
+        if (inserted == null) {
+            return false;
+        }
+        tournament.setId(inserted.getId());
+        tournament.setVersion(inserted.getVersion());
+        return true;
+    }
+
+    @Override
+    public void clearPersistenceContext() {
+    }
+}
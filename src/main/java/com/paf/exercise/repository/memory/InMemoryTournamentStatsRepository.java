@@ -0,0 +1,158 @@
+package com.paf.exercise.repository.memory;
+
+import com.paf.exercise.model.TournamentStats;
+import com.paf.exercise.model.TournamentStatsChanges;
+import com.paf.exercise.model.TournamentStatsCorrection;
+import com.paf.exercise.model.TournamentTotals;
+import com.paf.exercise.repository.TournamentStatsRepository;
+import com.paf.exercise.repository.memory.InMemoryStore.TournamentRow;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * The tournament counters of the in-memory storage. The changes are applied under the lock of the repository, which
+ * stands in for the transaction of the database.
+ */
+@Repository
+@Profile(InMemoryStore.PROFILE)
+public class InMemoryTournamentStatsRepository extends InMemoryRepository implements TournamentStatsRepository {
+    private final InMemoryStore store;
+    private final Map<Long, TournamentStats> stats = new HashMap<>();
+    private final TournamentTotals totals = new TournamentTotals(TournamentTotals.ID, 0, 0, 0);
+
+    public InMemoryTournamentStatsRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public synchronized Optional<TournamentStats> findById(Long id) {
+        return Optional.ofNullable(stats.get(id)).map(this::copy);
+    }
+
+    @Override
+    public synchronized Optional<TournamentStats> findStatsById(long id) {
+        TournamentRow tournament = store.getTournament(id);
+        if (tournament == null) {
+            return Optional.empty();
+        }
+        TournamentStats flushed = stats.get(id);
+        return Optional.of(new TournamentStats(id, flushed == null ? 0 : flushed.getPlayerCount(), tournament.getRewardAmount()));
+    }
+
+    @Override
+    public synchronized Optional<TournamentTotals> findTotals() {
+        return Optional.of(new TournamentTotals(TournamentTotals.ID, totals.getTournamentCount(), totals.getPlayerCount(),
+                totals.getRewardTotal()));
+    }
+
+    @Override
+    public synchronized void applyChanges(TournamentStatsChanges changes) {
+        for (long id : changes.getDeleted()) {
+            if (changes.getCreated().contains(id) || store.getTournament(id) == null) {
+                TournamentStats deleted = stats.remove(id);
+                if (deleted != null) {
+                    addTotals(-1, -deleted.getPlayerCount(), -deleted.getRewardAmount());
+                }
+            }
+        }
+        for (long id : changes.getCreated()) {
+            TournamentRow tournament = store.getTournament(id);
+            if (tournament != null && !stats.containsKey(id)) {
+                stats.put(id, new TournamentStats(id, 0, tournament.getRewardAmount()));
+                addTotals(1, 0, tournament.getRewardAmount());
+            }
+        }
+        changes.getPlayerDeltas().forEach((id, delta) -> {
+            TournamentRow tournament = store.getTournament(id);
+            if (tournament == null) {
+                return;
+            }
+            TournamentStats tournamentStats = stats.get(id);
+            if (tournamentStats == null) {
+                stats.put(id, new TournamentStats(id, delta, tournament.getRewardAmount()));
+                addTotals(1, delta, tournament.getRewardAmount());
+            } else {
+                tournamentStats.setPlayerCount(tournamentStats.getPlayerCount() + delta);
+                addTotals(0, delta, 0);
+            }
+        });
+        for (long id : changes.getUpdated()) {
+            TournamentRow tournament = store.getTournament(id);
+            TournamentStats tournamentStats = stats.get(id);
+            if (tournament != null && tournamentStats != null
+                    && tournamentStats.getRewardAmount() != tournament.getRewardAmount()) {
+                addTotals(0, 0, (long) tournament.getRewardAmount() - tournamentStats.getRewardAmount());
+                tournamentStats.setRewardAmount(tournament.getRewardAmount());
+            }
+        }
+    }
+
+    @Override
+    public synchronized List<TournamentStatsCorrection> findCorrections() {
+        List<TournamentStatsCorrection> corrections = new ArrayList<>();
+        Set<Long> existing = new HashSet<>();
+        try (Stream<TournamentRow> tournaments = store.tournaments()) {
+            tournaments.forEach(tournament -> {
+                existing.add(tournament.getId());
+                TournamentStats flushed = stats.get(tournament.getId());
+                long playerCount = store.rosterSize(tournament.getId());
+                if (flushed == null || flushed.getPlayerCount() != playerCount
+                        || flushed.getRewardAmount() != tournament.getRewardAmount()) {
+                    corrections.add(new TournamentStatsCorrection(tournament.getId(), false,
+                            playerCount - (flushed == null ? 0 : flushed.getPlayerCount()), tournament.getRewardAmount()));
+                }
+            });
+        }
+        for (long id : stats.keySet()) {
+            if (!existing.contains(id)) {
+                corrections.add(new TournamentStatsCorrection(id, true, 0, 0));
+            }
+        }
+        return corrections;
+    }
+
+    @Override
+    public synchronized void applyCorrections(List<TournamentStatsCorrection> corrections) {
+        for (TournamentStatsCorrection correction : corrections) {
+            long id = correction.getTournamentId();
+            if (correction.isOrphaned()) {
+                if (store.getTournament(id) == null) {
+                    stats.remove(id);
+                }
+                continue;
+            }
+            TournamentStats tournamentStats = stats.get(id);
+            if (tournamentStats == null) {
+                stats.put(id, new TournamentStats(id, correction.getPlayerDelta(), correction.getRewardAmount()));
+            } else {
+                tournamentStats.setPlayerCount(tournamentStats.getPlayerCount() + correction.getPlayerDelta());
+                tournamentStats.setRewardAmount(correction.getRewardAmount());
+            }
+        }
+        totals.setTournamentCount(0);
+        totals.setPlayerCount(0);
+        totals.setRewardTotal(0);
+        stats.values().forEach(tournamentStats ->
+                addTotals(1, tournamentStats.getPlayerCount(), tournamentStats.getRewardAmount()));
+    }
+
+    private void addTotals(long tournaments, long players, long rewards) {
+        totals.setTournamentCount(totals.getTournamentCount() + tournaments);
+        totals.setPlayerCount(totals.getPlayerCount() + players);
+        totals.setRewardTotal(totals.getRewardTotal() + rewards);
+    }
+
+    private TournamentStats copy(TournamentStats tournamentStats) {
+        return new TournamentStats(tournamentStats.getTournamentId(), tournamentStats.getPlayerCount(),
+                tournamentStats.getRewardAmount());
+    }
+}
@@ -0,0 +1,93 @@
+package com.paf.exercise.repository.memory;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The transactions of the in-memory storage. The writes of the store are applied immediately and recorded in the
+ * undo log of the transaction bound to the thread, which a rollback runs, so a failed request leaves no partial
+ * writes behind. The synchronizations run as they do with the database: the transactional event listeners fire
+ * after the commit.
+ * <p>
+ * There are no row locks and no isolation: other transactions see the writes before the commit, and a rollback
+ * restores the rows it wrote even over a later write of another transaction. The outbox and the tournament counters
+ * are not part of the undo log; the outbox is appended last, right before the commit.
+ */
+@Component
+@Profile(InMemoryStore.PROFILE)
+public class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+    private final InMemoryStore store;
+
+    public InMemoryTransactionManager(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        return new InMemoryTransaction((UndoLog) TransactionSynchronizationManager.getResource(store));
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return ((InMemoryTransaction) transaction).undoLog != null;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        UndoLog undoLog = new UndoLog();
+        ((InMemoryTransaction) transaction).undoLog = undoLog;
+        TransactionSynchronizationManager.bindResource(store, undoLog);
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        ((InMemoryTransaction) transaction).undoLog = null;
+        return TransactionSynchronizationManager.unbindResource(store);
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        TransactionSynchronizationManager.bindResource(store, suspendedResources);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        ((InMemoryTransaction) status.getTransaction()).undoLog.undo();
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        ((InMemoryTransaction) status.getTransaction()).undoLog.setRollbackOnly();
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        TransactionSynchronizationManager.unbindResource(store);
+    }
+
+    private static final class InMemoryTransaction implements SmartTransactionObject {
+        private UndoLog undoLog;
+
+        private InMemoryTransaction(UndoLog undoLog) {
+            this.undoLog = undoLog;
+        }
+
+        @Override
+        public boolean isRollbackOnly() {
+            return undoLog != null && undoLog.isRollbackOnly();
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.paf.exercise.repository.memory;
+
+import com.paf.exercise.model.Player;
+import com.paf.exercise.model.Tournament;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * The players of a tournament entity, read from the store on first access the way a lazy JPA collection is, so
+ * the writes that only need the tournament do not copy its roster.
+ */
+final class LazyRoster extends AbstractList<Player> {
+    private final InMemoryStore store;
+    private final Tournament tournament;
+    private List<Player> players;
+
+    LazyRoster(InMemoryStore store, Tournament tournament) {
+        this.store = store;
+        this.tournament = tournament;
+    }
+
+    @Override
+    public Player get(int index) {
+        return players().get(index);
+    }
+
+    @Override
+    public int size() {
+        return players().size();
+    }
+
+    private List<Player> players() {
+        if (players == null) {
+            players = store.findPlayers(tournament);
+        }
+        return players;
+    }
+}
@@ -0,0 +1,105 @@
+package com.paf.exercise.repository.memory;
+
+import java.util.Arrays;
+
+/**
+ * A sorted set of long IDs over one growable primitive array, the secondary index from a tournament to its players
+ * and the ordered index of the tournaments. The generated IDs only grow, so adding them appends; pages are found by
+ * binary search.
+ * <p>
+ * A closed set rejects new IDs, so an insert racing the deletion of its tournament cannot leave an orphan behind.
+ */
+final class SortedLongSet {
+    private long[] ids = new long[8];
+    private int size;
+    private boolean closed;
+
+    /**
+     * @return false if the set is closed.
+     */
+    synchronized boolean add(long id) {
+        if (closed) {
+            return false;
+        }
+        int index = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0 && index < size) {
+            return true;
+        }
+        int insertion = index < 0 ? -index - 1 : index;
+        ensureCapacity(size + 1);
+        System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+        ids[insertion] = id;
+        size++;
+        return true;
+    }
+
+    /**
+     * @param sortedIds - New IDs in ascending order.
+     * @return false if the set is closed.
+     */
+    synchronized boolean addAll(long[] sortedIds) {
+        if (closed) {
+            return false;
+        }
+        if (sortedIds.length > 0 && (size == 0 || ids[size - 1] < sortedIds[0])) {
+            ensureCapacity(size + sortedIds.length);
+            System.arraycopy(sortedIds, 0, ids, size, sortedIds.length);
+            size += sortedIds.length;
+            return true;
+        }
+        for (long id : sortedIds) {
+            add(id);
+        }
+        return true;
+    }
+
+    synchronized boolean remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Closes the set and empties it.
+     *
+     * @return the IDs the set held.
+     */
+    synchronized long[] close() {
+        closed = true;
+        long[] removed = Arrays.copyOf(ids, size);
+        ids = new long[0];
+        size = 0;
+        return removed;
+    }
+
+    /**
+     * @return at most limit IDs greater than after, in ascending order.
+     */
+    synchronized long[] after(long after, int limit) {
+        int index = Arrays.binarySearch(ids, 0, size, after);
+        int from = index < 0 ? -index - 1 : index + 1;
+        return Arrays.copyOfRange(ids, from, from + Math.max(0, Math.min(limit, size - from)));
+    }
+
+    /**
+     * @return at most limit IDs from the given offset, in ascending order.
+     */
+    synchronized long[] slice(long offset, int limit) {
+        int from = (int) Math.min(offset, size);
+        return Arrays.copyOfRange(ids, from, from + Math.min(limit, size - from));
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(capacity, ids.length * 2));
+        }
+    }
+}
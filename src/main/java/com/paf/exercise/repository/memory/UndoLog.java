@@ -0,0 +1,35 @@
+package com.paf.exercise.repository.memory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * The writes of one in-memory transaction, as the actions that undo them. A rollback runs them in reverse order;
+ * the writes they make themselves are not recorded again.
+ */
+final class UndoLog {
+    private final Deque<Runnable> undos = new ArrayDeque<>();
+    private boolean undoing;
+    private boolean rollbackOnly;
+
+    void add(Runnable undo) {
+        if (!undoing) {
+            undos.push(undo);
+        }
+    }
+
+    void undo() {
+        undoing = true;
+        while (!undos.isEmpty()) {
+            undos.pop().run();
+        }
+    }
+
+    boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    void setRollbackOnly() {
+        rollbackOnly = true;
+    }
+}
@@ -0,0 +1,92 @@
+package com.paf.exercise.schedule;
+
+import com.paf.exercise.model.Match;
+import com.paf.exercise.model.ScheduleFormat;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.paf.exercise.schedule.EliminationBracket.firstNumber;
+import static com.paf.exercise.schedule.EliminationBracket.loser;
+import static com.paf.exercise.schedule.EliminationBracket.match;
+import static com.paf.exercise.schedule.EliminationBracket.winner;
+
+/**
+ * The main bracket, a losers bracket that every player drops into after the first loss, and a final between the
+ * winners of both. The losers of alternate main rounds drop in reversed, which delays the rematches. The loser of
+ * a bye is a bye as well.
+ */
+@Component
+public class DoubleEliminationGenerator implements ScheduleGenerator {
+
+    @Override
+    public ScheduleFormat getFormat() {
+        return ScheduleFormat.DOUBLE_ELIMINATION;
+    }
+
+    @Override
+    public int rounds(int players) {
+        int mainRounds = EliminationBracket.rounds(EliminationBracket.size(players));
+        return Math.max(mainRounds, 2 * mainRounds - 2) + 1;
+    }
+
+    @Override
+    public long matches(int players) {
+        return 2L * EliminationBracket.size(players) - 2;
+    }
+
+    @Override
+    public List<Match> generate(long tournamentId, long[] seeds) {
+        int size = EliminationBracket.size(seeds.length);
+        int mainRounds = EliminationBracket.rounds(size);
+        List<Match> matches = EliminationBracket.generate(tournamentId, seeds, size);
+        long number = size;
+
+        List<String> survivors = new ArrayList<>();
+        int round = 0;
+        if (mainRounds == 1) {
+            survivors.add(loser(1));
+        } else {
+            round++;
+            for (int i = 0; i < size / 4; i++) {
+                matches.add(match(tournamentId, Match.Bracket.LOSERS, round, number)
+                        .homeSource(loser(1 + 2L * i))
+                        .awaySource(loser(2 + 2L * i))
+                        .build());
+                survivors.add(winner(number++));
+            }
+        }
+        for (int mainRound = 2; mainRound <= mainRounds; mainRound++) {
+            round++;
+            int count = size >> mainRound;
+            List<String> dropIns = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int loserIndex = mainRound % 2 == 0 ? count - 1 - i : i;
+                matches.add(match(tournamentId, Match.Bracket.LOSERS, round, number)
+                        .homeSource(survivors.get(i))
+                        .awaySource(loser(firstNumber(size, mainRound) + loserIndex))
+                        .build());
+                dropIns.add(winner(number++));
+            }
+            survivors = dropIns;
+            if (mainRound < mainRounds) {
+                round++;
+                List<String> consolidated = new ArrayList<>(count / 2);
+                for (int i = 0; i < count / 2; i++) {
+                    matches.add(match(tournamentId, Match.Bracket.LOSERS, round, number)
+                            .homeSource(survivors.get(2 * i))
+                            .awaySource(survivors.get(2 * i + 1))
+                            .build());
+                    consolidated.add(winner(number++));
+                }
+                survivors = consolidated;
+            }
+        }
+        matches.add(match(tournamentId, Match.Bracket.FINAL, Math.max(mainRounds, round) + 1, number)
+                .homeSource(winner(size - 1L))
+                .awaySource(survivors.get(0))
+                .build());
+        return matches;
+    }
+}
@@ -0,0 +1,88 @@
+package com.paf.exercise.schedule;
+
+import com.paf.exercise.model.Match;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The main bracket of the elimination formats. The bracket is filled up to a power of two with byes, which go to
+ * the best seeds, and the seeds are placed so the two best can only meet in the final.
+ */
+final class EliminationBracket {
+
+    private EliminationBracket() {
+    }
+
+    static int size(int players) {
+        return Math.max(2, Integer.highestOneBit(players - 1) << 1);
+    }
+
+    static int rounds(int size) {
+        return Integer.numberOfTrailingZeros(size);
+    }
+
+    /**
+     * The number of the first match of a round of the main bracket.
+     */
+    static long firstNumber(int size, int round) {
+        return size - (size >> (round - 1)) + 1;
+    }
+
+    /**
+     * The matches of the main bracket, numbered from 1 round by round.
+     */
+    static List<Match> generate(long tournamentId, long[] seeds, int size) {
+        List<Match> matches = new ArrayList<>(size);
+        int[] order = seedOrder(size);
+        long number = 1;
+        for (int i = 0; i < size / 2; i++) {
+            matches.add(match(tournamentId, Match.Bracket.MAIN, 1, number++)
+                    .homePlayerId(player(seeds, order[2 * i]))
+                    .awayPlayerId(player(seeds, order[2 * i + 1]))
+                    .build());
+        }
+        for (int round = 2; round <= rounds(size); round++) {
+            long previous = firstNumber(size, round - 1);
+            for (int i = 0; i < size >> round; i++) {
+                matches.add(match(tournamentId, Match.Bracket.MAIN, round, number++)
+                        .homeSource(winner(previous + 2L * i))
+                        .awaySource(winner(previous + 2L * i + 1))
+                        .build());
+            }
+        }
+        return matches;
+    }
+
+    static Match.MatchBuilder match(long tournamentId, Match.Bracket bracket, int round, long number) {
+        return Match.builder().tournamentId(tournamentId).bracket(bracket).round(round).number(number);
+    }
+
+    static String winner(long number) {
+        return "W" + number;
+    }
+
+    static String loser(long number) {
+        return "L" + number;
+    }
+
+    private static Long player(long[] seeds, int seed) {
+        return seed < seeds.length ? seeds[seed] : null;
+    }
+
+    /**
+     * The seeds in bracket order, every seed next to the seed it meets in the first round: 0, 3, 1, 2 for 4.
+     */
+    private static int[] seedOrder(int size) {
+        int[] order = {0};
+        while (order.length < size) {
+            int[] next = new int[order.length * 2];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = next.length - 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,87 @@
+package com.paf.exercise.schedule;
+
+import com.paf.exercise.model.Match;
+import com.paf.exercise.model.MatchSummary;
+import com.paf.exercise.model.ScheduleFormat;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Every player meets every other player once, paired with the circle method: the first seed stays in place while
+ * the others rotate by one position per round. A round robin of n players has about n * n / 2 matches, so none is
+ * stored; any page of any round is computed from the seeding in time proportional to the page. An odd field is
+ * padded with a bye.
+ */
+@Component
+public class RoundRobinGenerator implements ScheduleGenerator {
+
+    @Override
+    public ScheduleFormat getFormat() {
+        return ScheduleFormat.ROUND_ROBIN;
+    }
+
+    @Override
+    public int rounds(int players) {
+        return slots(players) - 1;
+    }
+
+    @Override
+    public long matches(int players) {
+        long slots = slots(players);
+        return slots / 2 * (slots - 1);
+    }
+
+    @Override
+    public List<Match> generate(long tournamentId, long[] seeds) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isComputed() {
+        return true;
+    }
+
+    @Override
+    public List<MatchSummary> computeRound(long[] seeds, int round, long after, int limit) {
+        int slots = slots(seeds.length);
+        if (round < 1 || round > slots - 1) {
+            return Collections.emptyList();
+        }
+        int matchesPerRound = slots / 2;
+        long first = (long) (round - 1) * matchesPerRound + 1;
+        int start = (int) Math.max(0, Math.min(matchesPerRound, after - first + 1));
+        int end = (int) Math.min(matchesPerRound, (long) start + limit);
+
+        List<MatchSummary> matches = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            int home = slot(i, round, slots);
+            int away = slot(slots - 1 - i, round, slots);
+            if (i == 0 && round % 2 == 0) {
+                int swapped = home;
+                home = away;
+                away = swapped;
+            }
+            matches.add(new MatchSummary(first + i, Match.Bracket.MAIN, round, player(seeds, home), player(seeds, away),
+                    null, null));
+        }
+        return matches;
+    }
+
+    private static int slots(int players) {
+        return players + players % 2;
+    }
+
+    /**
+     * The seed at a position of the circle in a round.
+     */
+    private static int slot(int position, int round, int slots) {
+        return position == 0 ? 0 : (position - 1 + round - 1) % (slots - 1) + 1;
+    }
+
+    private static Long player(long[] seeds, int seed) {
+        return seed < seeds.length ? seeds[seed] : null;
+    }
+}
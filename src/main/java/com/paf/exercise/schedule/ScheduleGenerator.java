@@ -0,0 +1,39 @@
+package com.paf.exercise.schedule;
+
+import com.paf.exercise.model.Match;
+import com.paf.exercise.model.MatchSummary;
+import com.paf.exercise.model.ScheduleFormat;
+
+import java.util.List;
+
+/**
+ * Generates the matches of a schedule format from the seeding. Formats with a number of matches linear in the
+ * players store them; formats with more compute the rounds on demand from the stored seeding instead.
+ */
+public interface ScheduleGenerator {
+
+    ScheduleFormat getFormat();
+
+    int rounds(int players);
+
+    long matches(int players);
+
+    /**
+     * Returns the matches to store, numbered from 1 in order of play, empty if the rounds are computed on demand.
+     *
+     * @param tournamentId - Tournament ID.
+     * @param seeds        - The player IDs, best seed first.
+     */
+    List<Match> generate(long tournamentId, long[] seeds);
+
+    default boolean isComputed() {
+        return false;
+    }
+
+    /**
+     * Computes the matches of a round numbered after the given number, for the formats that store no matches.
+     */
+    default List<MatchSummary> computeRound(long[] seeds, int round, long after, int limit) {
+        throw new UnsupportedOperationException(getFormat() + " rounds are stored!");
+    }
+}
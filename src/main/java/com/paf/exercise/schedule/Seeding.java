@@ -0,0 +1,39 @@
+package com.paf.exercise.schedule;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+
+/**
+ * Orders and packs the seeding of a schedule.
+ */
+public final class Seeding {
+
+    private Seeding() {
+    }
+
+    /**
+     * Shuffles the player IDs in place with a Fisher-Yates shuffle, the same random seed gives the same seeding.
+     */
+    public static long[] shuffle(long[] playerIds, long randomSeed) {
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        for (int i = playerIds.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long playerId = playerIds[i];
+            playerIds[i] = playerIds[j];
+            playerIds[j] = playerId;
+        }
+        return playerIds;
+    }
+
+    public static byte[] pack(long[] seeds) {
+        ByteBuffer buffer = ByteBuffer.allocate(seeds.length * Long.BYTES);
+        buffer.asLongBuffer().put(seeds);
+        return buffer.array();
+    }
+
+    public static long[] unpack(byte[] packed) {
+        long[] seeds = new long[packed.length / Long.BYTES];
+        ByteBuffer.wrap(packed).asLongBuffer().get(seeds);
+        return seeds;
+    }
+}
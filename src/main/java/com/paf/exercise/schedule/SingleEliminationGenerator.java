@@ -0,0 +1,31 @@
+package com.paf.exercise.schedule;
+
+import com.paf.exercise.model.Match;
+import com.paf.exercise.model.ScheduleFormat;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class SingleEliminationGenerator implements ScheduleGenerator {
+
+    @Override
+    public ScheduleFormat getFormat() {
+        return ScheduleFormat.SINGLE_ELIMINATION;
+    }
+
+    @Override
+    public int rounds(int players) {
+        return EliminationBracket.rounds(EliminationBracket.size(players));
+    }
+
+    @Override
+    public long matches(int players) {
+        return EliminationBracket.size(players) - 1L;
+    }
+
+    @Override
+    public List<Match> generate(long tournamentId, long[] seeds) {
+        return EliminationBracket.generate(tournamentId, seeds, EliminationBracket.size(seeds.length));
+    }
+}
@@ -0,0 +1,49 @@
+package com.paf.exercise.schedule;
+
+import com.paf.exercise.model.Match;
+import com.paf.exercise.model.ScheduleFormat;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plans enough rounds to separate a single winner, but only the first round can be paired before any result is
+ * known: the top half of the seeds meets the bottom half, and the last seed of an odd field has a bye.
+ */
+@Component
+public class SwissGenerator implements ScheduleGenerator {
+
+    @Override
+    public ScheduleFormat getFormat() {
+        return ScheduleFormat.SWISS;
+    }
+
+    @Override
+    public int rounds(int players) {
+        return EliminationBracket.rounds(EliminationBracket.size(players));
+    }
+
+    @Override
+    public long matches(int players) {
+        return (players + 1) / 2;
+    }
+
+    @Override
+    public List<Match> generate(long tournamentId, long[] seeds) {
+        int half = seeds.length / 2;
+        List<Match> matches = new ArrayList<>(half + 1);
+        for (int i = 0; i < half; i++) {
+            matches.add(EliminationBracket.match(tournamentId, Match.Bracket.MAIN, 1, i + 1L)
+                    .homePlayerId(seeds[i])
+                    .awayPlayerId(seeds[half + i])
+                    .build());
+        }
+        if (seeds.length % 2 == 1) {
+            matches.add(EliminationBracket.match(tournamentId, Match.Bracket.MAIN, 1, half + 1L)
+                    .homePlayerId(seeds[seeds.length - 1])
+                    .build());
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,302 @@
+package com.paf.exercise.search;
+
+import com.paf.exercise.event.ChangeType;
+import com.paf.exercise.event.PlayerChangedEvent;
+import com.paf.exercise.event.TournamentChangedEvent;
+import com.paf.exercise.model.PlayerSearchResult;
+import com.paf.exercise.repository.PlayerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+
+/**
+ * In-memory name index for the type-ahead player search.
+ * <p>
+ * Prefix matches come from a sorted set of the normalized names. Fuzzy matches are looked up through trigram
+ * postings and confirmed with an edit distance against the best matching prefix of the name, so a typo in what has
+ * been typed so far still matches. The index follows the committed player writes and is rebuilt from the database
+ * in the background on startup.
+ * <p>
+ * The player IDs are also kept per tournament, so deleting a tournament only visits its own players.
+ */
+@Slf4j
+@Component
+public class PlayerNameIndex {
+    private static final String PADDING = "  ";
+    private static final Comparator<Entry> BY_KEY = Comparator.comparing((Entry entry) -> entry.key)
+            .thenComparingLong(entry -> entry.id);
+
+    private final Map<Long, Entry> entriesById = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> entriesByKey = new ConcurrentSkipListSet<>(BY_KEY);
+    private final Map<String, Set<Entry>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> idsByTournament = new ConcurrentHashMap<>();
+    private final Set<Long> deletedWhileRebuilding = ConcurrentHashMap.newKeySet();
+    private final Set<Long> tournamentsDeletedWhileRebuilding = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    private final PlayerRepository playerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final int maxCandidates;
+
+    public PlayerNameIndex(PlayerRepository playerRepository, PlatformTransactionManager transactionManager,
+                           TaskExecutor taskExecutor, @Value("${tournament.search.max-candidates:20000}") int maxCandidates) {
+        this.playerRepository = playerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * Returns the exact matches first, then the prefix matches, then the fuzzy matches by growing edit distance.
+     */
+    public List<PlayerSearchResult> search(String query, int limit) {
+        String key = normalize(query);
+        List<PlayerSearchResult> results = new ArrayList<>(limit);
+        Set<Long> found = new HashSet<>();
+
+        Entry from = new Entry(Long.MIN_VALUE, 0L, "", key);
+        for (Iterator<Entry> iterator = entriesByKey.tailSet(from, true).iterator(); iterator.hasNext() && results.size() < limit; ) {
+            Entry entry = iterator.next();
+            if (!entry.key.startsWith(key)) {
+                break;
+            }
+            results.add(entry.toResult());
+            found.add(entry.id);
+        }
+
+        if (results.size() < limit) {
+            fuzzyMatches(key, found).stream().limit(limit - results.size()).forEach(results::add);
+        }
+        return results;
+    }
+
+    private List<PlayerSearchResult> fuzzyMatches(String key, Set<Long> found) {
+        int maxDistance = key.length() <= 4 ? 1 : 2;
+        List<String> trigrams = trigrams(key);
+        int minShared = Math.max(1, trigrams.size() - 3 * maxDistance);
+
+        Map<Entry, Integer> shared = new HashMap<>();
+        int visited = 0;
+        for (String trigram : trigrams) {
+            for (Entry entry : postings.getOrDefault(trigram, Set.of())) {
+                if (visited++ >= maxCandidates) {
+                    break;
+                }
+                if (!found.contains(entry.id)) {
+                    shared.merge(entry, 1, Integer::sum);
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        shared.forEach((entry, count) -> {
+            if (count >= minShared) {
+                int distance = prefixDistance(key, entry.key, maxDistance);
+                if (distance <= maxDistance) {
+                    matches.add(new Match(entry, distance));
+                }
+            }
+        });
+        matches.sort(Comparator.comparingInt((Match match) -> match.distance).thenComparing(match -> match.entry, BY_KEY));
+
+        List<PlayerSearchResult> results = new ArrayList<>(matches.size());
+        matches.forEach(match -> results.add(match.entry.toResult()));
+        return results;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerChanged(PlayerChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            remove(event.getPlayerId());
+        } else {
+            put(event.getPlayerId(), event.getTournamentId(), event.getName(), true);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTournamentChanged(TournamentChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            if (rebuilding) {
+                tournamentsDeletedWhileRebuilding.add(event.getTournamentId());
+            }
+            Set<Long> ids = idsByTournament.remove(event.getTournamentId());
+            if (ids != null) {
+                ids.forEach(this::remove);
+            }
+        }
+    }
+
+    /**
+     * Loads every player in the background. Writes committed meanwhile win over the rows being loaded, and the rows
+     * of the players and tournaments deleted meanwhile are dropped: the load reads an older snapshot, which may
+     * still hold them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuilding = true;
+        taskExecutor.execute(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<PlayerSearchResult> players = playerRepository.streamAllForSearch()) {
+                        players.forEach(player -> put(player.getId(), player.getTournamentId(), player.getName(), false));
+                    }
+                });
+                log.info(format("The player name index has been rebuilt with %s players.", entriesById.size()));
+            } finally {
+                rebuilding = false;
+                deletedWhileRebuilding.clear();
+                tournamentsDeletedWhileRebuilding.clear();
+            }
+        });
+    }
+
+    private void put(long id, long tournamentId, String name, boolean overwrite) {
+        if (name == null || (!overwrite && isDeletedWhileRebuilding(id, tournamentId))) {
+            return;
+        }
+        entriesById.compute(id, (playerId, previous) -> {
+            if (previous != null && !overwrite) {
+                return previous;
+            }
+            if (previous != null) {
+                unlink(previous);
+            }
+            Entry entry = new Entry(id, tournamentId, name, normalize(name));
+            entriesByKey.add(entry);
+            idsByTournament.compute(tournamentId, (ignored, ids) -> {
+                Set<Long> tournamentIds = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+                tournamentIds.add(id);
+                return tournamentIds;
+            });
+            trigrams(entry.key).forEach(trigram -> postings.computeIfAbsent(trigram, ignored -> ConcurrentHashMap.newKeySet()).add(entry));
+            return entry;
+        });
+        // A delete recorded after the first check may have run before the entry was linked.
+        if (!overwrite && isDeletedWhileRebuilding(id, tournamentId)) {
+            remove(id);
+        }
+    }
+
+    private boolean isDeletedWhileRebuilding(long id, long tournamentId) {
+        return deletedWhileRebuilding.contains(id) || tournamentsDeletedWhileRebuilding.contains(tournamentId);
+    }
+
+    private void remove(long id) {
+        if (rebuilding) {
+            deletedWhileRebuilding.add(id);
+        }
+        entriesById.computeIfPresent(id, (playerId, previous) -> {
+            unlink(previous);
+            return null;
+        });
+    }
+
+    private void unlink(Entry entry) {
+        entriesByKey.remove(entry);
+        idsByTournament.computeIfPresent(entry.tournamentId, (ignored, ids) -> {
+            ids.remove(entry.id);
+            return ids.isEmpty() ? null : ids;
+        });
+        trigrams(entry.key).forEach(trigram -> postings.computeIfPresent(trigram, (ignored, entries) -> {
+            entries.remove(entry);
+            return entries.isEmpty() ? null : entries;
+        }));
+    }
+
+    private static String normalize(String name) {
+        return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> trigrams(String key) {
+        String padded = PADDING + key;
+        List<String> trigrams = new ArrayList<>(key.length());
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Levenshtein distance between the query and the closest prefix of the name, or {@code maxDistance + 1} when
+     * it is larger than the maximum.
+     */
+    static int prefixDistance(String query, String name, int maxDistance) {
+        int[] previous = new int[name.length() + 1];
+        int[] current = new int[name.length() + 1];
+        for (int j = 0; j <= name.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= query.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= name.length(); j++) {
+                int substitution = previous[j - 1] + (query.charAt(i - 1) == name.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        int distance = Integer.MAX_VALUE;
+        for (int value : previous) {
+            distance = Math.min(distance, value);
+        }
+        return Math.min(distance, maxDistance + 1);
+    }
+
+    private static final class Entry {
+        private final long id;
+        private final long tournamentId;
+        private final String name;
+        private final String key;
+
+        private Entry(long id, long tournamentId, String name, String key) {
+            this.id = id;
+            this.tournamentId = tournamentId;
+            this.name = name;
+            this.key = key;
+        }
+
+        private PlayerSearchResult toResult() {
+            return new PlayerSearchResult(id, name, tournamentId);
+        }
+    }
+
+    private static final class Match {
+        private final Entry entry;
+        private final int distance;
+
+        private Match(Entry entry, int distance) {
+            this.entry = entry;
+            this.distance = distance;
+        }
+    }
+}
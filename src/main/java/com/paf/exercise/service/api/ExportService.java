@@ -0,0 +1,14 @@
+package com.paf.exercise.service.api;
+
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@Service
+public interface ExportService {
+
+    String NDJSON = "application/x-ndjson";
+
+    void exportTournaments(OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,15 @@
+package com.paf.exercise.service.api;
+
+import com.paf.exercise.model.CursorPage;
+import com.paf.exercise.model.PayoutDistribution;
+import com.paf.exercise.model.PayoutRequest;
+import com.paf.exercise.model.PayoutSummary;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface PayoutService {
+
+    PayoutDistribution distribute(long tournamentId, PayoutRequest request);
+
+    CursorPage<PayoutSummary> getPayouts(long tournamentId, String after, int limit);
+}
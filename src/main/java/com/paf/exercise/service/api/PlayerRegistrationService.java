@@ -0,0 +1,13 @@
+package com.paf.exercise.service.api;
+
+import com.paf.exercise.model.Player;
+import com.paf.exercise.model.PlayerRegistration;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface PlayerRegistrationService {
+
+    PlayerRegistration register(long tournamentId, Player player);
+
+    PlayerRegistration getRegistration(String registrationId);
+}
@@ -1,20 +1,41 @@
 package com.paf.exercise.service.api;
 
 import com.paf.exercise.model.Player;
+import com.paf.exercise.model.PlayerDetails;
+import com.paf.exercise.model.PlayerRegistrationResult;
+import com.paf.exercise.model.PlayerSearchResult;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public interface PlayerService {
 
     Player create(long tournamentId, Player player);
 
-    Player update(long id, Player player);
+    List<PlayerRegistrationResult> createAll(long tournamentId, List<Player> players);
+
+    /**
+     * Registers the players of many tournaments in one transaction, checking the tournaments exist once.
+     *
+     * @param playersByTournament - The players to create by tournament ID; the created ones get their IDs.
+     * @return the IDs of the tournaments that do not exist, whose players are not created.
+     */
+    Set<Long> createAll(Map<Long, List<Player>> playersByTournament);
+
+    /**
+     * @param tournamentVersion - The version of the player's tournament the update is based on, null to update
+     *                          whatever the current version is.
+     */
+    Player update(long id, Player player, Long tournamentVersion);
 
     List<Player> getPlayersByName(String name);
 
-    List<Player> getPlayersByTournamentId(long id);
+    List<PlayerSearchResult> search(String query, int limit);
+
+    List<PlayerDetails> getPlayersByTournamentId(long id);
 
     void delete(long playerId);
 }
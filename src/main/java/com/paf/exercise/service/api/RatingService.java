@@ -0,0 +1,11 @@
+package com.paf.exercise.service.api;
+
+import com.paf.exercise.model.MatchResults;
+import com.paf.exercise.model.RatingUpdate;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface RatingService {
+
+    RatingUpdate reportResults(long tournamentId, MatchResults results);
+}
@@ -0,0 +1,17 @@
+package com.paf.exercise.service.api;
+
+import com.paf.exercise.model.CursorPage;
+import com.paf.exercise.model.MatchSummary;
+import com.paf.exercise.model.ScheduleRequest;
+import com.paf.exercise.model.ScheduleSummary;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface ScheduleService {
+
+    ScheduleSummary generate(long tournamentId, ScheduleRequest request);
+
+    ScheduleSummary getSchedule(long tournamentId);
+
+    CursorPage<MatchSummary> getRound(long tournamentId, int round, String after, int limit);
+}
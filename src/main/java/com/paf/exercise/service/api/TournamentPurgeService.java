@@ -0,0 +1,12 @@
+package com.paf.exercise.service.api;
+
+import com.paf.exercise.model.PurgeJob;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface TournamentPurgeService {
+
+    PurgeJob purge(long tournamentId);
+
+    PurgeJob getJob(String jobId);
+}
@@ -1,23 +1,32 @@
 package com.paf.exercise.service.api;
 
-import com.paf.exercise.model.Player;
+import com.paf.exercise.model.CursorPage;
+import com.paf.exercise.model.PlayerSummary;
 import com.paf.exercise.model.Tournament;
+import com.paf.exercise.model.TournamentDetails;
+import com.paf.exercise.model.TournamentSummary;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 public interface TournamentService {
 
     Tournament create(Tournament tournament);
 
-    Tournament update(long id, Tournament tournament);
+    /**
+     * @param version - The version the update is based on, null to update whatever the current version is.
+     */
+    TournamentDetails update(long id, Tournament tournament, Long version);
 
     void delete(long id);
 
-    List<Tournament> getTournaments();
+    CursorPage<TournamentSummary> getTournaments(String after, int limit);
+
+    /**
+     * Reads the tournament from the primary, for a caller that has to get at least the version it has just read.
+     */
+    TournamentDetails getTournamentById(long id);
 
-    Tournament getTournamentById(long id);
+    long getVersion(long id);
 
-    List<Player> getPlayers(long id);
+    CursorPage<PlayerSummary> getPlayers(long id, String after, int limit);
 }
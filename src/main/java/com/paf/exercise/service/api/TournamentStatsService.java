@@ -0,0 +1,13 @@
+package com.paf.exercise.service.api;
+
+import com.paf.exercise.model.TournamentStats;
+import com.paf.exercise.model.TournamentTotals;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface TournamentStatsService {
+
+    TournamentStats getStats(long tournamentId);
+
+    TournamentTotals getTotals();
+}
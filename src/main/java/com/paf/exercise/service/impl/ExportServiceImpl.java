@@ -0,0 +1,106 @@
+package com.paf.exercise.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paf.exercise.model.Player;
+import com.paf.exercise.model.Tournament;
+import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.repository.TournamentRepository;
+import com.paf.exercise.service.api.ExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+
+@Slf4j
+@Service
+public class ExportServiceImpl implements ExportService {
+    private static final int BATCH_SIZE = Integer.parseInt(TournamentRepository.STREAM_FETCH_SIZE);
+
+    private final TournamentRepository tournamentRepository;
+    private final PlayerRepository playerRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExportServiceImpl(TournamentRepository tournamentRepository, PlayerRepository playerRepository, ObjectMapper objectMapper) {
+        this.tournamentRepository = tournamentRepository;
+        this.playerRepository = playerRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes one line per tournament, each followed by one line per player of that tournament. Both tables are read
+     * once through forward-only cursors ordered by tournament ID and merged, and the persistence context is cleared
+     * after every batch, so the memory use does not depend on the number of rows.
+     * <p>
+     * The two cursors read one snapshot, so no player can belong to a tournament the tournament cursor has not
+     * seen; a player of a smaller tournament ID is still skipped rather than left blocking the rest of the merge.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @Override
+    public void exportTournaments(OutputStream outputStream) throws IOException {
+        long rows = 0;
+        try (Stream<Tournament> tournaments = tournamentRepository.streamAllByOrderByIdAsc();
+             Stream<Player> players = playerRepository.streamAllOrderByTournamentId();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<Player> playerIterator = players.iterator();
+            Player player = next(playerIterator);
+
+            for (Iterator<Tournament> tournamentIterator = tournaments.iterator(); tournamentIterator.hasNext(); ) {
+                Tournament tournament = tournamentIterator.next();
+                writeTournament(generator, tournament);
+                rows = flushIfBatchEnd(generator, rows + 1);
+
+                while (player != null && player.getTournament().getId() < tournament.getId()) {
+                    player = next(playerIterator);
+                }
+
+                while (player != null && player.getTournament().getId() == tournament.getId()) {
+                    writePlayer(generator, player);
+                    rows = flushIfBatchEnd(generator, rows + 1);
+                    player = next(playerIterator);
+                }
+            }
+        }
+        log.info(format("%s rows have been exported.", rows));
+    }
+
+    private long flushIfBatchEnd(JsonGenerator generator, long rows) throws IOException {
+        if (rows % BATCH_SIZE == 0) {
+            generator.flush();
+            tournamentRepository.clearPersistenceContext();
+        }
+        return rows;
+    }
+
+    private static void writeTournament(JsonGenerator generator, Tournament tournament) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "tournament");
+        generator.writeNumberField("id", tournament.getId());
+        generator.writeNumberField("rewardAmount", tournament.getRewardAmount());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writePlayer(JsonGenerator generator, Player player) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "player");
+        generator.writeNumberField("id", player.getId());
+        generator.writeNumberField("tournamentId", player.getTournament().getId());
+        generator.writeStringField("name", player.getName());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static Player next(Iterator<Player> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+}
@@ -0,0 +1,116 @@
+package com.paf.exercise.service.impl;
+
+import com.paf.exercise.exception.InvalidInputException;
+import com.paf.exercise.exception.ResourceNotFoundException;
+import com.paf.exercise.model.CursorPage;
+import com.paf.exercise.model.PayoutCurveType;
+import com.paf.exercise.model.PayoutDistribution;
+import com.paf.exercise.model.PayoutRequest;
+import com.paf.exercise.model.PayoutSummary;
+import com.paf.exercise.payout.PayoutCalculator;
+import com.paf.exercise.payout.PayoutCurve;
+import com.paf.exercise.payout.PayoutTable;
+import com.paf.exercise.repository.PayoutRepository;
+import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.repository.TournamentRepository;
+import com.paf.exercise.service.api.PayoutService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.paf.exercise.service.impl.TournamentServiceImpl.TOURNAMENT_NOT_FOUND_ERROR;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+@Slf4j
+@Service
+public class PayoutServiceImpl implements PayoutService {
+    protected static final String PLAYER_NOT_REGISTERED_ERROR = "The player with id: %s is not registered in the tournament: %s!";
+
+    private final TournamentRepository tournamentRepository;
+    private final PlayerRepository playerRepository;
+    private final PayoutRepository payoutRepository;
+    private final Map<PayoutCurveType, PayoutCurve> curves = new EnumMap<>(PayoutCurveType.class);
+
+    public PayoutServiceImpl(TournamentRepository tournamentRepository, PlayerRepository playerRepository,
+                             PayoutRepository payoutRepository, List<PayoutCurve> curves) {
+        this.tournamentRepository = tournamentRepository;
+        this.playerRepository = playerRepository;
+        this.payoutRepository = payoutRepository;
+        curves.forEach(curve -> this.curves.put(curve.getType(), curve));
+    }
+
+    /**
+     * Replaces the payouts of the tournament with a new split of its reward over the given standings.
+     */
+    @Transactional
+    @Override
+    public PayoutDistribution distribute(long tournamentId, PayoutRequest request) {
+        long reward = tournamentRepository.findRewardAmountById(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException(format(TOURNAMENT_NOT_FOUND_ERROR, tournamentId)));
+        long[] playerIds = request.getPlayerIds();
+        double[] scores = request.getScores();
+        validateStandings(tournamentId, playerIds, scores);
+
+        double[] weights = curves.get(request.getCurve()).weights(request, playerIds.length);
+        PayoutTable payouts = PayoutCalculator.calculate(reward, playerIds, scores, weights);
+        payoutRepository.replaceAll(tournamentId, payouts);
+        log.info(format("The reward of the tournament %s has been split over %s players!", tournamentId, payouts.size()));
+
+        return PayoutDistribution.builder()
+                .tournamentId(tournamentId)
+                .curve(request.getCurve())
+                .rewardAmount(reward)
+                .rankedPlayers(playerIds.length)
+                .paidPlayers(payouts.size())
+                .paidAmount(Arrays.stream(payouts.getAmounts()).sum())
+                .build();
+    }
+
+    /**
+     * Issues exactly one SQL statement selecting only the payout columns.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<PayoutSummary> getPayouts(long tournamentId, String after, int limit) {
+        List<PayoutSummary> rows = payoutRepository.findPayouts(tournamentId, CursorPage.decode(after), PageRequest.of(0, limit + 1));
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException(format(TOURNAMENT_NOT_FOUND_ERROR, tournamentId));
+        }
+        List<PayoutSummary> payouts = rows.stream().filter(payout -> payout.getPosition() != null).collect(toList());
+        return CursorPage.of(payouts, limit, PayoutSummary::getPosition);
+    }
+
+    /**
+     * Checks every ranked player once against the sorted IDs of the registered players.
+     */
+    private void validateStandings(long tournamentId, long[] playerIds, double[] scores) {
+        if (playerIds.length != scores.length) {
+            throw new InvalidInputException("The playerIds and scores objects must have the same length!");
+        }
+        for (int i = 0; i < scores.length; i++) {
+            if (!Double.isFinite(scores[i])) {
+                throw new InvalidInputException(format("The score of the player with id: %s must be a finite number!", playerIds[i]));
+            }
+        }
+        long[] rankedIds = playerIds.clone();
+        Arrays.parallelSort(rankedIds);
+        long[] registeredIds = playerRepository.findIdsByTournamentId(tournamentId, Pageable.unpaged()).stream()
+                .mapToLong(Long::longValue).toArray();
+        for (int i = 0; i < rankedIds.length; i++) {
+            if (i > 0 && rankedIds[i] == rankedIds[i - 1]) {
+                throw new InvalidInputException(format("The player with id: %s is ranked more than once!", rankedIds[i]));
+            }
+            if (Arrays.binarySearch(registeredIds, rankedIds[i]) < 0) {
+                throw new InvalidInputException(format(PLAYER_NOT_REGISTERED_ERROR, rankedIds[i], tournamentId));
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.paf.exercise.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.paf.exercise.exception.ResourceNotFoundException;
+import com.paf.exercise.exception.ServiceUnavailableException;
+import com.paf.exercise.model.Player;
+import com.paf.exercise.model.PlayerRegistration;
+import com.paf.exercise.service.api.PlayerRegistrationService;
+import com.paf.exercise.service.api.PlayerService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.paf.exercise.service.impl.TournamentServiceImpl.TOURNAMENT_NOT_FOUND_ERROR;
+import static java.lang.String.format;
+
+/**
+ * Registers players asynchronously. A registration only waits for a slot in a bounded queue; a single writer
+ * drains the queue and registers everything it took in one transaction, with one existence check for all the
+ * tournaments of the batch. A full queue rejects new registrations, so the callers back off instead of piling up.
+ * <p>
+ * The registrations are kept for their status polls for the retention time, and at most the maximum number of them.
+ * Beyond the maximum the cache evicts the ones it expects to be read least, pending or not; an evicted registration
+ * is still written, but its status reads as not found. The default maximum is ten times the queue capacity, so only
+ * more registrations than that within the retention time evict any.
+ */
+@Slf4j
+@Service
+public class PlayerRegistrationServiceImpl implements PlayerRegistrationService, DisposableBean {
+    protected static final String REGISTRATION_NOT_FOUND_ERROR = "The registration with id: %s does not exist!";
+    protected static final String REGISTRATION_QUEUE_FULL_ERROR = "The registration queue is full, retry later!";
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+    private final PlayerService playerService;
+    private final BlockingQueue<PlayerRegistration> queue;
+    private final int batchSize;
+    private final Duration retryAfter;
+    private final Cache<String, PlayerRegistration> registrations;
+    private volatile Thread writer;
+
+    public PlayerRegistrationServiceImpl(PlayerService playerService, MeterRegistry meterRegistry,
+                                         @Value("${tournament.registration.queue-capacity:10000}") int queueCapacity,
+                                         @Value("${tournament.registration.batch-size:1000}") int batchSize,
+                                         @Value("${tournament.registration.retry-after:1s}") Duration retryAfter,
+                                         @Value("${tournament.registration.retention:1h}") Duration retention,
+                                         @Value("${tournament.registration.max-retained:100000}") long maxRetained) {
+        this.playerService = playerService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.retryAfter = retryAfter;
+        this.registrations = Caffeine.newBuilder()
+                .maximumSize(maxRetained)
+                .expireAfterWrite(retention)
+                .build();
+        Gauge.builder("tournament.registration.queue", queue, Collection::size)
+                .description("Registrations waiting for the writer")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public PlayerRegistration register(long tournamentId, Player player) {
+        PlayerRegistration registration = new PlayerRegistration(UUID.randomUUID().toString(), tournamentId, player.getName());
+        registrations.put(registration.getId(), registration);
+        if (!queue.offer(registration)) {
+            registrations.invalidate(registration.getId());
+            throw new ServiceUnavailableException(REGISTRATION_QUEUE_FULL_ERROR, retryAfter);
+        }
+        return registration;
+    }
+
+    @Override
+    public PlayerRegistration getRegistration(String registrationId) {
+        PlayerRegistration registration = registrations.getIfPresent(registrationId);
+        if (registration == null) {
+            throw new ResourceNotFoundException(format(REGISTRATION_NOT_FOUND_ERROR, registrationId));
+        }
+        return registration;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::drain, "player-registration-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    /**
+     * Stops the writer and writes what is still queued, before the repositories are shut down.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        Thread thread = writer;
+        writer = null;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join();
+        }
+        while (writeBatch(Duration.ZERO) > 0) {
+            log.info("Wrote the queued registrations on shutdown.");
+        }
+    }
+
+    private void drain() {
+        while (writer == Thread.currentThread()) {
+            try {
+                writeBatch(POLL_TIMEOUT);
+            } catch (InterruptedException exception) {
+                return;
+            } catch (RuntimeException exception) {
+                log.error("The registration writer has failed!", exception);
+            }
+        }
+    }
+
+    /**
+     * Waits for a registration and writes it together with every other one queued meanwhile, up to the batch size.
+     *
+     * @return the number of registrations written, 0 if none arrived within the timeout.
+     */
+    int writeBatch(Duration timeout) throws InterruptedException {
+        PlayerRegistration first = queue.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return 0;
+        }
+        List<PlayerRegistration> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+
+        Map<Long, List<PlayerRegistration>> byTournament = new LinkedHashMap<>();
+        for (PlayerRegistration registration : batch) {
+            byTournament.computeIfAbsent(registration.getTournamentId(), id -> new ArrayList<>()).add(registration);
+        }
+        try {
+            write(byTournament);
+        } catch (RuntimeException exception) {
+            log.warn(format("The group commit of %s registrations has failed, retrying each tournament on its own!",
+                    batch.size()), exception);
+            byTournament.forEach((tournamentId, registrations) -> {
+                try {
+                    write(Map.of(tournamentId, registrations));
+                } catch (RuntimeException tournamentException) {
+                    registrations.forEach(registration -> registration.reject(tournamentException.getMessage()));
+                    log.error(format("The registrations into the tournament %s have failed!", tournamentId),
+                            tournamentException);
+                }
+            });
+        }
+        return batch.size();
+    }
+
+    private void write(Map<Long, List<PlayerRegistration>> byTournament) {
+        Map<Long, List<Player>> players = new LinkedHashMap<>();
+        byTournament.forEach((tournamentId, registrations) -> {
+            List<Player> tournamentPlayers = new ArrayList<>(registrations.size());
+            for (PlayerRegistration registration : registrations) {
+                tournamentPlayers.add(Player.builder().name(registration.getName()).build());
+            }
+            players.put(tournamentId, tournamentPlayers);
+        });
+
+        Set<Long> missing = playerService.createAll(players);
+
+        byTournament.forEach((tournamentId, registrations) -> {
+            List<Player> created = players.get(tournamentId);
+            for (int i = 0; i < registrations.size(); i++) {
+                if (missing.contains(tournamentId)) {
+                    registrations.get(i).reject(format(TOURNAMENT_NOT_FOUND_ERROR, tournamentId));
+                } else {
+                    registrations.get(i).created(created.get(i).getId());
+                }
+            }
+        });
+    }
+}
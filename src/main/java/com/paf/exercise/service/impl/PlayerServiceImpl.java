@@ -1,28 +1,53 @@
 package com.paf.exercise.service.impl;
 
+import com.paf.exercise.config.CacheConfig;
+import com.paf.exercise.datasource.ReadFromPrimary;
+import com.paf.exercise.event.ChangeType;
+import com.paf.exercise.event.PlayerChangedEvent;
+import com.paf.exercise.exception.PreconditionFailedException;
 import com.paf.exercise.exception.ResourceNotFoundException;
 import com.paf.exercise.model.Player;
+import com.paf.exercise.model.PlayerDetails;
+import com.paf.exercise.model.PlayerRegistrationResult;
+import com.paf.exercise.model.PlayerSearchResult;
+import com.paf.exercise.model.Tournament;
 import com.paf.exercise.repository.PlayerRepository;
 import com.paf.exercise.repository.TournamentRepository;
+import com.paf.exercise.search.PlayerNameIndex;
 import com.paf.exercise.service.api.PlayerService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toUnmodifiableList;
 
 @Slf4j
 @Service
 public class PlayerServiceImpl implements PlayerService {
     protected static final String PLAYER_DOES_NOT_EXISTS_ERROR = "The player with id: %s does not exist!";
+    protected static final String PLAYER_NAME_REQUIRED_ERROR = "The name object is required!";
     private final PlayerRepository playerRepository;
     private final TournamentRepository tournamentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlayerNameIndex playerNameIndex;
 
-    public PlayerServiceImpl(PlayerRepository playerRepository, TournamentRepository tournamentRepository) {
+    public PlayerServiceImpl(PlayerRepository playerRepository, TournamentRepository tournamentRepository,
+                             ApplicationEventPublisher eventPublisher, PlayerNameIndex playerNameIndex) {
         this.playerRepository = playerRepository;
         this.tournamentRepository = tournamentRepository;
+        this.eventPublisher = eventPublisher;
+        this.playerNameIndex = playerNameIndex;
     }
 
     @Transactional
@@ -32,18 +57,91 @@ public class PlayerServiceImpl implements PlayerService {
                 .findById(tournamentId)
                 .map(tournament -> {
                     player.setTournament(tournament);
-                    return playerRepository.save(player);
+                    Player createdPlayer = playerRepository.save(player);
+                    tournamentRepository.incrementVersion(tournamentId);
+                    publish(createdPlayer, tournamentId, ChangeType.CREATED);
+                    return createdPlayer;
                 })
                 .orElseThrow(() -> new ResourceNotFoundException(String.format(TournamentServiceImpl.TOURNAMENT_NOT_FOUND_ERROR, tournamentId)));
     }
 
     @Transactional
     @Override
-    public Player update(long playerId, Player player) {
+    public List<PlayerRegistrationResult> createAll(long tournamentId, List<Player> players) {
+        Tournament tournament = tournamentRepository.findById(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException(String.format(TournamentServiceImpl.TOURNAMENT_NOT_FOUND_ERROR, tournamentId)));
+
+        List<Player> accepted = new ArrayList<>(players.size());
+        List<PlayerRegistrationResult> results = new ArrayList<>(players.size());
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (player == null || !StringUtils.hasText(player.getName())) {
+                results.add(PlayerRegistrationResult.builder()
+                        .index(i)
+                        .status(PlayerRegistrationResult.Status.REJECTED)
+                        .message(PLAYER_NAME_REQUIRED_ERROR)
+                        .build());
+                continue;
+            }
+            player.setId(0);
+            player.setTournament(tournament);
+            accepted.add(player);
+            results.add(PlayerRegistrationResult.builder().index(i).status(PlayerRegistrationResult.Status.CREATED).build());
+        }
+
+        playerRepository.saveAllInBatches(accepted);
+        if (!accepted.isEmpty()) {
+            tournamentRepository.incrementVersion(tournamentId);
+        }
+
+        int next = 0;
+        for (PlayerRegistrationResult result : results) {
+            if (result.getStatus() == PlayerRegistrationResult.Status.CREATED) {
+                Player createdPlayer = accepted.get(next++);
+                result.setId(createdPlayer.getId());
+                publish(createdPlayer, tournamentId, ChangeType.CREATED);
+            }
+        }
+        log.info(format("%s players have been registered into the tournament with id: %s.", accepted.size(), tournamentId));
+        return results;
+    }
+
+    @Transactional
+    @Override
+    public Set<Long> createAll(Map<Long, List<Player>> playersByTournament) {
+        Set<Long> existing = new HashSet<>(tournamentRepository.lockExistingByIdIn(playersByTournament.keySet()));
+        Set<Long> missing = new HashSet<>(playersByTournament.keySet());
+        missing.removeAll(existing);
+
+        List<Player> accepted = new ArrayList<>();
+        for (long tournamentId : existing) {
+            Tournament tournament = tournamentRepository.getReferenceById(tournamentId);
+            for (Player player : playersByTournament.get(tournamentId)) {
+                player.setId(0);
+                player.setTournament(tournament);
+                accepted.add(player);
+            }
+        }
+
+        playerRepository.saveAllInBatches(accepted);
+        existing.forEach(tournamentRepository::incrementVersion);
+        for (Player player : accepted) {
+            publish(player, player.getTournament().getId(), ChangeType.CREATED);
+        }
+        log.info(format("%s players have been registered into %s tournaments.", accepted.size(), existing.size()));
+        return missing;
+    }
+
+    @Transactional
+    @Override
+    public Player update(long playerId, Player player, Long tournamentVersion) {
         Player updatedPlayer = playerRepository.findById(playerId).map(participant -> {
+            incrementVersion(participant.getTournament().getId(), tournamentVersion);
             participant.setId(player.getId());
             participant.setName(player.getName());
-            return playerRepository.save(participant);
+            Player savedPlayer = playerRepository.save(participant);
+            publish(savedPlayer, savedPlayer.getTournament().getId(), ChangeType.UPDATED);
+            return savedPlayer;
         }).orElseThrow(() -> new ResourceNotFoundException(format(PLAYER_DOES_NOT_EXISTS_ERROR, playerId)));
 
         log.info(format("Player with id: %s has been updated.", playerId));
@@ -53,10 +151,11 @@ public class PlayerServiceImpl implements PlayerService {
     @Transactional
     @Override
     public void delete(long playerId) {
-        playerRepository.findById(playerId).orElseThrow(() ->
+        long tournamentId = playerRepository.deleteByIdReturningTournamentId(playerId).orElseThrow(() ->
                 new ResourceNotFoundException(String.format(PLAYER_DOES_NOT_EXISTS_ERROR, playerId)));
+        tournamentRepository.incrementVersion(tournamentId);
 
-        playerRepository.deleteById(playerId);
+        eventPublisher.publishEvent(new PlayerChangedEvent(playerId, tournamentId, null, ChangeType.DELETED));
         log.info(format("The player with id: %s has been deleted!", playerId));
 
     }
@@ -71,17 +170,44 @@ public class PlayerServiceImpl implements PlayerService {
         return players;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from the in-memory name index, never from the database.
+     */
     @Override
-    public List<Player> getPlayersByTournamentId(long tournamentId) {
-        checkIfTournamentExits(tournamentId);
-        return playerRepository.findByTournamentId(tournamentId);
-
+    public List<PlayerSearchResult> search(String query, int limit) {
+        return playerNameIndex.search(query, limit);
     }
 
-    private void checkIfTournamentExits(long tournamentId) {
-        if (!tournamentRepository.existsById(tournamentId)) {
+    /**
+     * Issues exactly one SQL statement, which both checks that the tournament exists and selects its players.
+     * The cached roster is an immutable copy, so it holds no entity and no proxy once the session is closed.
+     */
+    @Cacheable(cacheNames = CacheConfig.ROSTERS, sync = true)
+    @ReadFromPrimary
+    @Transactional(readOnly = true)
+    @Override
+    public List<PlayerDetails> getPlayersByTournamentId(long tournamentId) {
+        List<Player> rows = playerRepository.findRosterByTournamentId(tournamentId);
+        if (rows.isEmpty()) {
             throw new ResourceNotFoundException(String.format(TournamentServiceImpl.TOURNAMENT_NOT_FOUND_ERROR, tournamentId));
         }
+        return rows.stream().filter(Objects::nonNull).map(PlayerDetails::of).collect(toUnmodifiableList());
+    }
+
+    /**
+     * The conditional bump also locks the tournament, so the roster cannot change between the check and the
+     * update of the player.
+     */
+    private void incrementVersion(long tournamentId, Long tournamentVersion) {
+        if (tournamentVersion == null) {
+            tournamentRepository.incrementVersion(tournamentId);
+        } else if (tournamentRepository.incrementVersion(tournamentId, tournamentVersion) == 0) {
+            throw new PreconditionFailedException(format(TournamentServiceImpl.TOURNAMENT_VERSION_MISMATCH_ERROR,
+                    tournamentId, tournamentVersion));
+        }
+    }
+
+    private void publish(Player player, long tournamentId, ChangeType type) {
+        eventPublisher.publishEvent(new PlayerChangedEvent(player.getId(), tournamentId, player.getName(), type));
     }
 }
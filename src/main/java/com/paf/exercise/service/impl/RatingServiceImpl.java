@@ -0,0 +1,122 @@
+package com.paf.exercise.service.impl;
+
+import com.paf.exercise.event.ChangeType;
+import com.paf.exercise.event.TournamentChangedEvent;
+import com.paf.exercise.exception.InvalidInputException;
+import com.paf.exercise.exception.ResourceNotFoundException;
+import com.paf.exercise.model.MatchResults;
+import com.paf.exercise.model.RatingUpdate;
+import com.paf.exercise.rating.EloCalculator;
+import com.paf.exercise.rating.LongIntHashMap;
+import com.paf.exercise.rating.PlayerRatings;
+import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.repository.TournamentRepository;
+import com.paf.exercise.service.api.RatingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.paf.exercise.service.impl.PayoutServiceImpl.PLAYER_NOT_REGISTERED_ERROR;
+import static com.paf.exercise.service.impl.TournamentServiceImpl.TOURNAMENT_NOT_FOUND_ERROR;
+import static java.lang.String.format;
+
+@Slf4j
+@Service
+public class RatingServiceImpl implements RatingService {
+
+    private final TournamentRepository tournamentRepository;
+    private final PlayerRepository playerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final double initialRating;
+    private final double kFactor;
+
+    public RatingServiceImpl(TournamentRepository tournamentRepository, PlayerRepository playerRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${tournament.rating.initial:1500}") double initialRating,
+                             @Value("${tournament.rating.k-factor:32}") double kFactor) {
+        this.tournamentRepository = tournamentRepository;
+        this.playerRepository = playerRepository;
+        this.eventPublisher = eventPublisher;
+        this.initialRating = initialRating;
+        this.kFactor = kFactor;
+    }
+
+    /**
+     * Reads the ratings of the roster once, applies the results in one pass and writes back only the ratings that
+     * changed. The tournament is locked, so concurrent bursts of the same tournament are applied one after another.
+     */
+    @Transactional
+    @Override
+    public RatingUpdate reportResults(long tournamentId, MatchResults results) {
+        long[] homePlayerIds = results.getHomePlayerIds();
+        long[] awayPlayerIds = results.getAwayPlayerIds();
+        double[] scores = results.getScores();
+        if (homePlayerIds.length != scores.length || awayPlayerIds.length != scores.length) {
+            throw new InvalidInputException("The homePlayerIds, awayPlayerIds and scores objects must have the same length!");
+        }
+        for (double score : scores) {
+            if (!(score >= 0 && score <= 1)) {
+                throw new InvalidInputException(format("The score: %s must be between 0 and 1!", score));
+            }
+        }
+        if (tournamentRepository.lockById(tournamentId).isEmpty()) {
+            throw new ResourceNotFoundException(format(TOURNAMENT_NOT_FOUND_ERROR, tournamentId));
+        }
+
+        PlayerRatings roster = playerRepository.findRatings(tournamentId, initialRating);
+        LongIntHashMap indexes = new LongIntHashMap(roster.size());
+        for (int i = 0; i < roster.size(); i++) {
+            indexes.put(roster.getPlayerIds()[i], i);
+        }
+        int[] home = new int[scores.length];
+        int[] away = new int[scores.length];
+        boolean[] played = new boolean[roster.size()];
+        int playedCount = 0;
+        for (int i = 0; i < scores.length; i++) {
+            home[i] = indexOf(indexes, homePlayerIds[i], tournamentId);
+            away[i] = indexOf(indexes, awayPlayerIds[i], tournamentId);
+            if (home[i] == away[i]) {
+                throw new InvalidInputException(format("The player with id: %s cannot play against themselves!", homePlayerIds[i]));
+            }
+            for (int index : new int[]{home[i], away[i]}) {
+                if (!played[index]) {
+                    played[index] = true;
+                    playedCount++;
+                }
+            }
+        }
+
+        double[] ratings = roster.getRatings();
+        EloCalculator.apply(ratings, home, away, scores, kFactor);
+
+        long[] updatedIds = new long[playedCount];
+        double[] updatedRatings = new double[playedCount];
+        for (int i = 0, updated = 0; i < played.length; i++) {
+            if (played[i]) {
+                updatedIds[updated] = roster.getPlayerIds()[i];
+                updatedRatings[updated++] = ratings[i];
+            }
+        }
+        playerRepository.updateRatings(tournamentId, updatedIds, updatedRatings);
+        tournamentRepository.incrementVersion(tournamentId);
+        eventPublisher.publishEvent(new TournamentChangedEvent(tournamentId, ChangeType.UPDATED));
+        log.info(format("%s results of the tournament %s have updated the ratings of %s players!", scores.length,
+                tournamentId, playedCount));
+
+        return RatingUpdate.builder()
+                .tournamentId(tournamentId)
+                .results(scores.length)
+                .updatedPlayers(playedCount)
+                .build();
+    }
+
+    private static int indexOf(LongIntHashMap indexes, long playerId, long tournamentId) {
+        int index = indexes.get(playerId);
+        if (index < 0) {
+            throw new InvalidInputException(format(PLAYER_NOT_REGISTERED_ERROR, playerId, tournamentId));
+        }
+        return index;
+    }
+}
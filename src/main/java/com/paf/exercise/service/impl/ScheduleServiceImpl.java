@@ -0,0 +1,143 @@
+package com.paf.exercise.service.impl;
+
+import com.paf.exercise.exception.InvalidInputException;
+import com.paf.exercise.exception.ResourceNotFoundException;
+import com.paf.exercise.model.CursorPage;
+import com.paf.exercise.model.Match;
+import com.paf.exercise.model.MatchSummary;
+import com.paf.exercise.model.Schedule;
+import com.paf.exercise.model.ScheduleFormat;
+import com.paf.exercise.model.ScheduleRequest;
+import com.paf.exercise.model.ScheduleSummary;
+import com.paf.exercise.rating.PlayerRatings;
+import com.paf.exercise.rating.Ranking;
+import com.paf.exercise.repository.MatchRepository;
+import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.repository.ScheduleRepository;
+import com.paf.exercise.repository.TournamentRepository;
+import com.paf.exercise.schedule.ScheduleGenerator;
+import com.paf.exercise.schedule.Seeding;
+import com.paf.exercise.service.api.ScheduleService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.paf.exercise.service.impl.TournamentServiceImpl.TOURNAMENT_NOT_FOUND_ERROR;
+import static java.lang.String.format;
+
+@Slf4j
+@Service
+public class ScheduleServiceImpl implements ScheduleService {
+    protected static final String SCHEDULE_NOT_FOUND_ERROR = "The tournament with id: %s has no schedule!";
+    private static final int MIN_PLAYERS = 2;
+
+    private final TournamentRepository tournamentRepository;
+    private final PlayerRepository playerRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final MatchRepository matchRepository;
+    private final Map<ScheduleFormat, ScheduleGenerator> generators = new EnumMap<>(ScheduleFormat.class);
+    private final double initialRating;
+
+    public ScheduleServiceImpl(TournamentRepository tournamentRepository, PlayerRepository playerRepository,
+                               ScheduleRepository scheduleRepository, MatchRepository matchRepository,
+                               List<ScheduleGenerator> generators,
+                               @Value("${tournament.rating.initial:1500}") double initialRating) {
+        this.tournamentRepository = tournamentRepository;
+        this.playerRepository = playerRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.matchRepository = matchRepository;
+        this.initialRating = initialRating;
+        generators.forEach(generator -> this.generators.put(generator.getFormat(), generator));
+    }
+
+    /**
+     * Seeds the current roster and replaces the schedule of the tournament.
+     */
+    @Transactional
+    @Override
+    public ScheduleSummary generate(long tournamentId, ScheduleRequest request) {
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new ResourceNotFoundException(format(TOURNAMENT_NOT_FOUND_ERROR, tournamentId));
+        }
+        long[] seeds = playerRepository.findIdsByTournamentId(tournamentId, Pageable.unpaged()).stream()
+                .mapToLong(Long::longValue).toArray();
+        if (seeds.length < MIN_PLAYERS) {
+            throw new InvalidInputException(format("The tournament with id: %s needs at least %s players to be scheduled!",
+                    tournamentId, MIN_PLAYERS));
+        }
+        if (request.getRandomSeed() != null) {
+            Seeding.shuffle(seeds, request.getRandomSeed());
+        }
+        if (request.isByRating()) {
+            seeds = orderByRating(tournamentId, seeds);
+        }
+
+        ScheduleGenerator generator = generators.get(request.getFormat());
+        Schedule schedule = Schedule.builder()
+                .tournamentId(tournamentId)
+                .format(request.getFormat())
+                .players(seeds.length)
+                .rounds(generator.rounds(seeds.length))
+                .matches(generator.matches(seeds.length))
+                .seeds(Seeding.pack(seeds))
+                .build();
+        List<Match> matches = generator.generate(tournamentId, seeds);
+        scheduleRepository.replace(schedule, matches);
+        log.info(format("The %s schedule of the tournament %s has been generated, %s matches stored!",
+                request.getFormat(), tournamentId, matches.size()));
+
+        return new ScheduleSummary(tournamentId, schedule.getFormat(), schedule.getPlayers(), schedule.getRounds(),
+                schedule.getMatches());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ScheduleSummary getSchedule(long tournamentId) {
+        return scheduleRepository.findSummary(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException(format(SCHEDULE_NOT_FOUND_ERROR, tournamentId)));
+    }
+
+    /**
+     * Reads a page of a stored round, or computes it from the seeding for the formats that store no matches.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<MatchSummary> getRound(long tournamentId, int round, String after, int limit) {
+        ScheduleGenerator generator = generators.get(getSchedule(tournamentId).getFormat());
+        List<MatchSummary> matches;
+        if (generator.isComputed()) {
+            long[] seeds = Seeding.unpack(scheduleRepository.findSeeds(tournamentId)
+                    .orElseThrow(() -> new ResourceNotFoundException(format(SCHEDULE_NOT_FOUND_ERROR, tournamentId))));
+            matches = generator.computeRound(seeds, round, CursorPage.decode(after), limit + 1);
+        } else {
+            matches = matchRepository.findRound(tournamentId, round, CursorPage.decode(after), PageRequest.of(0, limit + 1));
+        }
+        return CursorPage.of(matches, limit, MatchSummary::getNumber);
+    }
+
+    /**
+     * Orders the seeds from the highest rating, keeping the order of the seeds with equal ratings.
+     */
+    private long[] orderByRating(long tournamentId, long[] seeds) {
+        PlayerRatings roster = playerRepository.findRatings(tournamentId, initialRating);
+        double[] ratings = new double[seeds.length];
+        for (int i = 0; i < seeds.length; i++) {
+            int index = Arrays.binarySearch(roster.getPlayerIds(), seeds[i]);
+            ratings[i] = index < 0 ? initialRating : roster.getRatings()[index];
+        }
+        long[] ranking = Ranking.rank(ratings);
+        long[] ordered = new long[seeds.length];
+        for (int i = 0; i < ranking.length; i++) {
+            ordered[i] = seeds[Ranking.index(ranking[i])];
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,127 @@
+package com.paf.exercise.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.paf.exercise.event.ChangeType;
+import com.paf.exercise.event.PlayerChangedEvent;
+import com.paf.exercise.event.TournamentChangedEvent;
+import com.paf.exercise.exception.ResourceNotFoundException;
+import com.paf.exercise.model.PurgeJob;
+import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.repository.TournamentRepository;
+import com.paf.exercise.service.api.TournamentPurgeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static com.paf.exercise.service.impl.TournamentServiceImpl.TOURNAMENT_NOT_FOUND_ERROR;
+import static java.lang.String.format;
+
+/**
+ * Deletes the players of a tournament in the background, one chunk per short transaction, so no transaction holds
+ * the locks of the whole roster. Every chunk publishes the deletes of its players, the way a single delete does, so
+ * the name index and the counters follow the purge as it goes. The chunks go on until no player is left, even when a
+ * concurrent delete shrinks one of them. The tournament itself is deleted last, together with any players registered
+ * meanwhile; the job fails if the tournament has been deleted by someone else in the meantime.
+ */
+@Slf4j
+@Service
+public class TournamentPurgeServiceImpl implements TournamentPurgeService {
+    protected static final String PURGE_JOB_NOT_FOUND_ERROR = "The purge job with id: %s does not exist!";
+
+    private final TournamentRepository tournamentRepository;
+    private final PlayerRepository playerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final int chunkSize;
+    private final Cache<String, PurgeJob> jobs;
+
+    public TournamentPurgeServiceImpl(TournamentRepository tournamentRepository, PlayerRepository playerRepository,
+                                      ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                                      TaskExecutor taskExecutor,
+                                      @Value("${tournament.purge.chunk-size:1000}") int chunkSize,
+                                      @Value("${tournament.purge.job-retention:1h}") Duration jobRetention) {
+        this.tournamentRepository = tournamentRepository;
+        this.playerRepository = playerRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.chunkSize = chunkSize;
+        this.jobs = Caffeine.newBuilder().expireAfterWrite(jobRetention).build();
+    }
+
+    @Override
+    public PurgeJob purge(long tournamentId) {
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new ResourceNotFoundException(format(TOURNAMENT_NOT_FOUND_ERROR, tournamentId));
+        }
+        PurgeJob job = new PurgeJob(UUID.randomUUID().toString(), tournamentId);
+        jobs.put(job.getId(), job);
+        taskExecutor.execute(() -> run(job));
+        log.info(format("The purge job %s of the tournament %s has been started!", job.getId(), tournamentId));
+        return job;
+    }
+
+    @Override
+    public PurgeJob getJob(String jobId) {
+        PurgeJob job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException(format(PURGE_JOB_NOT_FOUND_ERROR, jobId));
+        }
+        return job;
+    }
+
+    private void run(PurgeJob job) {
+        long tournamentId = job.getTournamentId();
+        try {
+            Integer deleted;
+            while ((deleted = transactionTemplate.execute(status -> deleteChunk(tournamentId))) != null) {
+                job.playersDeleted(deleted);
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                int players = playerRepository.bulkDeleteByTournamentId(tournamentId);
+                if (tournamentRepository.bulkDeleteById(tournamentId) == 0) {
+                    throw new ResourceNotFoundException(format(TOURNAMENT_NOT_FOUND_ERROR, tournamentId));
+                }
+                job.playersDeleted(players);
+                eventPublisher.publishEvent(new TournamentChangedEvent(tournamentId, ChangeType.DELETED));
+            });
+            job.complete();
+            log.info(format("The purge job %s deleted the tournament %s and its %s players!", job.getId(),
+                    tournamentId, job.getDeletedPlayers()));
+        } catch (RuntimeException exception) {
+            job.fail(exception.getMessage());
+            log.error(format("The purge job %s of the tournament %s has failed!", job.getId(), tournamentId), exception);
+        }
+        jobs.put(job.getId(), job);
+    }
+
+    /**
+     * @return The number of players deleted, fewer than found if some have been deleted concurrently, null if the
+     * tournament has no players left.
+     */
+    private Integer deleteChunk(long tournamentId) {
+        List<Long> ids = playerRepository.findIdsByTournamentId(tournamentId, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return null;
+        }
+        List<Long> deleted = playerRepository.deleteByTournamentIdAndIdIn(tournamentId, ids);
+        tournamentRepository.incrementVersion(tournamentId);
+        for (long playerId : deleted) {
+            eventPublisher.publishEvent(new PlayerChangedEvent(playerId, tournamentId, null, ChangeType.DELETED));
+        }
+        eventPublisher.publishEvent(new TournamentChangedEvent(tournamentId, ChangeType.UPDATED));
+        return deleted.size();
+    }
+}
@@ -1,79 +1,136 @@
 package com.paf.exercise.service.impl;
 
+import com.paf.exercise.datasource.ReadFromPrimary;
+import com.paf.exercise.event.ChangeType;
+import com.paf.exercise.event.TournamentChangedEvent;
 import com.paf.exercise.exception.InvalidInputException;
+import com.paf.exercise.exception.PreconditionFailedException;
 import com.paf.exercise.exception.ResourceNotFoundException;
-import com.paf.exercise.model.Player;
+import com.paf.exercise.model.CursorPage;
+import com.paf.exercise.model.PlayerSummary;
 import com.paf.exercise.model.Tournament;
+import com.paf.exercise.model.TournamentDetails;
+import com.paf.exercise.model.TournamentSummary;
 import com.paf.exercise.repository.TournamentRepository;
 import com.paf.exercise.service.api.TournamentService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 
 @Slf4j
 @Service
 public class TournamentServiceImpl implements TournamentService {
     protected static final String TOURNAMENT_NOT_FOUND_ERROR = "The tournament with id: %s does not exist!";
+    protected static final String TOURNAMENT_VERSION_MISMATCH_ERROR = "The tournament with id: %s is no longer at version: %s!";
 
     private final TournamentRepository tournamentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TournamentServiceImpl(TournamentRepository tournamentRepository) {
+    public TournamentServiceImpl(TournamentRepository tournamentRepository, ApplicationEventPublisher eventPublisher) {
         this.tournamentRepository = tournamentRepository;
+        this.eventPublisher = eventPublisher;
     }
 
 
     @Transactional
     @Override
     public Tournament create(Tournament tournament) {
-        long id = tournament.getId();
-        if (tournamentRepository.existsById(id)) {
-            throw new InvalidInputException(String.format("The tournament is already created with id: %s!", id));
+        if (!tournamentRepository.insertIfAbsent(tournament)) {
+            throw new InvalidInputException(String.format("The tournament is already created with id: %s!", tournament.getId()));
         }
-        return tournamentRepository.save(tournament);
+        eventPublisher.publishEvent(new TournamentChangedEvent(tournament.getId(), ChangeType.CREATED));
+        return tournament;
     }
 
+    /**
+     * Issues exactly one SQL statement selecting only the tournament columns.
+     */
     @Transactional(readOnly = true)
     @Override
-    public List<Tournament> getTournaments() {
-        return tournamentRepository.findAll();
+    public CursorPage<TournamentSummary> getTournaments(String after, int limit) {
+        List<TournamentSummary> tournaments = tournamentRepository
+                .findSummaries(CursorPage.decode(after), PageRequest.of(0, limit + 1));
+        return CursorPage.of(tournaments, limit, TournamentSummary::getId);
     }
 
+    /**
+     * Locks the tournament before reading it, so no roster change can slip between the version check and the
+     * update. Returns a copy built inside the transaction, so the caller never touches the entity or its players
+     * after the commit.
+     */
     @Transactional
     @Override
-    public Tournament update(long id, Tournament tournament) {
+    public TournamentDetails update(long id, Tournament tournament, Long version) {
+        tournamentRepository.lockById(id);
         Tournament updatedTournament = tournamentRepository.findById(id)
                 .map(updateTournament -> {
+                    if (version != null && version != updateTournament.getVersion()) {
+                        throw new PreconditionFailedException(format(TOURNAMENT_VERSION_MISMATCH_ERROR, id, version));
+                    }
                     updateTournament.setRewardAmount(tournament.getRewardAmount());
-                    updateTournament.setPlayers(tournament.getPlayers());
-                    return tournamentRepository.save(tournament);
+                    return tournamentRepository.saveAndFlush(updateTournament);
                 }).orElseThrow(() -> new ResourceNotFoundException(format(TOURNAMENT_NOT_FOUND_ERROR, id)));
 
+        eventPublisher.publishEvent(new TournamentChangedEvent(id, ChangeType.UPDATED));
         log.info(format("The Tournament %s has been updated successfully!", id));
-        return updatedTournament;
+        return TournamentDetails.of(updatedTournament);
     }
 
+    /**
+     * Reads the version column only, so a conditional request can be answered without loading the players.
+     */
     @Transactional(readOnly = true)
     @Override
-    public Tournament getTournamentById(long id) {
-        return tournamentRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(format(TOURNAMENT_NOT_FOUND_ERROR, id)));
+    public long getVersion(long id) {
+        return tournamentRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(format(TOURNAMENT_NOT_FOUND_ERROR, id)));
     }
 
+    /**
+     * Reads from the primary, so the tournament is never older than a version read before. Returns an immutable
+     * copy of the tournament and its players rather than the entity, so the copy can be serialized later without a
+     * persistence context.
+     */
+    @ReadFromPrimary
+    @Transactional(readOnly = true)
+    @Override
+    public TournamentDetails getTournamentById(long id) {
+        Tournament tournament = tournamentRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(format(TOURNAMENT_NOT_FOUND_ERROR, id)));
+        return TournamentDetails.of(tournament);
+    }
+
+    /**
+     * Deletes the tournament and its players with one statement, without loading any of them.
+     */
     @Transactional
     @Override
     public void delete(long id) {
-       tournamentRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(format(TOURNAMENT_NOT_FOUND_ERROR, id)));
-       tournamentRepository.deleteById(id);
-       log.info(format("The tournament with id:%s is deleted from the tournament!", id));
+        if (tournamentRepository.deleteWithPlayersById(id) == 0) {
+            throw new ResourceNotFoundException(format(TOURNAMENT_NOT_FOUND_ERROR, id));
+        }
+        eventPublisher.publishEvent(new TournamentChangedEvent(id, ChangeType.DELETED));
+        log.info(format("The tournament with id:%s is deleted from the tournament!", id));
     }
 
+    /**
+     * Issues exactly one SQL statement, which both checks that the tournament exists and selects the page of
+     * player IDs and names. The roster route reads the version for its ETag first, so a request issues two.
+     */
     @Transactional(readOnly = true)
     @Override
-    public List<Player> getPlayers(long id) {
-        Tournament tournament = getTournamentById(id);
-        return tournament.getPlayers();
+    public CursorPage<PlayerSummary> getPlayers(long id, String after, int limit) {
+        List<PlayerSummary> rows = tournamentRepository.findRoster(id, CursorPage.decode(after), PageRequest.of(0, limit + 1));
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException(format(TOURNAMENT_NOT_FOUND_ERROR, id));
+        }
+        List<PlayerSummary> players = rows.stream().filter(player -> player.getId() != null).collect(toList());
+        return CursorPage.of(players, limit, PlayerSummary::getId);
     }
 }
@@ -0,0 +1,50 @@
+package com.paf.exercise.service.impl;
+
+import com.paf.exercise.exception.ResourceNotFoundException;
+import com.paf.exercise.model.TournamentStats;
+import com.paf.exercise.model.TournamentTotals;
+import com.paf.exercise.repository.TournamentStatsRepository;
+import com.paf.exercise.service.api.TournamentStatsService;
+import com.paf.exercise.stats.TournamentStatsCollector;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.paf.exercise.service.impl.TournamentServiceImpl.TOURNAMENT_NOT_FOUND_ERROR;
+import static java.lang.String.format;
+
+/**
+ * Serves the counters maintained by the {@link TournamentStatsCollector}, reading a row by its key instead of
+ * counting the players.
+ */
+@Slf4j
+@Service
+public class TournamentStatsServiceImpl implements TournamentStatsService {
+    private final TournamentStatsRepository statsRepository;
+    private final TournamentStatsCollector statsCollector;
+
+    public TournamentStatsServiceImpl(TournamentStatsRepository statsRepository, TournamentStatsCollector statsCollector) {
+        this.statsRepository = statsRepository;
+        this.statsCollector = statsCollector;
+    }
+
+    /**
+     * The player count includes the changes this instance has not flushed yet, so a client sees its own
+     * registrations at once.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public TournamentStats getStats(long tournamentId) {
+        return statsCollector.readStats(tournamentId, statsRepository::findStatsById)
+                .orElseThrow(() -> new ResourceNotFoundException(format(TOURNAMENT_NOT_FOUND_ERROR, tournamentId)));
+    }
+
+    /**
+     * The totals are as of the last flush.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public TournamentTotals getTotals() {
+        return statsRepository.findTotals().orElseGet(() -> new TournamentTotals(TournamentTotals.ID, 0, 0, 0));
+    }
+}
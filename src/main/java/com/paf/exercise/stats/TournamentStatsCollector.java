@@ -0,0 +1,273 @@
+package com.paf.exercise.stats;
+
+import com.paf.exercise.event.ChangeType;
+import com.paf.exercise.event.PlayerChangedEvent;
+import com.paf.exercise.event.TournamentChangedEvent;
+import com.paf.exercise.model.TournamentStats;
+import com.paf.exercise.model.TournamentStatsChanges;
+import com.paf.exercise.model.TournamentStatsCorrection;
+import com.paf.exercise.repository.TournamentStatsRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongFunction;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Maintains the counters of the tournaments incrementally. The committed changes are only added to striped counters
+ * in memory, which costs a writer no lock and no statement; a background thread flushes what has accumulated to the
+ * stats tables, in one transaction whatever the number of changes, and a slower job recounts everything from the
+ * tournaments and players to correct what the increments missed, such as the changes of another instance that died
+ * before flushing or the players removed by a purge still in progress.
+ */
+@Slf4j
+@Component
+public class TournamentStatsCollector implements DisposableBean {
+    /**
+     * An entry stays when it flushes to zero, and only goes with its tournament: a listener may still be about to
+     * add to the counter it has just looked up, and that change would be lost with a removed entry.
+     */
+    private final Map<Long, LongAdder> playerDeltas = new ConcurrentHashMap<>();
+    private final Set<Long> created = ConcurrentHashMap.newKeySet();
+    private final Set<Long> updated = ConcurrentHashMap.newKeySet();
+    private final Set<Long> deleted = ConcurrentHashMap.newKeySet();
+    /**
+     * The tournaments changed while a reconciliation is running, null otherwise.
+     */
+    private volatile Set<Long> touched;
+    /**
+     * Held for writing while a flush has taken changes it has not committed yet, which are then in neither the
+     * counters nor the tables.
+     */
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    private final TournamentStatsRepository statsRepository;
+    private final Duration flushInterval;
+    private final Duration reconcileInterval;
+    private volatile ScheduledExecutorService scheduler;
+
+    public TournamentStatsCollector(TournamentStatsRepository statsRepository, MeterRegistry meterRegistry,
+                                    @Value("${tournament.stats.flush-interval:1s}") Duration flushInterval,
+                                    @Value("${tournament.stats.reconcile-interval:10m}") Duration reconcileInterval) {
+        this.statsRepository = statsRepository;
+        this.flushInterval = flushInterval;
+        this.reconcileInterval = reconcileInterval;
+        Gauge.builder("tournament.stats.pending", this, collector -> collector.pendingPlayerDeltas()
+                        + collector.created.size() + collector.updated.size() + collector.deleted.size())
+                .description("Tournaments with changes not flushed to their counters yet")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerChanged(PlayerChangedEvent event) {
+        touch(event.getTournamentId());
+        if (event.getType() == ChangeType.CREATED) {
+            playerDeltas.computeIfAbsent(event.getTournamentId(), id -> new LongAdder()).increment();
+        } else if (event.getType() == ChangeType.DELETED) {
+            playerDeltas.computeIfAbsent(event.getTournamentId(), id -> new LongAdder()).decrement();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTournamentChanged(TournamentChangedEvent event) {
+        touch(event.getTournamentId());
+        switch (event.getType()) {
+            case CREATED:
+                created.add(event.getTournamentId());
+                break;
+            case UPDATED:
+                updated.add(event.getTournamentId());
+                break;
+            case DELETED:
+                // The players went with the tournament, their pending changes would only count them twice.
+                playerDeltas.remove(event.getTournamentId());
+                deleted.add(event.getTournamentId());
+                break;
+        }
+    }
+
+    /**
+     * Reads the flushed counters of a tournament and adds the player changes this instance has not flushed yet, so
+     * a client sees its own registrations at once. No flush runs in between, so a change is counted exactly once.
+     *
+     * @param reader - Reads the flushed counters, empty if the tournament does not exist.
+     */
+    public Optional<TournamentStats> readStats(long tournamentId, LongFunction<Optional<TournamentStats>> reader) {
+        flushLock.readLock().lock();
+        try {
+            Optional<TournamentStats> stats = reader.apply(tournamentId);
+            stats.ifPresent(flushed ->
+                    flushed.setPlayerCount(flushed.getPlayerCount() + getPendingPlayers(tournamentId)));
+            return stats;
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the change of the player count of the tournament not flushed yet by this instance.
+     */
+    long getPendingPlayers(long tournamentId) {
+        LongAdder delta = playerDeltas.get(tournamentId);
+        return delta == null ? 0 : delta.sum();
+    }
+
+    private long pendingPlayerDeltas() {
+        return playerDeltas.values().stream().filter(delta -> delta.sum() != 0).count();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tournament-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler = executor;
+        executor.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::reconcileQuietly, reconcileInterval.toMillis(), reconcileInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background thread and flushes what is still pending, before the repositories are shut down.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        ScheduledExecutorService executor = scheduler;
+        scheduler = null;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor.awaitTermination(flushInterval.toMillis() + 1000, TimeUnit.MILLISECONDS);
+        }
+        flushQuietly();
+    }
+
+    /**
+     * Applies the changes accumulated since the last flush. The counters are taken by subtracting what they held, so
+     * the increments racing with the flush are kept for the next one; if the flush fails, what was taken is put
+     * back.
+     *
+     * @return whether there was anything to flush.
+     */
+    public synchronized boolean flush() {
+        flushLock.writeLock().lock();
+        try {
+            return flushLocked();
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    private boolean flushLocked() {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Iterator<Map.Entry<Long, LongAdder>> entries = playerDeltas.entrySet().iterator(); entries.hasNext(); ) {
+            Map.Entry<Long, LongAdder> entry = entries.next();
+            long delta = entry.getValue().sum();
+            if (delta != 0) {
+                entry.getValue().add(-delta);
+                deltas.put(entry.getKey(), delta);
+            }
+        }
+        TournamentStatsChanges changes = new TournamentStatsChanges(take(created), deltas, take(updated), take(deleted));
+        if (changes.isEmpty()) {
+            return false;
+        }
+        try {
+            statsRepository.applyChanges(changes);
+        } catch (RuntimeException exception) {
+            deltas.forEach((id, delta) -> playerDeltas.computeIfAbsent(id, key -> new LongAdder()).add(delta));
+            created.addAll(changes.getCreated());
+            updated.addAll(changes.getUpdated());
+            deleted.addAll(changes.getDeleted());
+            throw exception;
+        }
+        return true;
+    }
+
+    /**
+     * Flushes what is pending, recounts every counter and corrects the ones that disagree, except those of the
+     * tournaments changed since the flush: the recount may already include such a change while its increment is
+     * still pending, so they are left to the increments and the next reconciliation. A change committed before the
+     * recount whose listener only runs after the corrections have been chosen is still counted twice, until the
+     * next reconciliation.
+     *
+     * @return the number of tournaments whose counters were corrected.
+     */
+    public synchronized int reconcile() {
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        touched = changed;
+        List<TournamentStatsCorrection> corrections;
+        try {
+            flush();
+            corrections = statsRepository.findCorrections();
+        } finally {
+            touched = null;
+        }
+        List<TournamentStatsCorrection> applied = corrections.stream()
+                .filter(correction -> !changed.contains(correction.getTournamentId()))
+                .collect(toList());
+        statsRepository.applyCorrections(applied);
+        return applied.size();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException exception) {
+            log.error("The flush of the tournament stats has failed!", exception);
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            int corrected = reconcile();
+            if (corrected > 0) {
+                log.warn(format("The reconciliation corrected the stats of %s tournaments!", corrected));
+            }
+        } catch (RuntimeException exception) {
+            log.error("The reconciliation of the tournament stats has failed!", exception);
+        }
+    }
+
+    private void touch(long tournamentId) {
+        Set<Long> changed = touched;
+        if (changed != null) {
+            changed.add(tournamentId);
+        }
+    }
+
+    private static Set<Long> take(Set<Long> ids) {
+        Set<Long> taken = new HashSet<>();
+        for (Iterator<Long> iterator = ids.iterator(); iterator.hasNext(); ) {
+            taken.add(iterator.next());
+            iterator.remove();
+        }
+        return taken;
+    }
+}
@@ -0,0 +1,70 @@
+-- The schema as Hibernate created it before the migrations; existing databases are baselined at this version.
+create sequence player_seq start 1 increment 50;
+
+create table tournament (
+    id            bigserial not null,
+    reward_amount int4,
+    version       int8,
+    primary key (id)
+);
+
+create table player (
+    id            int8         not null,
+    name          varchar(255),
+    rating        float8,
+    tournament_id int8         not null,
+    primary key (id)
+);
+
+create table payout (
+    player_id     int8 not null,
+    amount        int8,
+    place         int4,
+    position      int8,
+    tournament_id int8,
+    primary key (player_id)
+);
+
+create table schedule (
+    tournament_id int8         not null,
+    format        varchar(255) not null,
+    matches       int8,
+    players       int4,
+    rounds        int4,
+    seeds         bytea        not null,
+    primary key (tournament_id)
+);
+
+create table match (
+    id             bigserial    not null,
+    away_player_id int8,
+    away_source    varchar(255),
+    bracket        varchar(255) not null,
+    home_player_id int8,
+    home_source    varchar(255),
+    number         int8,
+    round          int4,
+    tournament_id  int8,
+    primary key (id)
+);
+
+create table outbox_event (
+    id            bigserial    not null,
+    created_at    timestamp    not null,
+    name          varchar(255),
+    player_id     int8,
+    tournament_id int8         not null,
+    type          varchar(255) not null,
+    primary key (id)
+);
+
+create index IDXpw5jw69cxa61yarptf0vjw3e9 on match (tournament_id, round, number);
+
+alter table match add constraint UKkk5yom5oxlktfxsnfiqgbma5u unique (tournament_id, number);
+alter table payout add constraint UK3lqc6pvr2r5flftvb2fjiscgr unique (tournament_id, position);
+
+alter table player add constraint FKe9ti76i6yvfpk4364xvs8l5mf foreign key (tournament_id) references tournament;
+alter table payout add constraint FK8pm55dyhojcltspqpnrwd7uu4 foreign key (tournament_id) references tournament on delete cascade;
+alter table payout add constraint FKrsj4oexoq97oafio7avgi7rv6 foreign key (player_id) references player on delete cascade;
+alter table schedule add constraint FKfo1krcci9h4m3rny80sb94m4f foreign key (tournament_id) references tournament on delete cascade;
+alter table match add constraint FK3o2flmlku9l351xpvof8aw8oi foreign key (tournament_id) references tournament on delete cascade;
@@ -0,0 +1,6 @@
+-- The players by name, for findByName.
+create index player_name_idx on player (name);
+
+-- The roster of a tournament in ID order, for the roster queries, the cursor pages, the purge and the foreign key
+-- checks of a tournament delete; the ID makes the ordered pages a range scan without a sort.
+create index player_tournament_id_idx on player (tournament_id, id);
@@ -0,0 +1,36 @@
+-- The players are hash-partitioned by tournament: every query of a roster, and the delete of a tournament's players,
+-- is pruned to the one partition holding the tournament. A partition key must be part of every unique constraint,
+-- so the primary key becomes (tournament_id, id); it also serves the roster lookups in ID order, replacing
+-- player_tournament_id_idx. The IDs stay unique through player_seq.
+create table player_partitioned (
+    id            int8         not null,
+    name          varchar(255),
+    rating        float8,
+    tournament_id int8         not null,
+    primary key (tournament_id, id)
+) partition by hash (tournament_id);
+
+do $$
+begin
+    for remainder in 0..15 loop
+        execute format('create table player_%s partition of player_partitioned for values with (modulus 16, remainder %s)',
+                       remainder, remainder);
+    end loop;
+end
+$$;
+
+insert into player_partitioned (id, name, rating, tournament_id)
+select id, name, rating, tournament_id from player;
+
+-- Drops the foreign key of the payouts too; it is added back on the new key.
+drop table player cascade;
+alter table player_partitioned rename to player;
+alter index player_partitioned_pkey rename to player_pkey;
+
+create index player_name_idx on player (name);
+-- The lookups by ID alone, which probe the index of every partition.
+create index player_id_idx on player (id);
+
+alter table player add constraint FKe9ti76i6yvfpk4364xvs8l5mf foreign key (tournament_id) references tournament;
+alter table payout add constraint payout_player_fk foreign key (tournament_id, player_id)
+    references player (tournament_id, id) on delete cascade;
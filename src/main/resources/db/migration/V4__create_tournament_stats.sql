@@ -0,0 +1,28 @@
+-- The counters of the tournaments, maintained incrementally by the stats collector and reconciled periodically.
+-- A row outlives its tournament until the next flush, which subtracts it from the totals, so there is no foreign key.
+create table tournament_stats (
+    tournament_id int8 not null,
+    player_count  int8 not null,
+    reward_amount int4 not null,
+    primary key (tournament_id)
+);
+
+-- The totals over all the tournaments, a single row.
+create table tournament_totals (
+    id               int4 not null,
+    tournament_count int8 not null,
+    player_count     int8 not null,
+    reward_total     int8 not null,
+    primary key (id),
+    check (id = 1)
+);
+
+insert into tournament_stats (tournament_id, player_count, reward_amount)
+select t.id, count(p.id), coalesce(t.reward_amount, 0)
+from tournament t
+         left join player p on p.tournament_id = t.id
+group by t.id;
+
+insert into tournament_totals (id, tournament_count, player_count, reward_total)
+select 1, count(*), coalesce(sum(player_count), 0), coalesce(sum(reward_amount), 0)
+from tournament_stats;
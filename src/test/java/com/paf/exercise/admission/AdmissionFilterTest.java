@@ -0,0 +1,75 @@
+package com.paf.exercise.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionFilterTest {
+    private final AtomicInteger calls = new AtomicInteger();
+    private final FilterChain chain = (request, response) -> calls.incrementAndGet();
+    private ConcurrencyLimiter concurrencyLimiter;
+    private AdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimiter rateLimiter = new RateLimiter(1, 2, 0.5, 1, 100, Duration.ofMinutes(1));
+        concurrencyLimiter = new ConcurrencyLimiter(new SimpleMeterRegistry(), 1, 1, 1, Duration.ofSeconds(1), 0.9);
+        filter = new AdmissionFilter(rateLimiter, concurrencyLimiter, new ObjectMapper(), new SimpleMeterRegistry(),
+                "X-Client-Id", Duration.ofSeconds(3));
+    }
+
+    @Test
+    void testFilter_withRateLimitedClient() throws ServletException, IOException {
+        assertThat(perform("GET", "alice").getStatus()).isEqualTo(200);
+        assertThat(perform("GET", "alice").getStatus()).isEqualTo(200);
+        MockHttpServletResponse response = perform("GET", "alice");
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getContentAsString()).contains(AdmissionFilter.RATE_LIMITED_ERROR);
+        assertThat(perform("GET", "bob").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "alice").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "alice").getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    void testFilter_whenOverloaded() throws ServletException, IOException {
+        concurrencyLimiter.tryAcquire();
+        MockHttpServletResponse response = perform("GET", "alice");
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void testFilter_outsideOfApi() throws ServletException, IOException {
+        concurrencyLimiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(calls).hasValue(1);
+    }
+
+    private MockHttpServletResponse perform(String method, String client) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/tournaments");
+        request.addHeader("X-Client-Id", client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
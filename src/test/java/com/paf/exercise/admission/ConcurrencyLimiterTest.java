@@ -0,0 +1,58 @@
+package com.paf.exercise.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimiterTest {
+    private static final long TARGET = Duration.ofMillis(100).toNanos();
+
+    private ConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new ConcurrencyLimiter(new SimpleMeterRegistry(), 4, 2, 5, Duration.ofNanos(TARGET), 0.5);
+    }
+
+    @Test
+    void testTryAcquire() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(-1, System.nanoTime());
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void testRelease_withSlowRequests() {
+        long now = System.nanoTime();
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.release(TARGET + 1, now + TARGET);
+        limiter.release(TARGET + 1, now + TARGET + 1);
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        limiter.tryAcquire();
+        limiter.release(TARGET + 1, now + 3 * TARGET);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void testRelease_withFastRequests() {
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 4; i++) {
+            limiter.release(1, System.nanoTime());
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+}
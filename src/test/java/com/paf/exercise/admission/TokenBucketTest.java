@@ -0,0 +1,32 @@
+package com.paf.exercise.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    @Test
+    void testTryAcquire() {
+        TokenBucket bucket = new TokenBucket(100, 3, 1_000);
+
+        assertThat(bucket.tryAcquire(1_000)).isZero();
+        assertThat(bucket.tryAcquire(1_000)).isZero();
+        assertThat(bucket.tryAcquire(1_000)).isZero();
+        assertThat(bucket.tryAcquire(1_000)).isEqualTo(100);
+        assertThat(bucket.tryAcquire(1_050)).isEqualTo(50);
+        assertThat(bucket.tryAcquire(1_100)).isZero();
+        assertThat(bucket.tryAcquire(1_100)).isEqualTo(100);
+    }
+
+    @Test
+    void testTryAcquire_afterIdling() {
+        TokenBucket bucket = new TokenBucket(100, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.tryAcquire(10_000)).isZero();
+        assertThat(bucket.tryAcquire(10_000)).isZero();
+        assertThat(bucket.tryAcquire(10_000)).isPositive();
+    }
+}
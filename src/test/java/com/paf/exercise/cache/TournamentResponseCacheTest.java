@@ -0,0 +1,96 @@
+package com.paf.exercise.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paf.exercise.model.Tournament;
+import com.paf.exercise.model.TournamentDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TournamentResponseCacheTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger loads = new AtomicInteger();
+    private TournamentResponseCache responseCache;
+    private Tournament tournament;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new TournamentResponseCache(objectMapper, new SimpleMeterRegistry(), DataSize.ofKilobytes(1), true);
+        tournament = Tournament.builder().id(1L).rewardAmount(200).version(3L).build();
+    }
+
+    @Test
+    void testGet() throws IOException {
+        EncodedTournament encoded = responseCache.get(1L, 3L, loader());
+
+        assertThat(encoded.getVersion()).isEqualTo(3L);
+        assertThat(objectMapper.readValue(encoded.getJson(), Tournament.class).getRewardAmount()).isEqualTo(200);
+        assertThat(StreamUtils.copyToByteArray(new GZIPInputStream(new ByteArrayInputStream(encoded.getGzip()))))
+                .isEqualTo(encoded.getJson());
+        assertThat(responseCache.get(1L, 3L, loader())).isSameAs(encoded);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void testGet_withNewVersion() {
+        EncodedTournament encoded = responseCache.get(1L, 3L, loader());
+        tournament.setVersion(4L);
+
+        assertThat(responseCache.get(1L, 4L, loader()).getVersion()).isEqualTo(4L);
+        assertThat(responseCache.get(1L, 4L, loader())).isNotSameAs(encoded);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testGet_withStaleLoad() {
+        tournament.setVersion(4L);
+        responseCache.get(1L, 4L, loader());
+        tournament.setVersion(3L);
+
+        assertThat(responseCache.get(1L, 3L, loader()).getVersion()).isEqualTo(3L);
+        assertThat(responseCache.get(1L, 4L, loader()).getVersion()).isEqualTo(4L);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testInvalidate() {
+        responseCache.get(1L, 3L, loader());
+        responseCache.invalidate(1L);
+        responseCache.get(1L, 3L, loader());
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testGet_withoutGzip() {
+        responseCache = new TournamentResponseCache(objectMapper, new SimpleMeterRegistry(), DataSize.ofKilobytes(1), false);
+
+        assertThat(responseCache.get(1L, 3L, loader()).getGzip()).isNull();
+    }
+
+    @Test
+    void testAcceptsGzip() {
+        assertThat(TournamentResponseCache.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(TournamentResponseCache.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(TournamentResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(TournamentResponseCache.acceptsGzip("br")).isFalse();
+        assertThat(TournamentResponseCache.acceptsGzip(null)).isFalse();
+    }
+
+    private LongFunction<TournamentDetails> loader() {
+        return id -> {
+            loads.incrementAndGet();
+            return TournamentDetails.of(tournament);
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.paf.exercise.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Drops everything before migrating, so every test context sees an empty schema the way ddl-auto=create used to
+ * give the tests one. It only exists in the tests, which import it, so no application can clean its database.
+ */
+@TestConfiguration
+public class SchemaCleanConfig {
+
+    @Bean
+    public FlywayMigrationStrategy cleanMigrationStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
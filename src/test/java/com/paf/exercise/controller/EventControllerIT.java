@@ -0,0 +1,118 @@
+package com.paf.exercise.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paf.exercise.config.SchemaCleanConfig;
+import com.paf.exercise.model.Tournament;
+import com.paf.exercise.repository.OutboxRepository;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Import(SchemaCleanConfig.class)
+class EventControllerIT {
+
+    private static final String API_EVENTS = "/api/events";
+    private static final String JSON_CONTENT_TYPE = "application/json";
+    private static final long TOURNAMENT_ID = 400;
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    private long offset;
+
+    @SneakyThrows
+    @BeforeEach
+    public void setUp() {
+        offset = outboxRepository.findLastId();
+        Tournament tournament = Tournament.builder().id(TOURNAMENT_ID).rewardAmount(200).build();
+        mockMvc.perform(post("/api/tournaments")
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(objectMapper.writeValueAsString(tournament)))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/tournaments/{id}/players:bulk", TOURNAMENT_ID)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content("[{\"name\": \"Streamed\"}]"))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    @AfterEach
+    public void cleanUp() {
+        mockMvc.perform(delete("/api/tournaments/{id}", TOURNAMENT_ID))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    @Test
+    void getEvents_afterOffset() {
+        MockHttpServletResponse response = mockMvc.perform(get(API_EVENTS).param("after", String.valueOf(offset)))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        String stream = awaitContent(response, "event:player");
+
+        assertThat(response.getContentType()).startsWith("text/event-stream");
+        assertThat(stream).contains("event:tournament", "\"tournamentId\":" + TOURNAMENT_ID, "\"type\":\"CREATED\"",
+                "\"name\":\"Streamed\"");
+        assertThat(stream.indexOf("event:tournament")).isLessThan(stream.indexOf("event:player"));
+    }
+
+    @SneakyThrows
+    @Test
+    void getEvents_withLastEventId() {
+        long tournamentEventId = outboxRepository.findAfter(offset, Pageable.ofSize(1))
+                .get(0).getId();
+
+        MockHttpServletResponse response = mockMvc.perform(get(API_EVENTS)
+                        .header(EventController.LAST_EVENT_ID, tournamentEventId)
+                        .param("after", String.valueOf(offset)))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        String stream = awaitContent(response, "event:player");
+
+        assertThat(stream).doesNotContain("event:tournament");
+        assertThat(stream).contains("id:" + (tournamentEventId + 1));
+    }
+
+    @SneakyThrows
+    private static String awaitContent(MockHttpServletResponse response, String expected) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        String content = response.getContentAsString(StandardCharsets.UTF_8);
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            content = response.getContentAsString(StandardCharsets.UTF_8);
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+}
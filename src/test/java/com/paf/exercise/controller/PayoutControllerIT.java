@@ -0,0 +1,129 @@
+package com.paf.exercise.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paf.exercise.config.SchemaCleanConfig;
+import com.paf.exercise.model.Player;
+import com.paf.exercise.model.PlayerRegistrationResult;
+import com.paf.exercise.model.PayoutCurveType;
+import com.paf.exercise.model.PayoutRequest;
+import com.paf.exercise.model.Tournament;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.paf.exercise.controller.TournamentControllerIT.*;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Import(SchemaCleanConfig.class)
+class PayoutControllerIT {
+
+    public static final String API_PAYOUTS_URL_TEMPLATE = TOURNAMENTS_ID_URL_TEMPLATE + "/payouts";
+    private static final long TOURNAMENT_ID = 40L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long[] playerIds;
+
+    @SneakyThrows
+    @BeforeEach
+    public void setUp() {
+        Tournament tournament = Tournament.builder().id(TOURNAMENT_ID).rewardAmount(100).build();
+        mockMvc.perform(post(API_TOURNAMENTS)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(objectMapper.writeValueAsString(tournament)))
+                .andExpect(status().isOk());
+
+        List<Player> players = Arrays.asList(Player.builder().name("First").build(),
+                Player.builder().name("Second").build(), Player.builder().name("Third").build());
+        String results = mockMvc.perform(post(TOURNAMENTS_ID_URL_TEMPLATE + "/players:bulk", TOURNAMENT_ID)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(objectMapper.writeValueAsString(players)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        playerIds = objectMapper.readValue(results, new TypeReference<List<PlayerRegistrationResult>>() {
+        }).stream().mapToLong(PlayerRegistrationResult::getId).toArray();
+    }
+
+    @SneakyThrows
+    @AfterEach
+    public void cleanUp() {
+        mockMvc.perform(delete(TOURNAMENTS_ID_URL_TEMPLATE, TOURNAMENT_ID)
+                        .contentType(JSON_CONTENT_TYPE))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    @Test
+    void distribute() {
+        PayoutRequest request = PayoutRequest.builder().curve(PayoutCurveType.GEOMETRIC).places(2).ratio(0.5)
+                .playerIds(playerIds).scores(new double[]{1, 3, 2}).build();
+        mockMvc.perform(post(API_PAYOUTS_URL_TEMPLATE, TOURNAMENT_ID)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paidPlayers").value(2))
+                .andExpect(jsonPath("$.paidAmount").value(100));
+
+        mockMvc.perform(get(API_PAYOUTS_URL_TEMPLATE, TOURNAMENT_ID).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].playerId").value(playerIds[1]))
+                .andExpect(jsonPath("$.items[0].amount").value(67));
+    }
+
+    @SneakyThrows
+    @Test
+    void distribute_withNotRegisteredPlayer() {
+        PayoutRequest request = PayoutRequest.builder().curve(PayoutCurveType.WINNER_TAKES_ALL)
+                .playerIds(new long[]{Long.MAX_VALUE}).scores(new double[]{1}).build();
+        mockMvc.perform(post(API_PAYOUTS_URL_TEMPLATE, TOURNAMENT_ID)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @SneakyThrows
+    @Test
+    void distribute_withEmptyContent() {
+        mockMvc.perform(post(API_PAYOUTS_URL_TEMPLATE, TOURNAMENT_ID)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @SneakyThrows
+    @Test
+    void getPayouts_withoutPayouts() {
+        mockMvc.perform(get(API_PAYOUTS_URL_TEMPLATE, TOURNAMENT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @SneakyThrows
+    @Test
+    void getPayouts_withNotExistingTournament() {
+        mockMvc.perform(get(API_PAYOUTS_URL_TEMPLATE, 0))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,6 +1,9 @@
 package com.paf.exercise.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.paf.exercise.config.SchemaCleanConfig;
+import com.paf.exercise.idempotency.IdempotencyFilter;
 import com.paf.exercise.model.Tournament;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.AfterEach;
@@ -10,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -19,12 +23,15 @@ import javax.validation.ConstraintViolationException;
 import static com.paf.exercise.controller.TournamentControllerIT.*;
 import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.hamcrest.Matchers.oneOf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
+@Import(SchemaCleanConfig.class)
 class PlayerControllerIT {
 
     public static final String API_PLAYERS_URL_TEMPLATE = "/api/players";
@@ -81,6 +88,37 @@ class PlayerControllerIT {
                 .andExpect(status().isOk());
     }
 
+    @SneakyThrows
+    @Test
+    public void createPlayers() {
+        String results = mockMvc.perform(post(TOURNAMENTS_ID_URL_TEMPLATE + "/players:bulk", 1)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content("[{\"name\": \"Bulk1\"}, {\"name\": \"Bulk2\"}, {\"name\": \"\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].id").isNumber())
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].id").isNumber())
+                .andExpect(jsonPath("$[2].index").value(2))
+                .andExpect(jsonPath("$[2].status").value("REJECTED"))
+                .andExpect(jsonPath("$[2].id").doesNotExist())
+                .andExpect(jsonPath("$[2].message").value("The name object is required!"))
+                .andReturn().getResponse().getContentAsString();
+        Integer first = JsonPath.read(results, "$[0].id");
+        Integer second = JsonPath.read(results, "$[1].id");
+
+        mockMvc.perform(get(API_PLAYERS_URL_TEMPLATE)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .param("tournament_id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[?(@.id == " + first + ")].name").value("Bulk1"))
+                .andExpect(jsonPath("$[?(@.id == " + second + ")].name").value("Bulk2"));
+    }
+
     @SneakyThrows
     @Test
     public void testCreatePlayer_withEmptyContent() {
@@ -97,6 +135,62 @@ class PlayerControllerIT {
     }
 
 
+    @SneakyThrows
+    @Test
+    public void testCreatePlayer_withIdempotencyKey() {
+        String player = "{\"name\": \"Retried\", \"tournament\": {\"id\": 1}}";
+        Integer id = JsonPath.read(mockMvc.perform(post(API_PLAYERS_URL_TEMPLATE)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, "create-player-retried")
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(player))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), "$.id");
+
+        mockMvc.perform(post(API_PLAYERS_URL_TEMPLATE)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, "create-player-retried")
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(player))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id));
+
+        mockMvc.perform(get(API_PLAYERS_URL_TEMPLATE)
+                        .param("name", "Retried"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @SneakyThrows
+    @Test
+    public void testRegisterPlayer() {
+        String location = mockMvc.perform(post(API_PLAYERS_URL_TEMPLATE)
+                        .param("async", "true")
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content("{\"name\": \"Queued\", \"tournament\": {\"id\": 1}}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value(oneOf("PENDING", "CREATED")))
+                .andReturn().getResponse().getHeader("Location");
+
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String status = JsonPath.read(mockMvc.perform(get(requireNonNull(location)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), "$.status");
+            if (!"PENDING".equals(status)) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        mockMvc.perform(get(location))
+                .andExpect(jsonPath("$.status").value("CREATED"))
+                .andExpect(jsonPath("$.playerId").isNumber());
+    }
+
+    @SneakyThrows
+    @Test
+    public void testGetRegistration_withNotExistingId() {
+        mockMvc.perform(get(API_PLAYERS_URL_TEMPLATE + "/registrations/{registrationId}", "unknown"))
+                .andExpect(status().isNotFound());
+    }
+
     @SneakyThrows
     @Test
     public void testGetPlayerName() {
@@ -0,0 +1,111 @@
+package com.paf.exercise.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paf.exercise.config.SchemaCleanConfig;
+import com.paf.exercise.model.MatchResults;
+import com.paf.exercise.model.Player;
+import com.paf.exercise.model.PlayerRegistrationResult;
+import com.paf.exercise.model.Tournament;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.paf.exercise.controller.PlayerControllerIT.API_PLAYERS_URL_TEMPLATE;
+import static com.paf.exercise.controller.TournamentControllerIT.*;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Import(SchemaCleanConfig.class)
+class RatingControllerIT {
+
+    public static final String API_RESULTS_URL_TEMPLATE = TOURNAMENTS_ID_URL_TEMPLATE + "/results";
+    private static final long TOURNAMENT_ID = 60L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long[] playerIds;
+
+    @SneakyThrows
+    @BeforeEach
+    public void setUp() {
+        Tournament tournament = Tournament.builder().id(TOURNAMENT_ID).rewardAmount(100).build();
+        mockMvc.perform(post(API_TOURNAMENTS)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(objectMapper.writeValueAsString(tournament)))
+                .andExpect(status().isOk());
+
+        List<Player> players = Arrays.asList(Player.builder().name("First").build(), Player.builder().name("Second").build());
+        String results = mockMvc.perform(post(TOURNAMENTS_ID_URL_TEMPLATE + "/players:bulk", TOURNAMENT_ID)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(objectMapper.writeValueAsString(players)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        playerIds = objectMapper.readValue(results, new TypeReference<List<PlayerRegistrationResult>>() {
+        }).stream().mapToLong(PlayerRegistrationResult::getId).toArray();
+    }
+
+    @SneakyThrows
+    @AfterEach
+    public void cleanUp() {
+        mockMvc.perform(delete(TOURNAMENTS_ID_URL_TEMPLATE, TOURNAMENT_ID)
+                        .contentType(JSON_CONTENT_TYPE))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    @Test
+    void reportResults() {
+        MatchResults results = MatchResults.builder().homePlayerIds(new long[]{playerIds[0]})
+                .awayPlayerIds(new long[]{playerIds[1]}).scores(new double[]{1}).build();
+        mockMvc.perform(post(API_RESULTS_URL_TEMPLATE, TOURNAMENT_ID)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(objectMapper.writeValueAsString(results)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updatedPlayers").value(2));
+
+        mockMvc.perform(get(API_PLAYERS_URL_TEMPLATE).param("tournament_id", String.valueOf(TOURNAMENT_ID)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].rating", containsInAnyOrder(1516.0, 1484.0)));
+    }
+
+    @SneakyThrows
+    @Test
+    void reportResults_withNotExistingTournament() {
+        MatchResults results = MatchResults.builder().homePlayerIds(new long[]{1L})
+                .awayPlayerIds(new long[]{2L}).scores(new double[]{1}).build();
+        mockMvc.perform(post(API_RESULTS_URL_TEMPLATE, 0)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(objectMapper.writeValueAsString(results)))
+                .andExpect(status().isNotFound());
+    }
+
+    @SneakyThrows
+    @Test
+    void reportResults_withEmptyContent() {
+        mockMvc.perform(post(API_RESULTS_URL_TEMPLATE, TOURNAMENT_ID)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,11 @@
+package com.paf.exercise.controller;
+
+import com.paf.exercise.repository.memory.InMemoryStore;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the rating controller tests against the in-memory storage.
+ */
+@ActiveProfiles(InMemoryStore.PROFILE)
+class RatingControllerMemoryIT extends RatingControllerIT {
+}
@@ -0,0 +1,119 @@
+package com.paf.exercise.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paf.exercise.config.SchemaCleanConfig;
+import com.paf.exercise.model.Player;
+import com.paf.exercise.model.ScheduleFormat;
+import com.paf.exercise.model.ScheduleRequest;
+import com.paf.exercise.model.Tournament;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.paf.exercise.controller.TournamentControllerIT.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Import(SchemaCleanConfig.class)
+class ScheduleControllerIT {
+
+    public static final String API_SCHEDULE_URL_TEMPLATE = TOURNAMENTS_ID_URL_TEMPLATE + "/schedule";
+    private static final long TOURNAMENT_ID = 50L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SneakyThrows
+    @BeforeEach
+    public void setUp() {
+        Tournament tournament = Tournament.builder().id(TOURNAMENT_ID).rewardAmount(100).build();
+        mockMvc.perform(post(API_TOURNAMENTS)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(objectMapper.writeValueAsString(tournament)))
+                .andExpect(status().isOk());
+
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            players.add(Player.builder().name("Player " + i).build());
+        }
+        mockMvc.perform(post(TOURNAMENTS_ID_URL_TEMPLATE + "/players:bulk", TOURNAMENT_ID)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(objectMapper.writeValueAsString(players)))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    @AfterEach
+    public void cleanUp() {
+        mockMvc.perform(delete(TOURNAMENTS_ID_URL_TEMPLATE, TOURNAMENT_ID)
+                        .contentType(JSON_CONTENT_TYPE))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    @Test
+    void generateSchedule_withDoubleElimination() {
+        generate(ScheduleFormat.DOUBLE_ELIMINATION)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches").value(14));
+
+        mockMvc.perform(get(API_SCHEDULE_URL_TEMPLATE + "/rounds/{round}", TOURNAMENT_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(6));
+    }
+
+    @SneakyThrows
+    @Test
+    void generateSchedule_withRoundRobin() {
+        generate(ScheduleFormat.ROUND_ROBIN)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rounds").value(5));
+
+        mockMvc.perform(get(API_SCHEDULE_URL_TEMPLATE + "/rounds/{round}", TOURNAMENT_ID, 5).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].number").value(13))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    @SneakyThrows
+    @Test
+    void generateSchedule_withEmptyContent() {
+        mockMvc.perform(post(API_SCHEDULE_URL_TEMPLATE, TOURNAMENT_ID)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @SneakyThrows
+    @Test
+    void getSchedule_withoutSchedule() {
+        mockMvc.perform(get(API_SCHEDULE_URL_TEMPLATE, TOURNAMENT_ID))
+                .andExpect(status().isNotFound());
+    }
+
+    @SneakyThrows
+    private ResultActions generate(ScheduleFormat format) {
+        return mockMvc.perform(post(API_SCHEDULE_URL_TEMPLATE, TOURNAMENT_ID)
+                .contentType(JSON_CONTENT_TYPE)
+                .content(objectMapper.writeValueAsString(ScheduleRequest.builder().format(format).randomSeed(7L).build())));
+    }
+}
@@ -1,7 +1,12 @@
 package com.paf.exercise.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paf.exercise.config.SchemaCleanConfig;
+import com.paf.exercise.idempotency.IdempotencyFilter;
 import com.paf.exercise.model.Tournament;
+import com.paf.exercise.model.TournamentTotals;
+import com.paf.exercise.stats.TournamentStatsCollector;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,15 +15,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.StreamUtils;
 
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
+@Import(SchemaCleanConfig.class)
 class TournamentControllerIT {
 
     public static final String API_TOURNAMENTS = "/api/tournaments";
@@ -31,6 +49,9 @@ class TournamentControllerIT {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TournamentStatsCollector statsCollector;
+
     @SneakyThrows
     @BeforeEach
     public void setUp() {
@@ -61,6 +82,36 @@ class TournamentControllerIT {
                 .andExpect(status().isOk());
     }
 
+    @SneakyThrows
+    @Test
+    void createTournament_withIdempotencyKey() {
+        String tournament = objectMapper.writeValueAsString(Tournament.builder().id(3L).rewardAmount(200).build());
+        String created = mockMvc.perform(post(API_TOURNAMENTS)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, "create-tournament-3")
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(tournament))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post(API_TOURNAMENTS)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, "create-tournament-3")
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(tournament))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.IDEMPOTENT_REPLAYED, "true"))
+                .andExpect(content().json(created, true));
+
+        mockMvc.perform(post(API_TOURNAMENTS)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, "create-tournament-3")
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(objectMapper.writeValueAsString(Tournament.builder().id(4L).rewardAmount(200).build())))
+                .andExpect(status().isUnprocessableEntity());
+
+        mockMvc.perform(delete(TOURNAMENTS_ID_URL_TEMPLATE, 3))
+                .andExpect(status().isOk());
+    }
+
     @SneakyThrows
     @Test
     void createTournament_withEmptyContent() {
@@ -93,6 +144,50 @@ class TournamentControllerIT {
                 .andExpect(status().isOk());
     }
 
+    @SneakyThrows
+    @Test
+    void purgeTournament_withNotExistingTournament() {
+        mockMvc.perform(delete(TOURNAMENTS_ID_URL_TEMPLATE, Long.MAX_VALUE)
+                        .param("async", "true"))
+                .andExpect(status().isNotFound());
+    }
+
+    @SneakyThrows
+    @Test
+    void getPurgeJob_withNotExistingJob() {
+        mockMvc.perform(get(API_TOURNAMENTS + "/purges/{jobId}", "unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    @SneakyThrows
+    @Test
+    void exportTournaments() {
+        mockMvc.perform(post(TOURNAMENTS_ID_URL_TEMPLATE + "/players:bulk", 1)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content("[{\"name\": \"Export1\"}, {\"name\": \"Export2\"}]"))
+                .andExpect(status().isOk());
+
+        String export = mockMvc.perform(get(API_TOURNAMENTS + "/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> roster = new ArrayList<>();
+        long tournamentId = -1;
+        for (String line : export.split("\n")) {
+            JsonNode row = objectMapper.readTree(line);
+            if ("tournament".equals(row.get("type").asText())) {
+                tournamentId = row.get("id").asLong();
+                continue;
+            }
+            assertThat(row.get("tournamentId").asLong()).isEqualTo(tournamentId);
+            if (tournamentId == 1) {
+                roster.add(row.get("name").asText());
+            }
+        }
+        assertThat(roster).containsExactly("Export1", "Export2");
+    }
+
     @SneakyThrows
     @Test
     void testGetTournament() {
@@ -118,4 +213,139 @@ class TournamentControllerIT {
                         .content(objectMapper.writeValueAsString(tournament)))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void getTournament_withCurrentETag() {
+        String eTag = mockMvc.perform(get(TOURNAMENTS_ID_URL_TEMPLATE, 1))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(TOURNAMENTS_ID_URL_TEMPLATE, 1).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get(TOURNAMENTS_ID_URL_TEMPLATE + "/players", 1).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @SneakyThrows
+    @Test
+    void getPlayers_withETagBeforeRosterChange() {
+        String eTag = mockMvc.perform(get(TOURNAMENTS_ID_URL_TEMPLATE + "/players", 1))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(post(TOURNAMENTS_ID_URL_TEMPLATE + "/players:bulk", 1)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content("[{\"name\":\"Tester\"}]"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(TOURNAMENTS_ID_URL_TEMPLATE + "/players", 1).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Tester"));
+    }
+
+    @SneakyThrows
+    @Test
+    void update_withIfMatch() {
+        Tournament tournament = Tournament.builder().id(1L).rewardAmount(300).build();
+        String eTag = mockMvc.perform(get(TOURNAMENTS_ID_URL_TEMPLATE, 1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String updatedETag = mockMvc.perform(put(TOURNAMENTS_ID_URL_TEMPLATE, 1)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .content(objectMapper.writeValueAsString(tournament)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rewardAmount").value(300))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put(TOURNAMENTS_ID_URL_TEMPLATE, 1)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .content(objectMapper.writeValueAsString(tournament)))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get(TOURNAMENTS_ID_URL_TEMPLATE, 1).header(HttpHeaders.IF_NONE_MATCH, updatedETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @SneakyThrows
+    @Test
+    void getTournament_withGzip() {
+        byte[] json = mockMvc.perform(get(TOURNAMENTS_ID_URL_TEMPLATE, 1))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] gzip = mockMvc.perform(get(TOURNAMENTS_ID_URL_TEMPLATE, 1).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(StreamUtils.copyToByteArray(new GZIPInputStream(new ByteArrayInputStream(gzip)))).isEqualTo(json);
+        assertThat(objectMapper.readValue(json, Tournament.class).getRewardAmount()).isEqualTo(200);
+    }
+
+    @SneakyThrows
+    @Test
+    void getTournamentStats() {
+        mockMvc.perform(post(TOURNAMENTS_ID_URL_TEMPLATE + "/players:bulk", 1)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content("[{\"name\": \"Stats1\"}, {\"name\": \"Stats2\"}]"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(TOURNAMENTS_ID_URL_TEMPLATE + "/stats", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tournamentId").value(1))
+                .andExpect(jsonPath("$.playerCount").value(2))
+                .andExpect(jsonPath("$.rewardAmount").value(200));
+        statsCollector.flush();
+        mockMvc.perform(get(TOURNAMENTS_ID_URL_TEMPLATE + "/stats", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.playerCount").value(2));
+        mockMvc.perform(get(TOURNAMENTS_ID_URL_TEMPLATE + "/stats", 404))
+                .andExpect(status().isNotFound());
+    }
+
+    @SneakyThrows
+    @Test
+    void getTournamentTotals() {
+        statsCollector.reconcile();
+        TournamentTotals before = totals();
+
+        Tournament tournament = Tournament.builder().id(5L).rewardAmount(300).build();
+        mockMvc.perform(post(API_TOURNAMENTS)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(objectMapper.writeValueAsString(tournament)))
+                .andExpect(status().isOk());
+        mockMvc.perform(post(TOURNAMENTS_ID_URL_TEMPLATE + "/players:bulk", 5)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content("[{\"name\": \"Totals1\"}, {\"name\": \"Totals2\"}, {\"name\": \"Totals3\"}]"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put(TOURNAMENTS_ID_URL_TEMPLATE, 1)
+                        .contentType(JSON_CONTENT_TYPE)
+                        .content(objectMapper.writeValueAsString(Tournament.builder().id(1L).rewardAmount(250).build())))
+                .andExpect(status().isOk());
+        statsCollector.flush();
+
+        TournamentTotals after = totals();
+        assertThat(after.getTournamentCount()).isEqualTo(before.getTournamentCount() + 1);
+        assertThat(after.getPlayerCount()).isEqualTo(before.getPlayerCount() + 3);
+        assertThat(after.getRewardTotal()).isEqualTo(before.getRewardTotal() + 350);
+
+        mockMvc.perform(delete(TOURNAMENTS_ID_URL_TEMPLATE, 5))
+                .andExpect(status().isOk());
+        statsCollector.flush();
+        assertThat(totals().getPlayerCount()).isEqualTo(before.getPlayerCount());
+        assertThat(statsCollector.reconcile()).isZero();
+    }
+
+    @SneakyThrows
+    private TournamentTotals totals() {
+        String json = mockMvc.perform(get(API_TOURNAMENTS + "/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(json, TournamentTotals.class);
+    }
+}
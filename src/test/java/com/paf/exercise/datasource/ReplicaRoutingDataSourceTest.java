@@ -0,0 +1,169 @@
+package com.paf.exercise.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+import static com.paf.exercise.datasource.ReplicaRoutingDataSource.PRIMARY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+    private static final String REPLICA = "replica-0";
+    private static final long MAX_LAG = 1000;
+
+    private ResultSet primaryPosition;
+    private ResultSet replicaPosition;
+    private DataSource replica;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primaryPosition = mock(ResultSet.class);
+        replicaPosition = mock(ResultSet.class);
+        replica = mockDataSource(replicaPosition);
+        routingDataSource = routingDataSource(false);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        routingDataSource.setSession(null);
+    }
+
+    @Test
+    void determineCurrentLookupKey_readOnlyWithHealthyReplica() throws SQLException {
+        replicaAt(10_000, 9_500);
+
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.isAvailable(REPLICA)).isTrue();
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void determineCurrentLookupKey_readOnlyWithLaggingReplica() throws SQLException {
+        replicaAt(10_000, 10_000 - MAX_LAG - 1);
+
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.isAvailable(REPLICA)).isFalse();
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void determineCurrentLookupKey_readOnlyWithFailingReplica() throws SQLException {
+        replicaAt(10_000, 10_000);
+        routingDataSource.checkReplicas();
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.isAvailable(REPLICA)).isFalse();
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void determineCurrentLookupKey_readOnlyWithStandaloneReplica() throws SQLException {
+        replicaAt(10_000, 0);
+        when(replicaPosition.getBoolean(1)).thenReturn(false);
+
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.isAvailable(REPLICA)).isFalse();
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void determineCurrentLookupKey_readOnlyWithAllowedStandaloneReplica() throws SQLException {
+        routingDataSource = routingDataSource(true);
+        replicaAt(10_000, 0);
+        when(replicaPosition.getBoolean(1)).thenReturn(false);
+
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.isAvailable(REPLICA)).isTrue();
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void determineCurrentLookupKey_readOnlyBeforeFirstCheck() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void determineCurrentLookupKey_readAfterCommittedWrite() throws SQLException {
+        replicaAt(10_000, 10_000);
+        routingDataSource.checkReplicas();
+        routingDataSource.setSession("client");
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(PRIMARY);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(REPLICA);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(PRIMARY);
+        routingDataSource.setSession("another client");
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void determineCurrentLookupKey_readOnlyFromPrimary() throws Throwable {
+        replicaAt(10_000, 10_000);
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ProceedingJoinPoint cacheLoader = mock(ProceedingJoinPoint.class);
+        when(cacheLoader.proceed()).thenAnswer(invocation -> routingDataSource.determineCurrentLookupKey());
+
+        assertThat(new ReadFromPrimaryAspect().readFromPrimary(cacheLoader)).isEqualTo(PRIMARY);
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(REPLICA);
+    }
+
+    private ReplicaRoutingDataSource routingDataSource(boolean allowStandalone) throws SQLException {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(mockDataSource(primaryPosition),
+                Map.of(REPLICA, replica), MAX_LAG, allowStandalone, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    private void replicaAt(long primary, long replayed) throws SQLException {
+        when(primaryPosition.next()).thenReturn(true);
+        when(primaryPosition.getLong(1)).thenReturn(primary);
+        when(replicaPosition.next()).thenReturn(true);
+        when(replicaPosition.getBoolean(1)).thenReturn(true);
+        when(replicaPosition.getLong(2)).thenReturn(replayed);
+    }
+
+    private static DataSource mockDataSource(ResultSet resultSet) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        return dataSource;
+    }
+}
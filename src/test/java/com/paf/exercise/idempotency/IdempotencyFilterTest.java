@@ -0,0 +1,150 @@
+package com.paf.exercise.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+    private static final String CLIENT_HEADER = "X-Client";
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private IdempotencyFilter filter;
+    private int status;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(new ObjectMapper(), new SimpleMeterRegistry(), DataSize.ofKilobytes(16),
+                Duration.ofHours(1), CLIENT_HEADER);
+        status = 200;
+    }
+
+    @Test
+    void testReplay() throws ServletException, IOException {
+        MockHttpServletResponse response = perform("key", "{\"rewardAmount\": 100}");
+        MockHttpServletResponse replayed = perform("key", "{\"rewardAmount\": 100}");
+
+        assertThat(calls).hasValue(1);
+        assertThat(response.getContentAsString()).isEqualTo("1:{\"rewardAmount\": 100}");
+        assertThat(response.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isNull();
+        assertThat(replayed.getStatus()).isEqualTo(200);
+        assertThat(replayed.getContentAsString()).isEqualTo(response.getContentAsString());
+        assertThat(replayed.getHeader(HttpHeaders.LOCATION)).isEqualTo("/api/tournaments/1");
+        assertThat(replayed.getContentType()).isEqualTo("application/json");
+        assertThat(replayed.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+    }
+
+    @Test
+    void testReplay_withOtherKey() throws ServletException, IOException {
+        perform("key", "{}");
+        perform("other", "{}");
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void testReplay_withOtherClient() throws ServletException, IOException {
+        perform("key", "{}");
+        MockHttpServletRequest request = request("key", "{}");
+        request.addHeader(CLIENT_HEADER, "other");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, echo());
+
+        assertThat(calls).hasValue(2);
+        assertThat(response.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isNull();
+    }
+
+    @Test
+    void testReplay_withReusedKey() throws ServletException, IOException {
+        perform("key", "{\"rewardAmount\": 100}");
+        MockHttpServletResponse response = perform("key", "{\"rewardAmount\": 200}");
+
+        assertThat(calls).hasValue(1);
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(response.getContentAsString()).contains("The Idempotency-Key: key has already been used for another request!");
+    }
+
+    @Test
+    void testReplay_withServerError() throws ServletException, IOException {
+        status = 503;
+        perform("key", "{}");
+        status = 200;
+        MockHttpServletResponse response = perform("key", "{}");
+
+        assertThat(calls).hasValue(2);
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void testFilter_withRequestInProgress() throws ServletException, IOException {
+        MockHttpServletResponse[] retried = new MockHttpServletResponse[1];
+        MockHttpServletRequest request = request("key", "{}");
+        filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+            calls.incrementAndGet();
+            retried[0] = perform("key", "{}");
+        });
+
+        assertThat(calls).hasValue(1);
+        assertThat(retried[0].getStatus()).isEqualTo(409);
+    }
+
+    @Test
+    void testFilter_withInvalidKey() throws ServletException, IOException {
+        MockHttpServletResponse response = perform(" ", "{}");
+
+        assertThat(calls).hasValue(0);
+        assertThat(response.getStatus()).isEqualTo(400);
+    }
+
+    @Test
+    void testFilter_withoutKey() throws ServletException, IOException {
+        perform(null, "{}");
+        perform(null, "{}");
+
+        assertThat(calls).hasValue(2);
+    }
+
+    private MockHttpServletResponse perform(String key, String body) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(key, body), response, echo());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tournaments");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+        }
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    /**
+     * Answers with the number of the call and the body it read.
+     */
+    private FilterChain echo() {
+        return (request, response) -> {
+            String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status);
+            httpResponse.setHeader(HttpHeaders.LOCATION, "/api/tournaments/1");
+            httpResponse.setContentType("application/json");
+            httpResponse.getWriter().write(calls.incrementAndGet() + ":" + body);
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.paf.exercise.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.paf.exercise.event.ChangeType;
+import com.paf.exercise.model.OutboxEvent;
+import com.paf.exercise.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository outboxRepositoryMock;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxRepositoryMock, new ObjectMapper().registerModule(new JavaTimeModule()),
+                new SimpleMeterRegistry(), 100, 100, 1, Duration.ofMillis(200), Duration.ofMinutes(1), Duration.ofHours(1));
+    }
+
+    @Test
+    void relayBatch_waitsForGapUntilItsTransactionsHaveEnded() {
+        when(outboxRepositoryMock.findAfter(eq(0L), any())).thenReturn(events(1, 3));
+        when(outboxRepositoryMock.findNextTransactionId()).thenReturn(100L);
+        assertThat(relay.relayBatch()).isEqualTo(1);
+
+        when(outboxRepositoryMock.findOldestRunningTransactionId()).thenReturn(99L);
+        when(outboxRepositoryMock.findAfter(eq(1L), any())).thenReturn(events(3));
+        assertThat(relay.relayBatch()).isZero();
+
+        when(outboxRepositoryMock.findOldestRunningTransactionId()).thenReturn(100L);
+        when(outboxRepositoryMock.findAfter(eq(1L), any())).thenReturn(events(2, 3));
+        assertThat(relay.relayBatch()).isEqualTo(2);
+    }
+
+    @Test
+    void relayBatch_skipsSettledGap() {
+        when(outboxRepositoryMock.findAfter(eq(0L), any())).thenReturn(events(1, 3, 4, 6));
+        when(outboxRepositoryMock.findNextTransactionId()).thenReturn(100L, 120L);
+        assertThat(relay.relayBatch()).isEqualTo(1);
+
+        when(outboxRepositoryMock.findOldestRunningTransactionId()).thenReturn(100L);
+        when(outboxRepositoryMock.findAfter(eq(1L), any())).thenReturn(events(3, 4, 6));
+        // The gap after 4 was seen after the check, it waits for a check of its own.
+        assertThat(relay.relayBatch()).isEqualTo(2);
+    }
+
+    private static List<OutboxEvent> events(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> OutboxEvent.builder()
+                        .id(id)
+                        .tournamentId(1L)
+                        .type(ChangeType.CREATED)
+                        .createdAt(Instant.EPOCH)
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,52 @@
+package com.paf.exercise.outbox;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentEventsTest {
+
+    @Test
+    void after_withGapsInIds() {
+        RecentEvents recentEvents = new RecentEvents(4);
+        append(recentEvents, 3, 5, 9);
+
+        assertThat(ids(recentEvents.after(0, 10))).containsExactly(3L, 5L, 9L);
+        assertThat(ids(recentEvents.after(4, 10))).containsExactly(5L, 9L);
+        assertThat(ids(recentEvents.after(5, 1))).containsExactly(9L);
+        assertThat(recentEvents.after(9, 10)).isEmpty();
+        assertThat(recentEvents.lastId()).isEqualTo(9);
+    }
+
+    @Test
+    void after_behindDroppedEvents() {
+        RecentEvents recentEvents = new RecentEvents(2);
+        append(recentEvents, 1, 2, 3, 4);
+
+        assertThat(recentEvents.after(1, 10)).isNull();
+        assertThat(ids(recentEvents.after(2, 10))).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void after_behindSkippedEvents() {
+        RecentEvents recentEvents = new RecentEvents(2);
+        recentEvents.skipTo(10);
+
+        assertThat(recentEvents.lastId()).isEqualTo(10);
+        assertThat(recentEvents.after(9, 10)).isNull();
+        assertThat(recentEvents.after(10, 10)).isEmpty();
+    }
+
+    private static void append(RecentEvents recentEvents, long... ids) {
+        for (long id : ids) {
+            recentEvents.append(new RelayedEvent(id, OutboxRelay.PLAYER_EVENT, "{}"));
+        }
+    }
+
+    private static List<Long> ids(List<RelayedEvent> events) {
+        return events.stream().map(RelayedEvent::getId).collect(toList());
+    }
+}
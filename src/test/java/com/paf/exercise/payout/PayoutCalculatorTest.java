@@ -0,0 +1,89 @@
+package com.paf.exercise.payout;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayoutCalculatorTest {
+
+    @Test
+    void testCalculate_withWinnerTakesAll() {
+        PayoutTable payouts = PayoutCalculator.calculate(100, new long[]{1, 2, 3}, new double[]{5, 9, 7}, new double[]{1});
+
+        assertThat(payouts.getPlayerIds()).containsExactly(2);
+        assertThat(payouts.getPlaces()).containsExactly(1);
+        assertThat(payouts.getAmounts()).containsExactly(100);
+    }
+
+    @Test
+    void testCalculate_withTiedWinners() {
+        PayoutTable payouts = PayoutCalculator.calculate(100, new long[]{1, 2, 3}, new double[]{9, 9, 7}, new double[]{1});
+
+        assertThat(payouts.getPlayerIds()).containsExactly(1, 2);
+        assertThat(payouts.getPlaces()).containsExactly(1, 1);
+        assertThat(payouts.getAmounts()).containsExactly(50, 50);
+    }
+
+    @Test
+    void testCalculate_withTieAcrossPaidPositions() {
+        PayoutTable payouts = PayoutCalculator.calculate(100, new long[]{1, 2, 3, 4}, new double[]{9, 8, 8, 1},
+                new double[]{50, 30, 20});
+
+        assertThat(payouts.getPlayerIds()).containsExactly(1, 2, 3);
+        assertThat(payouts.getPlaces()).containsExactly(1, 2, 2);
+        assertThat(payouts.getAmounts()).containsExactly(50, 25, 25);
+    }
+
+    @Test
+    void testCalculate_withTieAtLastPaidPosition() {
+        PayoutTable payouts = PayoutCalculator.calculate(100, new long[]{1, 2, 3, 4}, new double[]{9, 8, 8, 8},
+                new double[]{70, 30});
+
+        assertThat(payouts.getPlaces()).containsExactly(1, 2, 2, 2);
+        assertThat(payouts.getAmounts()).containsExactly(70, 10, 10, 10);
+    }
+
+    @Test
+    void testCalculate_withFewerPlayersThanPositions() {
+        PayoutTable payouts = PayoutCalculator.calculate(90, new long[]{1, 2}, new double[]{1, 2}, new double[]{40, 20});
+
+        assertThat(payouts.getPlayerIds()).containsExactly(2, 1);
+        assertThat(payouts.getAmounts()).containsExactly(60, 30);
+    }
+
+    @Test
+    void testCalculate_withoutRoundingDrift() {
+        PayoutTable payouts = PayoutCalculator.calculate(100, new long[]{1, 2, 3}, new double[]{3, 2, 1},
+                new double[]{1, 1, 1});
+
+        assertThat(payouts.getAmounts()).containsExactly(33, 34, 33);
+    }
+
+    @Test
+    void testCalculate_withLargeStandings() {
+        int players = 300_000;
+        Random random = new Random(42);
+        long[] playerIds = new long[players];
+        double[] scores = new double[players];
+        double[] weights = new double[players / 2];
+        for (int i = 0; i < players; i++) {
+            playerIds[i] = i + 1;
+            scores[i] = random.nextInt(1000);
+        }
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = Math.pow(0.999, i);
+        }
+
+        PayoutTable payouts = PayoutCalculator.calculate(1_000_003, playerIds, scores, weights);
+
+        assertThat(Arrays.stream(payouts.getAmounts()).sum()).isEqualTo(1_000_003);
+        assertThat(Arrays.stream(payouts.getAmounts()).min().getAsLong()).isGreaterThanOrEqualTo(0);
+        assertThat(payouts.size()).isGreaterThanOrEqualTo(weights.length);
+        for (int i = 1; i < payouts.size(); i++) {
+            assertThat(scores[(int) payouts.getPlayerIds()[i] - 1]).isLessThanOrEqualTo(scores[(int) payouts.getPlayerIds()[i - 1] - 1]);
+        }
+    }
+}
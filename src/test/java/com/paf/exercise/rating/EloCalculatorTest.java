@@ -0,0 +1,37 @@
+package com.paf.exercise.rating;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class EloCalculatorTest {
+
+    @Test
+    void testApply() {
+        double[] ratings = {1500, 1500, 1700};
+
+        EloCalculator.apply(ratings, new int[]{0, 2}, new int[]{1, 0}, new double[]{1, 0.5}, 32);
+
+        assertThat(ratings[1]).isCloseTo(1484, within(1e-9));
+        assertThat(ratings[2]).isCloseTo(1700 + 32 * (0.5 - EloCalculator.expectedScore(1700, 1500)), within(1e-9));
+        assertThat(ratings[0] + ratings[1] + ratings[2]).isCloseTo(4700, within(1e-9));
+    }
+
+    @Test
+    void testApply_withoutOrderDependence() {
+        double[] forward = {1500, 1600, 1400};
+        double[] backward = forward.clone();
+
+        EloCalculator.apply(forward, new int[]{0, 1}, new int[]{1, 2}, new double[]{1, 0}, 32);
+        EloCalculator.apply(backward, new int[]{1, 0}, new int[]{2, 1}, new double[]{0, 1}, 32);
+
+        assertThat(backward).containsExactly(forward);
+    }
+
+    @Test
+    void testExpectedScore() {
+        assertThat(EloCalculator.expectedScore(1500, 1500)).isEqualTo(0.5);
+        assertThat(EloCalculator.expectedScore(1900, 1500)).isCloseTo(10.0 / 11, within(1e-12));
+    }
+}
@@ -0,0 +1,43 @@
+package com.paf.exercise.rating;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class LongIntHashMapTest {
+
+    @Test
+    void testPutAndGet() {
+        LongIntHashMap map = new LongIntHashMap(100_000);
+        for (int i = 0; i < 100_000; i++) {
+            map.put(1_000_000L + i * 50L, i);
+        }
+
+        assertThat(map.size()).isEqualTo(100_000);
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(map.get(1_000_000L + i * 50L)).isEqualTo(i);
+        }
+        assertThat(map.get(1_000_001L)).isEqualTo(-1);
+        assertThat(map.get(0L)).isEqualTo(-1);
+    }
+
+    @Test
+    void testPut_withExistingKey() {
+        LongIntHashMap map = new LongIntHashMap(1);
+        map.put(-7L, 1);
+        map.put(-7L, 2);
+
+        assertThat(map.get(-7L)).isEqualTo(2);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testPut_whenFull() {
+        LongIntHashMap map = new LongIntHashMap(1);
+        map.put(1L, 1);
+        map.put(2L, 2);
+
+        assertThatIllegalStateException().isThrownBy(() -> map.put(3L, 3));
+    }
+}
@@ -0,0 +1,131 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.config.SchemaCleanConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the hot queries can use their index, and that the queries of a roster read the one partition holding
+ * the tournament. The test tables are tiny, so sequential scans are disabled for the plan: a query still planned
+ * with one, or with another index, has no usable index left.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Import(SchemaCleanConfig.class)
+class QueryPlanIT {
+    private static final Pattern NAME_INDEX = Pattern.compile("Index Scan using player_\\d+_name_idx");
+    private static final Pattern ROSTER_INDEX = Pattern.compile("Index (Only )?Scan using player_\\d+_pkey");
+    private static final Pattern PLAYER_PARTITION = Pattern.compile(" on (player_\\d+) ");
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void findByName_usesNameIndex() {
+        assertThat(plan(() -> playerRepository.findByName("Tester")))
+                .containsPattern(NAME_INDEX)
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void findByTournamentId_usesTournamentIndex() {
+        assertRosterPlan(plan(() -> playerRepository.findByTournamentId(1)));
+    }
+
+    @Test
+    void findRosterByTournamentId_usesTournamentIndex() {
+        assertRosterPlan(plan(() -> playerRepository.findRosterByTournamentId(1)));
+    }
+
+    @Test
+    void findIdsByTournamentId_usesTournamentIndex() {
+        String plan = plan(() -> playerRepository.findIdsByTournamentId(1, PageRequest.of(0, 100)));
+
+        assertRosterPlan(plan);
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    @Test
+    void findRoster_usesTournamentIndex() {
+        assertRosterPlan(plan(() -> tournamentRepository.findRoster(1, 0, PageRequest.of(0, 100))));
+    }
+
+    @Test
+    void deleteWithPlayersById_deletesFromOnePartition() {
+        assertOnePartition(plan(() -> tournamentRepository.deleteWithPlayersById(1)));
+    }
+
+    /**
+     * The chunk delete of a purge.
+     */
+    @Test
+    void deleteByTournamentIdAndIdIn_deletesFromOnePartition() {
+        assertOnePartition(plan(() -> playerRepository.deleteByTournamentIdAndIdIn(1, List.of(1L, 2L))));
+    }
+
+    @Test
+    void updateRatings_updatesOnePartition() {
+        assertOnePartition(explain(PlayerRepositoryImpl.UPDATE_RATING));
+    }
+
+    private static void assertRosterPlan(String plan) {
+        assertThat(plan).containsPattern(ROSTER_INDEX);
+        assertOnePartition(plan);
+    }
+
+    private static void assertOnePartition(String plan) {
+        assertThat(PLAYER_PARTITION.matcher(plan).results().map(match -> match.group(1)).distinct().count())
+                .isEqualTo(1);
+    }
+
+    /**
+     * Runs the query, then explains the last statement it issued with every parameter set to 1.
+     */
+    private String plan(Runnable query) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            jdbcTemplate.execute("set local enable_seqscan = off");
+            List<String> statements = RecordingStatementInspector.record(query);
+            assertThat(statements).isNotEmpty();
+            return explainWithParameters(statements.get(statements.size() - 1));
+        });
+    }
+
+    /**
+     * Explains a statement issued through JDBC, which the statement inspector does not see, with every parameter
+     * set to 1.
+     */
+    private String explain(String sql) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            jdbcTemplate.execute("set local enable_seqscan = off");
+            return explainWithParameters(sql);
+        });
+    }
+
+    private String explainWithParameters(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql.replace("?", "'1'"), String.class));
+    }
+}
@@ -0,0 +1,96 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.config.SchemaCleanConfig;
+import com.paf.exercise.model.Tournament;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Import(SchemaCleanConfig.class)
+class TournamentRepositoryIT {
+    private static final int THREADS = 8;
+    private static final int INSERTS = 50;
+    /**
+     * The gap between two given IDs, wider than all the generated inserts together, so a generated ID never draws
+     * a given one.
+     */
+    private static final long GAP = 1_000;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Queue<Long> created = new ConcurrentLinkedQueue<>();
+
+    @AfterEach
+    void cleanUp() {
+        created.forEach(tournamentRepository::deleteById);
+    }
+
+    /**
+     * Half of the threads insert given IDs, some ascending and some descending, while the other half insert
+     * generated ones; a sequence set back by a smaller given ID would hand out a generated ID twice.
+     */
+    @Test
+    void insertIfAbsent_withGivenAndGeneratedIdsConcurrently() throws Exception {
+        long base = insert(0) + GAP;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<?> future : IntStream.range(0, THREADS)
+                    .mapToObj(thread -> executor.submit(() -> {
+                        for (int i = 0; i < INSERTS; i++) {
+                            if (thread % 2 == 0) {
+                                insert(0);
+                            } else {
+                                int position = thread % 4 == 1 ? i : INSERTS - 1 - i;
+                                insert(base + (thread * INSERTS + position) * GAP);
+                            }
+                        }
+                    }))
+                    .collect(Collectors.toList())) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(created).hasSize(THREADS * INSERTS + 1).doesNotHaveDuplicates();
+        long lastId = created.stream().mapToLong(Long::longValue).max().orElseThrow();
+        assertThat(insert(0)).isGreaterThan(lastId);
+    }
+
+    /**
+     * Inserts a tournament in its own transaction.
+     *
+     * @return the ID of the tournament.
+     */
+    private long insert(long id) {
+        Tournament tournament = Tournament.builder().id(id).rewardAmount(100).build();
+        Boolean inserted = new TransactionTemplate(transactionManager)
+                .execute(status -> tournamentRepository.insertIfAbsent(tournament));
+        assertThat(inserted).isTrue();
+        created.add(tournament.getId());
+        return tournament.getId();
+    }
+}
@@ -0,0 +1,97 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.config.SchemaCleanConfig;
+import com.paf.exercise.model.Tournament;
+import com.paf.exercise.model.TournamentStats;
+import com.paf.exercise.model.TournamentStatsChanges;
+import com.paf.exercise.model.TournamentStatsCorrection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies changes to the counters directly, the way a flush does, for tournaments written without events so the
+ * background flushes leave them alone.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Import(SchemaCleanConfig.class)
+class TournamentStatsRepositoryIT {
+    private static final long TOURNAMENT_ID = 9_001L;
+
+    @Autowired
+    private TournamentStatsRepository statsRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @AfterEach
+    void cleanUp() {
+        if (tournamentRepository.existsById(TOURNAMENT_ID)) {
+            tournamentRepository.deleteById(TOURNAMENT_ID);
+        }
+        statsRepository.applyChanges(changes(Set.of(), Map.of(), Set.of(TOURNAMENT_ID)));
+    }
+
+    /**
+     * The tournament was created on another instance, which has not flushed its creation yet.
+     */
+    @Test
+    void applyChanges_withPlayersOfUnflushedTournament() {
+        createTournament(300);
+
+        statsRepository.applyChanges(changes(Set.of(), Map.of(TOURNAMENT_ID, 2L), Set.of()));
+        statsRepository.applyChanges(changes(Set.of(TOURNAMENT_ID), Map.of(TOURNAMENT_ID, 1L), Set.of()));
+
+        assertThat(statsRepository.findById(TOURNAMENT_ID)).contains(new TournamentStats(TOURNAMENT_ID, 3, 300));
+    }
+
+    @Test
+    void applyChanges_withPlayersOfDeletedTournament() {
+        statsRepository.applyChanges(changes(Set.of(), Map.of(TOURNAMENT_ID, 2L), Set.of()));
+
+        assertThat(statsRepository.findById(TOURNAMENT_ID)).isEmpty();
+    }
+
+    @Test
+    void applyChanges_withTournamentDeletedAndCreatedAgain() {
+        createTournament(300);
+        statsRepository.applyChanges(changes(Set.of(TOURNAMENT_ID), Map.of(TOURNAMENT_ID, 5L), Set.of()));
+
+        statsRepository.applyChanges(changes(Set.of(TOURNAMENT_ID), Map.of(TOURNAMENT_ID, 1L), Set.of(TOURNAMENT_ID)));
+
+        assertThat(statsRepository.findById(TOURNAMENT_ID)).contains(new TournamentStats(TOURNAMENT_ID, 1, 300));
+    }
+
+    @Test
+    void applyCorrections_addsTheDifference() {
+        createTournament(300);
+        statsRepository.applyChanges(changes(Set.of(TOURNAMENT_ID), Map.of(TOURNAMENT_ID, 5L), Set.of()));
+
+        List<TournamentStatsCorrection> corrections = statsRepository.findCorrections();
+        assertThat(corrections).contains(new TournamentStatsCorrection(TOURNAMENT_ID, false, -5, 300));
+        // A flush of another instance between the recount and the correction is kept.
+        statsRepository.applyChanges(changes(Set.of(), Map.of(TOURNAMENT_ID, 1L), Set.of()));
+        statsRepository.applyCorrections(List.of(new TournamentStatsCorrection(TOURNAMENT_ID, false, -5, 300)));
+
+        assertThat(statsRepository.findById(TOURNAMENT_ID)).contains(new TournamentStats(TOURNAMENT_ID, 1, 300));
+    }
+
+    private void createTournament(int rewardAmount) {
+        tournamentRepository.insertIfAbsent(Tournament.builder().id(TOURNAMENT_ID).rewardAmount(rewardAmount).build());
+    }
+
+    private static TournamentStatsChanges changes(Set<Long> created, Map<Long, Long> playerDeltas, Set<Long> deleted) {
+        return new TournamentStatsChanges(created, playerDeltas, Set.of(), deleted);
+    }
+}
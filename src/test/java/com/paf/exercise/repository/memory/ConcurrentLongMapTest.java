@@ -0,0 +1,89 @@
+package com.paf.exercise.repository.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ConcurrentLongMapTest {
+
+    @Test
+    void testPutAndGet() {
+        ConcurrentLongMap<String> map = new ConcurrentLongMap<>();
+        for (long key = 1; key <= 100_000; key++) {
+            assertThat(map.put(key, "v" + key)).isNull();
+        }
+
+        assertThat(map.size()).isEqualTo(100_000);
+        for (long key = 1; key <= 100_000; key++) {
+            assertThat(map.get(key)).isEqualTo("v" + key);
+        }
+        assertThat(map.get(0L)).isNull();
+        assertThat(map.put(7L, "seven")).isEqualTo("v7");
+        assertThat(map.putIfAbsent(7L, "other")).isEqualTo("seven");
+    }
+
+    @Test
+    void testRemove() {
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>();
+        for (long key = 0; key < 10_000; key++) {
+            map.put(key, key);
+        }
+        for (long key = 0; key < 10_000; key += 2) {
+            assertThat(map.remove(key)).isEqualTo(key);
+        }
+
+        assertThat(map.size()).isEqualTo(5_000);
+        for (long key = 0; key < 10_000; key++) {
+            assertThat(map.get(key)).isEqualTo(key % 2 == 0 ? null : key);
+        }
+        assertThat(map.remove(0L)).isNull();
+    }
+
+    @Test
+    void testCompute() {
+        ConcurrentLongMap<Integer> map = new ConcurrentLongMap<>();
+
+        assertThat(map.compute(1L, current -> current == null ? 1 : current + 1)).isEqualTo(1);
+        assertThat(map.compute(1L, current -> current == null ? 1 : current + 1)).isEqualTo(2);
+        assertThat(map.compute(1L, current -> null)).isNull();
+        assertThat(map.size()).isZero();
+    }
+
+    @Test
+    void testPut_withReservedKey() {
+        ConcurrentLongMap<String> map = new ConcurrentLongMap<>();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> map.put(Long.MIN_VALUE, "value"));
+    }
+
+    @Test
+    void testCompute_concurrently() throws Exception {
+        ConcurrentLongMap<Integer> map = new ConcurrentLongMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<?> future : IntStream.range(0, 8)
+                    .mapToObj(thread -> executor.submit(() -> {
+                        for (long key = 0; key < 20_000; key++) {
+                            map.compute(key, current -> current == null ? 1 : current + 1);
+                            assertThat(map.get(key)).isNotNull();
+                        }
+                    }))
+                    .collect(Collectors.toList())) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(map.size()).isEqualTo(20_000);
+        assertThat(map.values()).containsOnly(8);
+    }
+}
@@ -0,0 +1,75 @@
+package com.paf.exercise.repository.memory;
+
+import com.paf.exercise.repository.memory.InMemoryStore.PlayerRow;
+import com.paf.exercise.repository.memory.InMemoryStore.TournamentRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryTransactionManagerTest {
+
+    private InMemoryStore store;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryStore();
+        transactionTemplate = new TransactionTemplate(new InMemoryTransactionManager(store));
+    }
+
+    @Test
+    void testRollback_undoesInserts() {
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            store.insertTournament(new TournamentRow(1L, 100, 0));
+            store.insertPlayer(new PlayerRow(0L, "Magnus Carlsen", 1L, null));
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(store.getTournament(1L)).isNull();
+        assertThat(store.getPlayers()).isEmpty();
+    }
+
+    @Test
+    void testRollback_undoesUpdatesAndDeletes() {
+        store.insertTournament(new TournamentRow(1L, 100, 0));
+        long playerId = store.insertPlayer(new PlayerRow(0L, "Magnus Carlsen", 1L, null));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            store.updateTournament(1L, tournament -> tournament.withRewardAmount(200));
+            store.updatePlayer(playerId, player -> player.withName("Hikaru Nakamura"));
+            store.deleteTournament(1L);
+            status.setRollbackOnly();
+        });
+
+        assertThat(store.getTournament(1L)).isEqualTo(new TournamentRow(1L, 100, 0));
+        assertThat(store.getPlayer(playerId).getName()).isEqualTo("Magnus Carlsen");
+        assertThat(store.rosterSlice(1L, 0, 10)).containsExactly(playerId);
+    }
+
+    @Test
+    void testRollback_ofParticipatingTransaction() {
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(outer -> {
+            store.insertTournament(new TournamentRow(1L, 100, 0));
+            try {
+                transactionTemplate.executeWithoutResult(inner -> {
+                    throw new IllegalStateException("failed");
+                });
+            } catch (IllegalStateException ignored) {
+                // The outer transaction has been marked rollback-only.
+            }
+        })).isInstanceOf(UnexpectedRollbackException.class);
+
+        assertThat(store.getTournament(1L)).isNull();
+    }
+
+    @Test
+    void testCommit_keepsWrites() {
+        transactionTemplate.executeWithoutResult(status -> store.insertTournament(new TournamentRow(1L, 100, 0)));
+
+        assertThat(store.getTournament(1L)).isEqualTo(new TournamentRow(1L, 100, 0));
+    }
+}
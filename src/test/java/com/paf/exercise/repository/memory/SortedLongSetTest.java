@@ -0,0 +1,47 @@
+package com.paf.exercise.repository.memory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SortedLongSetTest {
+
+    @Test
+    void testAdd() {
+        SortedLongSet set = new SortedLongSet();
+        set.add(5L);
+        set.add(1L);
+        set.add(3L);
+        set.add(3L);
+        set.addAll(new long[]{6L, 7L});
+        set.addAll(new long[]{2L, 4L});
+
+        assertThat(set.size()).isEqualTo(7);
+        assertThat(set.slice(0, Integer.MAX_VALUE)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+    }
+
+    @Test
+    void testAfter() {
+        SortedLongSet set = new SortedLongSet();
+        set.addAll(new long[]{10L, 20L, 30L, 40L});
+
+        assertThat(set.after(Long.MIN_VALUE, 2)).containsExactly(10L, 20L);
+        assertThat(set.after(20L, 10)).containsExactly(30L, 40L);
+        assertThat(set.after(25L, 1)).containsExactly(30L);
+        assertThat(set.after(40L, 10)).isEmpty();
+        assertThat(set.slice(3, 10)).containsExactly(40L);
+        assertThat(set.slice(5, 10)).isEmpty();
+    }
+
+    @Test
+    void testClose() {
+        SortedLongSet set = new SortedLongSet();
+        set.addAll(new long[]{1L, 2L, 3L});
+        set.remove(2L);
+
+        assertThat(set.close()).containsExactly(1L, 3L);
+        assertThat(set.add(4L)).isFalse();
+        assertThat(set.addAll(new long[]{5L})).isFalse();
+        assertThat(set.size()).isZero();
+    }
+}
@@ -0,0 +1,129 @@
+package com.paf.exercise.schedule;
+
+import com.paf.exercise.model.Match;
+import com.paf.exercise.model.MatchSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleGeneratorTest {
+
+    @Test
+    void testSingleElimination() {
+        SingleEliminationGenerator generator = new SingleEliminationGenerator();
+
+        List<Match> matches = generator.generate(1L, seeds(6));
+
+        assertThat(matches).hasSize((int) generator.matches(6));
+        assertThat(generator.rounds(6)).isEqualTo(3);
+        Match first = matches.get(0);
+        assertThat(first.getHomePlayerId()).isEqualTo(101L);
+        assertThat(first.getAwayPlayerId()).isNull();
+        assertThat(matches.get(1).getHomePlayerId()).isEqualTo(104L);
+        assertThat(matches.get(1).getAwayPlayerId()).isEqualTo(105L);
+        Match last = matches.get(matches.size() - 1);
+        assertThat(last.getRound()).isEqualTo(3);
+        assertThat(last.getHomeSource()).isEqualTo("W5");
+        assertThat(last.getAwaySource()).isEqualTo("W6");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 8, 13})
+    void testDoubleElimination(int players) {
+        DoubleEliminationGenerator generator = new DoubleEliminationGenerator();
+
+        List<Match> matches = generator.generate(1L, seeds(players));
+
+        assertThat(matches).hasSize((int) generator.matches(players));
+        assertThat(matches).extracting(Match::getNumber)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, matches.size()).boxed().collect(Collectors.toList()));
+        Set<String> sources = new HashSet<>();
+        for (Match match : matches) {
+            for (String source : new String[]{match.getHomeSource(), match.getAwaySource()}) {
+                if (source != null) {
+                    assertThat(sources.add(source)).as(source).isTrue();
+                    assertThat(Long.parseLong(source.substring(1))).isLessThan(match.getNumber());
+                }
+            }
+        }
+        Match last = matches.get(matches.size() - 1);
+        assertThat(last.getBracket()).isEqualTo(Match.Bracket.FINAL);
+        assertThat(last.getRound()).isEqualTo(generator.rounds(players));
+        int mainMatches = matches.size() / 2;
+        assertThat(sources).hasSize(matches.size() - 1 + mainMatches);
+    }
+
+    @Test
+    void testSwiss() {
+        SwissGenerator generator = new SwissGenerator();
+
+        List<Match> matches = generator.generate(1L, seeds(5));
+
+        assertThat(matches).hasSize((int) generator.matches(5));
+        assertThat(matches).extracting(Match::getHomePlayerId).containsExactly(101L, 102L, 105L);
+        assertThat(matches).extracting(Match::getAwayPlayerId).containsExactly(103L, 104L, null);
+        assertThat(generator.rounds(5)).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 7, 8})
+    void testRoundRobin(int players) {
+        RoundRobinGenerator generator = new RoundRobinGenerator();
+        long[] seeds = seeds(players);
+
+        Set<String> pairings = new HashSet<>();
+        long count = 0;
+        for (int round = 1; round <= generator.rounds(players); round++) {
+            Set<Long> playing = new HashSet<>();
+            for (MatchSummary match : generator.computeRound(seeds, round, 0, Integer.MAX_VALUE)) {
+                count++;
+                assertThat(match.getRound()).isEqualTo(round);
+                if (match.getHomePlayerId() != null && match.getAwayPlayerId() != null) {
+                    assertThat(playing.add(match.getHomePlayerId())).isTrue();
+                    assertThat(playing.add(match.getAwayPlayerId())).isTrue();
+                    long low = Math.min(match.getHomePlayerId(), match.getAwayPlayerId());
+                    long high = Math.max(match.getHomePlayerId(), match.getAwayPlayerId());
+                    assertThat(pairings.add(low + "-" + high)).isTrue();
+                }
+            }
+        }
+        assertThat(pairings).hasSize(players * (players - 1) / 2);
+        assertThat(count).isEqualTo(generator.matches(players));
+        assertThat(generator.generate(1L, seeds)).isEmpty();
+    }
+
+    @Test
+    void testRoundRobin_withPage() {
+        RoundRobinGenerator generator = new RoundRobinGenerator();
+        long[] seeds = seeds(10_000);
+
+        List<MatchSummary> all = generator.computeRound(seeds, 7, 0, Integer.MAX_VALUE);
+        List<MatchSummary> page = generator.computeRound(seeds, 7, all.get(99).getNumber(), 100);
+
+        assertThat(all).hasSize(5_000);
+        assertThat(all.get(0).getNumber()).isEqualTo(6 * 5_000 + 1);
+        assertThat(page).containsExactlyElementsOf(all.subList(100, 200));
+        assertThat(generator.computeRound(seeds, 10_000, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void testSeeding() {
+        long[] shuffled = Seeding.shuffle(seeds(100), 42L);
+
+        assertThat(Seeding.unpack(Seeding.pack(shuffled))).containsExactly(shuffled);
+        assertThat(Seeding.shuffle(seeds(100), 42L)).containsExactly(shuffled);
+        assertThat(shuffled).containsExactlyInAnyOrder(seeds(100));
+    }
+
+    private static long[] seeds(int players) {
+        return LongStream.rangeClosed(101, 100 + players).toArray();
+    }
+}
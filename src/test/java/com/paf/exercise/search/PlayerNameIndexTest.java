@@ -0,0 +1,97 @@
+package com.paf.exercise.search;
+
+import com.paf.exercise.event.ChangeType;
+import com.paf.exercise.event.PlayerChangedEvent;
+import com.paf.exercise.event.TournamentChangedEvent;
+import com.paf.exercise.model.PlayerSearchResult;
+import com.paf.exercise.repository.PlayerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlayerNameIndexTest {
+
+    private PlayerNameIndex playerNameIndex;
+
+    @BeforeEach
+    void setUp() {
+        playerNameIndex = new PlayerNameIndex(mock(PlayerRepository.class), mock(PlatformTransactionManager.class),
+                new SyncTaskExecutor(), 1000);
+        create(1L, 1L, "Magnus Carlsen");
+        create(2L, 1L, "Magda Novak");
+        create(3L, 2L, "Hikaru Nakamura");
+        create(4L, 2L, "Mag");
+    }
+
+    @Test
+    void testSearch_withPrefix() {
+        assertThat(playerNameIndex.search("mag", 10)).extracting(PlayerSearchResult::getId).containsExactly(4L, 2L, 1L);
+    }
+
+    @Test
+    void testSearch_withTypo() {
+        assertThat(playerNameIndex.search("Hikaur", 10)).extracting(PlayerSearchResult::getId).containsExactly(3L);
+        assertThat(playerNameIndex.search("magnis carl", 10)).extracting(PlayerSearchResult::getId).containsExactly(1L);
+    }
+
+    @Test
+    void testSearch_withLimit() {
+        assertThat(playerNameIndex.search("mag", 2)).extracting(PlayerSearchResult::getId).containsExactly(4L, 2L);
+    }
+
+    @Test
+    void testSearch_afterUpdateAndDelete() {
+        playerNameIndex.onPlayerChanged(new PlayerChangedEvent(2L, 1L, "Alireza Firouzja", ChangeType.UPDATED));
+        playerNameIndex.onPlayerChanged(new PlayerChangedEvent(4L, 2L, "Mag", ChangeType.DELETED));
+
+        assertThat(playerNameIndex.search("mag", 10)).extracting(PlayerSearchResult::getId).containsExactly(1L);
+        assertThat(playerNameIndex.search("alir", 10)).extracting(PlayerSearchResult::getName).containsExactly("Alireza Firouzja");
+    }
+
+    @Test
+    void testSearch_afterTournamentDelete() {
+        playerNameIndex.onTournamentChanged(new TournamentChangedEvent(2L, ChangeType.DELETED));
+
+        assertThat(playerNameIndex.search("hikaru", 10)).isEmpty();
+        assertThat(playerNameIndex.search("mag", 10)).extracting(PlayerSearchResult::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void testRebuild_withTournamentDeletedWhileRebuilding() {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        playerNameIndex = new PlayerNameIndex(playerRepository, mock(PlatformTransactionManager.class),
+                new SyncTaskExecutor(), 1000);
+        when(playerRepository.streamAllForSearch()).thenReturn(Stream.of(
+                        new PlayerSearchResult(1L, "Magnus Carlsen", 1L),
+                        new PlayerSearchResult(3L, "Hikaru Nakamura", 2L),
+                        new PlayerSearchResult(5L, "Hikaru Other", 2L))
+                .peek(player -> {
+                    if (player.getId() == 1L) {
+                        playerNameIndex.onTournamentChanged(new TournamentChangedEvent(2L, ChangeType.DELETED));
+                    }
+                }));
+
+        playerNameIndex.rebuild();
+
+        assertThat(playerNameIndex.search("hikaru", 10)).isEmpty();
+        assertThat(playerNameIndex.search("magnus", 10)).extracting(PlayerSearchResult::getId).containsExactly(1L);
+    }
+
+    @Test
+    void testPrefixDistance() {
+        assertThat(PlayerNameIndex.prefixDistance("carl", "carlsen", 2)).isEqualTo(0);
+        assertThat(PlayerNameIndex.prefixDistance("cralsen", "carlsen", 2)).isEqualTo(2);
+        assertThat(PlayerNameIndex.prefixDistance("xyz", "carlsen", 1)).isEqualTo(2);
+    }
+
+    private void create(long id, long tournamentId, String name) {
+        playerNameIndex.onPlayerChanged(new PlayerChangedEvent(id, tournamentId, name, ChangeType.CREATED));
+    }
+}
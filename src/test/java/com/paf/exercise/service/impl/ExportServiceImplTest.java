@@ -0,0 +1,52 @@
+package com.paf.exercise.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paf.exercise.model.Player;
+import com.paf.exercise.model.Tournament;
+import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.repository.TournamentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+
+    @Mock
+    private TournamentRepository tournamentRepositoryMock;
+
+    @Mock
+    private PlayerRepository playerRepositoryMock;
+
+    @Test
+    void testExportTournaments_withPlayerOfUnseenTournament() throws Exception {
+        Tournament first = Tournament.builder().id(1L).rewardAmount(100).build();
+        Tournament third = Tournament.builder().id(3L).rewardAmount(300).build();
+        Tournament unseen = Tournament.builder().id(2L).rewardAmount(200).build();
+        when(tournamentRepositoryMock.streamAllByOrderByIdAsc()).thenReturn(Stream.of(first, third));
+        when(playerRepositoryMock.streamAllOrderByTournamentId()).thenReturn(Stream.of(
+                Player.builder().id(10L).name("A").tournament(first).build(),
+                Player.builder().id(20L).name("B").tournament(unseen).build(),
+                Player.builder().id(30L).name("C").tournament(third).build(),
+                Player.builder().id(31L).name("D").tournament(third).build()));
+        ExportServiceImpl exportService = new ExportServiceImpl(tournamentRepositoryMock, playerRepositoryMock, new ObjectMapper());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.exportTournaments(output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "{\"type\":\"tournament\",\"id\":1,\"rewardAmount\":100}",
+                "{\"type\":\"player\",\"id\":10,\"tournamentId\":1,\"name\":\"A\"}",
+                "{\"type\":\"tournament\",\"id\":3,\"rewardAmount\":300}",
+                "{\"type\":\"player\",\"id\":30,\"tournamentId\":3,\"name\":\"C\"}",
+                "{\"type\":\"player\",\"id\":31,\"tournamentId\":3,\"name\":\"D\"}");
+    }
+}
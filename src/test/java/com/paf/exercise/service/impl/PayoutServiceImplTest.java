@@ -0,0 +1,157 @@
+package com.paf.exercise.service.impl;
+
+import com.paf.exercise.exception.InvalidInputException;
+import com.paf.exercise.exception.ResourceNotFoundException;
+import com.paf.exercise.model.CursorPage;
+import com.paf.exercise.model.PayoutCurveType;
+import com.paf.exercise.model.PayoutDistribution;
+import com.paf.exercise.model.PayoutRequest;
+import com.paf.exercise.model.PayoutSummary;
+import com.paf.exercise.payout.GeometricCurve;
+import com.paf.exercise.payout.PayoutTable;
+import com.paf.exercise.payout.TopPercentageCurve;
+import com.paf.exercise.payout.WinnerTakesAllCurve;
+import com.paf.exercise.repository.PayoutRepository;
+import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.repository.TournamentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayoutServiceImplTest {
+
+    @Mock
+    private TournamentRepository tournamentRepositoryMock;
+
+    @Mock
+    private PlayerRepository playerRepositoryMock;
+
+    @Mock
+    private PayoutRepository payoutRepositoryMock;
+
+    private PayoutServiceImpl payoutService;
+
+    @BeforeEach
+    void setUp() {
+        payoutService = new PayoutServiceImpl(tournamentRepositoryMock, playerRepositoryMock, payoutRepositoryMock,
+                Arrays.asList(new WinnerTakesAllCurve(), new TopPercentageCurve(), new GeometricCurve()));
+    }
+
+    @Test
+    void testDistribute() {
+        when(tournamentRepositoryMock.findRewardAmountById(1L)).thenReturn(Optional.of(100));
+        when(playerRepositoryMock.findIdsByTournamentId(1L, Pageable.unpaged())).thenReturn(Arrays.asList(1L, 2L, 3L));
+        PayoutRequest request = getRequest(PayoutCurveType.TOP_PERCENTAGE, new long[]{3, 1, 2}, new double[]{10, 30, 20});
+        request.setPercentages(Arrays.asList(70, 30));
+
+        PayoutDistribution distribution = payoutService.distribute(1L, request);
+
+        assertThat(distribution.getRewardAmount()).isEqualTo(100);
+        assertThat(distribution.getRankedPlayers()).isEqualTo(3);
+        assertThat(distribution.getPaidPlayers()).isEqualTo(2);
+        assertThat(distribution.getPaidAmount()).isEqualTo(100);
+        ArgumentCaptor<PayoutTable> payouts = ArgumentCaptor.forClass(PayoutTable.class);
+        verify(payoutRepositoryMock, times(1)).replaceAll(eq(1L), payouts.capture());
+        assertThat(payouts.getValue().getPlayerIds()).containsExactly(1, 2);
+        assertThat(payouts.getValue().getAmounts()).containsExactly(70, 30);
+    }
+
+    @Test
+    void testDistribute_withNotExistingTournament() {
+        when(tournamentRepositoryMock.findRewardAmountById(1L)).thenReturn(Optional.empty());
+        PayoutRequest request = getRequest(PayoutCurveType.WINNER_TAKES_ALL, new long[]{1}, new double[]{1});
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> payoutService.distribute(1L, request))
+                .withMessage("The tournament with id: 1 does not exist!");
+        verify(payoutRepositoryMock, times(0)).replaceAll(anyLong(), any());
+    }
+
+    @Test
+    void testDistribute_withNotRegisteredPlayer() {
+        when(tournamentRepositoryMock.findRewardAmountById(1L)).thenReturn(Optional.of(100));
+        when(playerRepositoryMock.findIdsByTournamentId(1L, Pageable.unpaged())).thenReturn(Collections.singletonList(1L));
+        PayoutRequest request = getRequest(PayoutCurveType.WINNER_TAKES_ALL, new long[]{1, 7}, new double[]{1, 2});
+
+        assertThatExceptionOfType(InvalidInputException.class)
+                .isThrownBy(() -> payoutService.distribute(1L, request))
+                .withMessage("The player with id: 7 is not registered in the tournament: 1!");
+        verify(payoutRepositoryMock, times(0)).replaceAll(anyLong(), any());
+    }
+
+    @Test
+    void testDistribute_withDuplicatedPlayer() {
+        when(tournamentRepositoryMock.findRewardAmountById(1L)).thenReturn(Optional.of(100));
+        when(playerRepositoryMock.findIdsByTournamentId(1L, Pageable.unpaged())).thenReturn(Collections.singletonList(1L));
+        PayoutRequest request = getRequest(PayoutCurveType.WINNER_TAKES_ALL, new long[]{1, 1}, new double[]{1, 2});
+
+        assertThatExceptionOfType(InvalidInputException.class)
+                .isThrownBy(() -> payoutService.distribute(1L, request))
+                .withMessage("The player with id: 1 is ranked more than once!");
+    }
+
+    @Test
+    void testDistribute_withMismatchedStandings() {
+        when(tournamentRepositoryMock.findRewardAmountById(1L)).thenReturn(Optional.of(100));
+        PayoutRequest request = getRequest(PayoutCurveType.WINNER_TAKES_ALL, new long[]{1, 2}, new double[]{1});
+
+        assertThatExceptionOfType(InvalidInputException.class)
+                .isThrownBy(() -> payoutService.distribute(1L, request))
+                .withMessage("The playerIds and scores objects must have the same length!");
+        verify(playerRepositoryMock, times(0)).findIdsByTournamentId(anyLong(), any());
+    }
+
+    @Test
+    void testDistribute_withInvalidPercentages() {
+        when(tournamentRepositoryMock.findRewardAmountById(1L)).thenReturn(Optional.of(100));
+        when(playerRepositoryMock.findIdsByTournamentId(1L, Pageable.unpaged())).thenReturn(Collections.singletonList(1L));
+        PayoutRequest request = getRequest(PayoutCurveType.TOP_PERCENTAGE, new long[]{1}, new double[]{1});
+        request.setPercentages(Arrays.asList(70, 20));
+
+        assertThatExceptionOfType(InvalidInputException.class)
+                .isThrownBy(() -> payoutService.distribute(1L, request))
+                .withMessage("The percentages object must add up to 100!");
+    }
+
+    @Test
+    void testGetPayouts() {
+        List<PayoutSummary> rows = Arrays.asList(new PayoutSummary(1L, 5L, 1, 70L), new PayoutSummary(2L, 4L, 2, 30L));
+        when(payoutRepositoryMock.findPayouts(1L, 0L, PageRequest.of(0, 2))).thenReturn(rows);
+
+        CursorPage<PayoutSummary> page = payoutService.getPayouts(1L, null, 1);
+
+        assertThat(page.getItems()).containsExactly(rows.get(0));
+        assertThat(page.getNextCursor()).isEqualTo(CursorPage.encode(1));
+    }
+
+    @Test
+    void testGetPayouts_withNotExistingTournament() {
+        when(payoutRepositoryMock.findPayouts(1L, 0L, PageRequest.of(0, 2))).thenReturn(Collections.emptyList());
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> payoutService.getPayouts(1L, null, 1))
+                .withMessage("The tournament with id: 1 does not exist!");
+    }
+
+    private PayoutRequest getRequest(PayoutCurveType curve, long[] playerIds, double[] scores) {
+        return PayoutRequest.builder().curve(curve).playerIds(playerIds).scores(scores).build();
+    }
+}
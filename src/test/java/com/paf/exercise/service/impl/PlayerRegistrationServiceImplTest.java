@@ -0,0 +1,110 @@
+package com.paf.exercise.service.impl;
+
+import com.paf.exercise.exception.ResourceNotFoundException;
+import com.paf.exercise.exception.ServiceUnavailableException;
+import com.paf.exercise.model.Player;
+import com.paf.exercise.model.PlayerRegistration;
+import com.paf.exercise.service.api.PlayerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlayerRegistrationServiceImplTest {
+
+    @Mock
+    private PlayerService playerServiceMock;
+
+    private PlayerRegistrationServiceImpl registrationService;
+
+    @BeforeEach
+    void setUp() {
+        registrationService = new PlayerRegistrationServiceImpl(playerServiceMock, new SimpleMeterRegistry(), 3, 10,
+                Duration.ofSeconds(2), Duration.ofHours(1), 100);
+    }
+
+    @Test
+    void testWriteBatch() throws InterruptedException {
+        PlayerRegistration registration = registrationService.register(1L, getPlayer("Tester"));
+        PlayerRegistration registration1 = registrationService.register(2L, getPlayer("Other"));
+        PlayerRegistration registration2 = registrationService.register(1L, getPlayer("Third"));
+        when(playerServiceMock.createAll(anyMap())).thenAnswer(invocation -> {
+            Map<Long, List<Player>> players = invocation.getArgument(0);
+            players.get(1L).get(0).setId(5L);
+            players.get(1L).get(1).setId(6L);
+            return Set.of(2L);
+        });
+
+        assertThat(registration.getStatus()).isEqualTo(PlayerRegistration.Status.PENDING);
+        assertThat(registrationService.writeBatch(Duration.ZERO)).isEqualTo(3);
+
+        assertThat(registration.getStatus()).isEqualTo(PlayerRegistration.Status.CREATED);
+        assertThat(registration.getPlayerId()).isEqualTo(5L);
+        assertThat(registration2.getPlayerId()).isEqualTo(6L);
+        assertThat(registration1.getStatus()).isEqualTo(PlayerRegistration.Status.REJECTED);
+        assertThat(registration1.getMessage()).isEqualTo("The tournament with id: 2 does not exist!");
+        assertThat(registrationService.getRegistration(registration.getId())).isSameAs(registration);
+        verify(playerServiceMock, times(1)).createAll(anyMap());
+        assertThat(registrationService.writeBatch(Duration.ZERO)).isZero();
+    }
+
+    @Test
+    void testWriteBatch_withFailedGroupCommit() throws InterruptedException {
+        PlayerRegistration registration = registrationService.register(1L, getPlayer("Tester"));
+        PlayerRegistration registration1 = registrationService.register(2L, getPlayer("Other"));
+        when(playerServiceMock.createAll(anyMap()))
+                .thenThrow(new DataIntegrityViolationException("The tournament has been deleted!"))
+                .thenAnswer(invocation -> {
+                    Map<Long, List<Player>> players = invocation.getArgument(0);
+                    players.get(1L).get(0).setId(5L);
+                    return Set.of();
+                })
+                .thenThrow(new DataIntegrityViolationException("The tournament has been deleted!"));
+
+        registrationService.writeBatch(Duration.ZERO);
+
+        assertThat(registration.getStatus()).isEqualTo(PlayerRegistration.Status.CREATED);
+        assertThat(registration1.getStatus()).isEqualTo(PlayerRegistration.Status.REJECTED);
+        assertThat(registration1.getMessage()).isEqualTo("The tournament has been deleted!");
+        verify(playerServiceMock, times(3)).createAll(anyMap());
+    }
+
+    @Test
+    void testRegister_withFullQueue() {
+        for (int i = 0; i < 3; i++) {
+            registrationService.register(1L, getPlayer("Tester"));
+        }
+
+        assertThatExceptionOfType(ServiceUnavailableException.class)
+                .isThrownBy(() -> registrationService.register(1L, getPlayer("Tester")))
+                .withMessage("The registration queue is full, retry later!")
+                .satisfies(exception -> assertThat(exception.getRetryAfter()).isEqualTo(Duration.ofSeconds(2)));
+        verify(playerServiceMock, times(0)).createAll(any());
+    }
+
+    @Test
+    void testGetRegistration_withNotExistingId() {
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> registrationService.getRegistration("unknown"))
+                .withMessage("The registration with id: unknown does not exist!");
+    }
+
+    private static Player getPlayer(String name) {
+        return Player.builder().name(name).build();
+    }
+}
@@ -1,26 +1,40 @@
 package com.paf.exercise.service.impl;
 
+import com.paf.exercise.event.ChangeType;
+import com.paf.exercise.event.PlayerChangedEvent;
 import com.paf.exercise.exception.InvalidInputException;
+import com.paf.exercise.exception.PreconditionFailedException;
 import com.paf.exercise.exception.ResourceNotFoundException;
 import com.paf.exercise.model.Player;
+import com.paf.exercise.model.PlayerDetails;
+import com.paf.exercise.model.PlayerRegistrationResult;
+import com.paf.exercise.model.PlayerSearchResult;
+import com.paf.exercise.model.Tournament;
 import com.paf.exercise.repository.PlayerRepository;
 import com.paf.exercise.repository.TournamentRepository;
+import com.paf.exercise.search.PlayerNameIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +45,12 @@ class PlayerServiceImplTest {
     @Mock
     private TournamentRepository tournamentRepositoryMock;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisherMock;
+
+    @Mock
+    private PlayerNameIndex playerNameIndexMock;
+
     @InjectMocks
     @Spy
     private PlayerServiceImpl playerServiceSpy;
@@ -75,6 +95,66 @@ class PlayerServiceImplTest {
         verify(playerRepositoryMock, times(0)).save(any(Player.class));
     }
 
+    @Test
+    public void testCreateAll() {
+        Tournament tournament = Tournament.builder().id(1L).rewardAmount(200).build();
+        Player player = Player.builder().name("Tester").build();
+        Player player1 = Player.builder().name(" ").build();
+
+        when(tournamentRepositoryMock.findById(1L)).thenReturn(Optional.of(tournament));
+        doAnswer(invocation -> {
+            List<Player> players = invocation.getArgument(0);
+            players.forEach(accepted -> accepted.setId(5L));
+            return null;
+        }).when(playerRepositoryMock).saveAllInBatches(anyList());
+
+        List<PlayerRegistrationResult> results = playerServiceSpy.createAll(1L, Arrays.asList(player, player1));
+
+        assertThat(results).extracting(PlayerRegistrationResult::getStatus)
+                .containsExactly(PlayerRegistrationResult.Status.CREATED, PlayerRegistrationResult.Status.REJECTED);
+        assertThat(results.get(0).getId()).isEqualTo(5L);
+        assertThat(results.get(1).getMessage()).isEqualTo("The name object is required!");
+        assertThat(player.getTournament()).isEqualTo(tournament);
+        verify(playerRepositoryMock, times(1)).saveAllInBatches(List.of(player));
+        verify(eventPublisherMock, times(1)).publishEvent(new PlayerChangedEvent(5L, 1L, "Tester", ChangeType.CREATED));
+    }
+
+    @Test
+    public void testCreateAll_withNotExistingTournament() {
+        when(tournamentRepositoryMock.findById(1L)).thenReturn(Optional.empty());
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> playerServiceSpy.createAll(1L, List.of(getPlayer())))
+                .withMessage("The tournament with id: 1 does not exist!");
+        verify(playerRepositoryMock, times(0)).saveAllInBatches(anyList());
+    }
+
+    @Test
+    public void testCreateAll_withManyTournaments() {
+        Tournament tournament = Tournament.builder().id(1L).rewardAmount(200).build();
+        Player player = Player.builder().name("Tester").build();
+        Player player1 = Player.builder().name("Other").build();
+        Map<Long, List<Player>> players = new LinkedHashMap<>();
+        players.put(1L, List.of(player));
+        players.put(2L, List.of(player1));
+
+        when(tournamentRepositoryMock.lockExistingByIdIn(players.keySet())).thenReturn(List.of(1L));
+        when(tournamentRepositoryMock.getReferenceById(1L)).thenReturn(tournament);
+        doAnswer(invocation -> {
+            List<Player> accepted = invocation.getArgument(0);
+            accepted.forEach(created -> created.setId(5L));
+            return null;
+        }).when(playerRepositoryMock).saveAllInBatches(anyList());
+
+        Set<Long> missing = playerServiceSpy.createAll(players);
+
+        assertThat(missing).containsExactly(2L);
+        assertThat(player.getTournament()).isEqualTo(tournament);
+        verify(playerRepositoryMock, times(1)).saveAllInBatches(List.of(player));
+        verify(tournamentRepositoryMock, times(1)).incrementVersion(1L);
+        verify(tournamentRepositoryMock, times(0)).incrementVersion(2L);
+        verify(eventPublisherMock, times(1)).publishEvent(new PlayerChangedEvent(5L, 1L, "Tester", ChangeType.CREATED));
+    }
 
     @Test
     public void testUpdate() {
@@ -82,10 +162,25 @@ class PlayerServiceImplTest {
         when(playerRepositoryMock.findById(any())).thenReturn(Optional.of(player));
         when(playerRepositoryMock.save(player)).thenReturn(player);
 
-        Player updatedPlayer = playerServiceSpy.update(1L, player);
+        Player updatedPlayer = playerServiceSpy.update(1L, player, null);
 
         assertThat(updatedPlayer).isEqualTo(player);
         verify(playerRepositoryMock, times(1)).save(any(Player.class));
+        verify(tournamentRepositoryMock, times(1)).incrementVersion(1L);
+        verify(eventPublisherMock, times(1)).publishEvent(new PlayerChangedEvent(1L, 1L, "Tester", ChangeType.UPDATED));
+    }
+
+    @Test
+    public void testUpdate_withStaleTournamentVersion() {
+        Player player = getPlayer();
+        when(playerRepositoryMock.findById(any())).thenReturn(Optional.of(player));
+        when(tournamentRepositoryMock.incrementVersion(1L, 2L)).thenReturn(0);
+
+        assertThatExceptionOfType(PreconditionFailedException.class)
+                .isThrownBy(() -> playerServiceSpy.update(1L, player, 2L))
+                .withMessage("The tournament with id: 1 is no longer at version: 2!");
+        verify(playerRepositoryMock, times(0)).save(any(Player.class));
+        verify(eventPublisherMock, times(0)).publishEvent(any());
     }
 
     @Test
@@ -93,18 +188,19 @@ class PlayerServiceImplTest {
         Player player = getPlayer();
 
         assertThatExceptionOfType(ResourceNotFoundException.class)
-                .isThrownBy(() -> playerServiceSpy.update(1L, player))
+                .isThrownBy(() -> playerServiceSpy.update(1L, player, null))
                 .withMessage("The player with id: 1 does not exist!");
         verify(playerRepositoryMock, times(0)).save(any(Player.class));
     }
 
     @Test
     public void testDelete() {
-        Player player = getPlayer();
-        when(playerRepositoryMock.findById(any())).thenReturn(Optional.of(player));
+        when(playerRepositoryMock.deleteByIdReturningTournamentId(1L)).thenReturn(Optional.of(1L));
         playerServiceSpy.delete(1L);
 
-        verify(playerRepositoryMock, times(1)).deleteById(1L);
+        verify(playerRepositoryMock, times(1)).deleteByIdReturningTournamentId(1L);
+        verify(playerRepositoryMock, times(0)).findById(any());
+        verify(eventPublisherMock, times(1)).publishEvent(new PlayerChangedEvent(1L, 1L, null, ChangeType.DELETED));
     }
 
     @Test
@@ -112,7 +208,7 @@ class PlayerServiceImplTest {
         assertThatExceptionOfType(ResourceNotFoundException.class)
                 .isThrownBy(() -> playerServiceSpy.delete(1L))
                 .withMessage("The player with id: 1 does not exist!");
-        verify(playerRepositoryMock, times(0)).deleteById(any());
+        verify(eventPublisherMock, times(0)).publishEvent(any());
     }
 
     @Test
@@ -130,6 +226,15 @@ class PlayerServiceImplTest {
                 .withMessage("The player does not exits with name: tester");
     }
 
+    @Test
+    public void testSearch() {
+        List<PlayerSearchResult> results = List.of(new PlayerSearchResult(1L, "Tester", 1L));
+        when(playerNameIndexMock.search("tes", 10)).thenReturn(results);
+
+        assertThat(playerServiceSpy.search("tes", 10)).isEqualTo(results);
+        verifyNoInteractions(playerRepositoryMock);
+    }
+
     @Test
     public void testGetPlayersByTournamentId() {
         Player player = getPlayer();
@@ -138,13 +243,20 @@ class PlayerServiceImplTest {
         player1.setName("Tester1");
         player1.setId(2L);
 
-        when(tournamentRepositoryMock.existsById(any())).thenReturn(TRUE);
-        when(playerRepositoryMock.findByTournamentId(1L)).thenReturn(Arrays.asList(player, player1));
+        when(playerRepositoryMock.findRosterByTournamentId(1L)).thenReturn(Arrays.asList(player, player1));
 
-        List<Player> playersByTournamentId = playerServiceSpy.getPlayersByTournamentId(1L);
+        List<PlayerDetails> playersByTournamentId = playerServiceSpy.getPlayersByTournamentId(1L);
 
-        assertThat(playersByTournamentId).isEqualTo(Arrays.asList(player, player1));
+        assertThat(playersByTournamentId).containsExactly(PlayerDetails.of(player), PlayerDetails.of(player1));
         assertThat(playersByTournamentId.size()).isEqualTo(2);
+        verify(tournamentRepositoryMock, times(0)).existsById(any());
+    }
+
+    @Test
+    public void testGetPlayersByTournamentId_withoutPlayers() {
+        when(playerRepositoryMock.findRosterByTournamentId(1L)).thenReturn(Collections.singletonList(null));
+
+        assertThat(playerServiceSpy.getPlayersByTournamentId(1L)).isEmpty();
     }
 
     @Test
@@ -155,6 +267,6 @@ class PlayerServiceImplTest {
     }
 
     private static Player getPlayer() {
-        return Player.builder().name("Tester").id(1L).build();
+        return Player.builder().name("Tester").id(1L).tournament(Tournament.builder().id(1L).build()).build();
     }
 }
\ No newline at end of file
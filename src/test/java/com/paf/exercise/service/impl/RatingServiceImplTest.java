@@ -0,0 +1,110 @@
+package com.paf.exercise.service.impl;
+
+import com.paf.exercise.event.ChangeType;
+import com.paf.exercise.event.TournamentChangedEvent;
+import com.paf.exercise.exception.InvalidInputException;
+import com.paf.exercise.exception.ResourceNotFoundException;
+import com.paf.exercise.model.MatchResults;
+import com.paf.exercise.model.RatingUpdate;
+import com.paf.exercise.rating.PlayerRatings;
+import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.repository.TournamentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingServiceImplTest {
+
+    @Mock
+    private TournamentRepository tournamentRepositoryMock;
+
+    @Mock
+    private PlayerRepository playerRepositoryMock;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisherMock;
+
+    private RatingServiceImpl ratingService;
+
+    @BeforeEach
+    void setUp() {
+        ratingService = new RatingServiceImpl(tournamentRepositoryMock, playerRepositoryMock, eventPublisherMock, 1500, 32);
+    }
+
+    @Test
+    void testReportResults() {
+        when(tournamentRepositoryMock.lockById(1L)).thenReturn(Optional.of(1L));
+        when(playerRepositoryMock.findRatings(1L, 1500))
+                .thenReturn(new PlayerRatings(new long[]{10L, 20L, 30L}, new double[]{1500, 1500, 1500}));
+
+        RatingUpdate update = ratingService.reportResults(1L, getResults(new long[]{30L}, new long[]{10L}, new double[]{1}));
+
+        assertThat(update.getResults()).isEqualTo(1);
+        assertThat(update.getUpdatedPlayers()).isEqualTo(2);
+        ArgumentCaptor<long[]> playerIds = ArgumentCaptor.forClass(long[].class);
+        ArgumentCaptor<double[]> ratings = ArgumentCaptor.forClass(double[].class);
+        verify(playerRepositoryMock, times(1)).updateRatings(eq(1L), playerIds.capture(), ratings.capture());
+        assertThat(playerIds.getValue()).containsExactly(10L, 30L);
+        assertThat(ratings.getValue()).containsExactly(1484, 1516);
+        verify(eventPublisherMock, times(1)).publishEvent(new TournamentChangedEvent(1L, ChangeType.UPDATED));
+    }
+
+    @Test
+    void testReportResults_withNotExistingTournament() {
+        when(tournamentRepositoryMock.lockById(1L)).thenReturn(Optional.empty());
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> ratingService.reportResults(1L, getResults(new long[]{1L}, new long[]{2L}, new double[]{1})))
+                .withMessage("The tournament with id: 1 does not exist!");
+        verify(playerRepositoryMock, times(0)).findRatings(anyLong(), anyDouble());
+    }
+
+    @Test
+    void testReportResults_withNotRegisteredPlayer() {
+        when(tournamentRepositoryMock.lockById(1L)).thenReturn(Optional.of(1L));
+        when(playerRepositoryMock.findRatings(1L, 1500))
+                .thenReturn(new PlayerRatings(new long[]{10L}, new double[]{1500}));
+
+        assertThatExceptionOfType(InvalidInputException.class)
+                .isThrownBy(() -> ratingService.reportResults(1L, getResults(new long[]{10L}, new long[]{20L}, new double[]{1})))
+                .withMessage("The player with id: 20 is not registered in the tournament: 1!");
+        verify(playerRepositoryMock, times(0)).updateRatings(anyLong(), any(), any());
+    }
+
+    @Test
+    void testReportResults_withSamePlayers() {
+        when(tournamentRepositoryMock.lockById(1L)).thenReturn(Optional.of(1L));
+        when(playerRepositoryMock.findRatings(1L, 1500))
+                .thenReturn(new PlayerRatings(new long[]{10L}, new double[]{1500}));
+
+        assertThatExceptionOfType(InvalidInputException.class)
+                .isThrownBy(() -> ratingService.reportResults(1L, getResults(new long[]{10L}, new long[]{10L}, new double[]{1})))
+                .withMessage("The player with id: 10 cannot play against themselves!");
+    }
+
+    @Test
+    void testReportResults_withInvalidScore() {
+        assertThatExceptionOfType(InvalidInputException.class)
+                .isThrownBy(() -> ratingService.reportResults(1L, getResults(new long[]{10L}, new long[]{20L}, new double[]{2})))
+                .withMessage("The score: 2.0 must be between 0 and 1!");
+        verify(tournamentRepositoryMock, times(0)).lockById(anyLong());
+    }
+
+    private MatchResults getResults(long[] homePlayerIds, long[] awayPlayerIds, double[] scores) {
+        return MatchResults.builder().homePlayerIds(homePlayerIds).awayPlayerIds(awayPlayerIds).scores(scores).build();
+    }
+}
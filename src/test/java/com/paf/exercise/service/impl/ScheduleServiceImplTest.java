@@ -0,0 +1,151 @@
+package com.paf.exercise.service.impl;
+
+import com.paf.exercise.exception.InvalidInputException;
+import com.paf.exercise.exception.ResourceNotFoundException;
+import com.paf.exercise.model.CursorPage;
+import com.paf.exercise.model.Match;
+import com.paf.exercise.model.MatchSummary;
+import com.paf.exercise.model.Schedule;
+import com.paf.exercise.model.ScheduleFormat;
+import com.paf.exercise.model.ScheduleRequest;
+import com.paf.exercise.model.ScheduleSummary;
+import com.paf.exercise.rating.PlayerRatings;
+import com.paf.exercise.repository.MatchRepository;
+import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.repository.ScheduleRepository;
+import com.paf.exercise.repository.TournamentRepository;
+import com.paf.exercise.schedule.RoundRobinGenerator;
+import com.paf.exercise.schedule.Seeding;
+import com.paf.exercise.schedule.SingleEliminationGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleServiceImplTest {
+
+    @Mock
+    private TournamentRepository tournamentRepositoryMock;
+
+    @Mock
+    private PlayerRepository playerRepositoryMock;
+
+    @Mock
+    private ScheduleRepository scheduleRepositoryMock;
+
+    @Mock
+    private MatchRepository matchRepositoryMock;
+
+    private ScheduleServiceImpl scheduleService;
+
+    @BeforeEach
+    void setUp() {
+        scheduleService = new ScheduleServiceImpl(tournamentRepositoryMock, playerRepositoryMock, scheduleRepositoryMock,
+                matchRepositoryMock, Arrays.asList(new SingleEliminationGenerator(), new RoundRobinGenerator()), 1500);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testGenerate() {
+        when(tournamentRepositoryMock.existsById(1L)).thenReturn(true);
+        when(playerRepositoryMock.findIdsByTournamentId(1L, Pageable.unpaged())).thenReturn(Arrays.asList(1L, 2L, 3L));
+
+        ScheduleSummary schedule = scheduleService.generate(1L, new ScheduleRequest(ScheduleFormat.SINGLE_ELIMINATION, null, false));
+
+        assertThat(schedule).isEqualTo(new ScheduleSummary(1L, ScheduleFormat.SINGLE_ELIMINATION, 3, 2, 3L));
+        ArgumentCaptor<Schedule> stored = ArgumentCaptor.forClass(Schedule.class);
+        ArgumentCaptor<List<Match>> matches = ArgumentCaptor.forClass(List.class);
+        verify(scheduleRepositoryMock, times(1)).replace(stored.capture(), matches.capture());
+        assertThat(Seeding.unpack(stored.getValue().getSeeds())).containsExactly(1L, 2L, 3L);
+        assertThat(matches.getValue()).hasSize(3);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testGenerate_byRating() {
+        when(tournamentRepositoryMock.existsById(1L)).thenReturn(true);
+        when(playerRepositoryMock.findIdsByTournamentId(1L, Pageable.unpaged())).thenReturn(Arrays.asList(1L, 2L, 3L, 4L));
+        when(playerRepositoryMock.findRatings(1L, 1500))
+                .thenReturn(new PlayerRatings(new long[]{1L, 2L, 3L, 4L}, new double[]{1500, 1600, 1400, 1600}));
+
+        scheduleService.generate(1L, ScheduleRequest.builder().format(ScheduleFormat.SINGLE_ELIMINATION).byRating(true).build());
+
+        ArgumentCaptor<Schedule> stored = ArgumentCaptor.forClass(Schedule.class);
+        verify(scheduleRepositoryMock, times(1)).replace(stored.capture(), any(List.class));
+        assertThat(Seeding.unpack(stored.getValue().getSeeds())).containsExactly(2L, 4L, 1L, 3L);
+    }
+
+    @Test
+    void testGenerate_withNotExistingTournament() {
+        when(tournamentRepositoryMock.existsById(1L)).thenReturn(false);
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> scheduleService.generate(1L, new ScheduleRequest(ScheduleFormat.ROUND_ROBIN, null, false)))
+                .withMessage("The tournament with id: 1 does not exist!");
+        verify(scheduleRepositoryMock, times(0)).replace(any(), any());
+    }
+
+    @Test
+    void testGenerate_withTooFewPlayers() {
+        when(tournamentRepositoryMock.existsById(1L)).thenReturn(true);
+        when(playerRepositoryMock.findIdsByTournamentId(1L, Pageable.unpaged())).thenReturn(Collections.singletonList(1L));
+
+        assertThatExceptionOfType(InvalidInputException.class)
+                .isThrownBy(() -> scheduleService.generate(1L, new ScheduleRequest(ScheduleFormat.ROUND_ROBIN, null, false)))
+                .withMessage("The tournament with id: 1 needs at least 2 players to be scheduled!");
+        verify(scheduleRepositoryMock, times(0)).replace(any(), any());
+    }
+
+    @Test
+    void testGetRound_withStoredMatches() {
+        List<MatchSummary> rows = Collections.singletonList(new MatchSummary(1L, Match.Bracket.MAIN, 1, 1L, 2L, null, null));
+        when(scheduleRepositoryMock.findSummary(1L))
+                .thenReturn(Optional.of(new ScheduleSummary(1L, ScheduleFormat.SINGLE_ELIMINATION, 2, 1, 1L)));
+        when(matchRepositoryMock.findRound(1L, 1, 0L, PageRequest.of(0, 11))).thenReturn(rows);
+
+        CursorPage<MatchSummary> page = scheduleService.getRound(1L, 1, null, 10);
+
+        assertThat(page.getItems()).isEqualTo(rows);
+        assertThat(page.getNextCursor()).isNull();
+        verify(scheduleRepositoryMock, times(0)).findSeeds(anyLong());
+    }
+
+    @Test
+    void testGetRound_withComputedMatches() {
+        when(scheduleRepositoryMock.findSummary(1L))
+                .thenReturn(Optional.of(new ScheduleSummary(1L, ScheduleFormat.ROUND_ROBIN, 4, 3, 6L)));
+        when(scheduleRepositoryMock.findSeeds(1L)).thenReturn(Optional.of(Seeding.pack(new long[]{1L, 2L, 3L, 4L})));
+
+        CursorPage<MatchSummary> page = scheduleService.getRound(1L, 2, null, 1);
+
+        assertThat(page.getItems()).extracting(MatchSummary::getNumber).containsExactly(3L);
+        assertThat(page.getNextCursor()).isEqualTo(CursorPage.encode(3L));
+        verify(matchRepositoryMock, times(0)).findRound(anyLong(), anyInt(), anyLong(), any());
+    }
+
+    @Test
+    void testGetSchedule_withoutSchedule() {
+        when(scheduleRepositoryMock.findSummary(1L)).thenReturn(Optional.empty());
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> scheduleService.getSchedule(1L))
+                .withMessage("The tournament with id: 1 has no schedule!");
+    }
+}
@@ -0,0 +1,121 @@
+package com.paf.exercise.service.impl;
+
+import com.paf.exercise.event.ChangeType;
+import com.paf.exercise.event.PlayerChangedEvent;
+import com.paf.exercise.event.TournamentChangedEvent;
+import com.paf.exercise.exception.ResourceNotFoundException;
+import com.paf.exercise.model.PurgeJob;
+import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.repository.TournamentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TournamentPurgeServiceImplTest {
+
+    @Mock
+    private TournamentRepository tournamentRepositoryMock;
+
+    @Mock
+    private PlayerRepository playerRepositoryMock;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisherMock;
+
+    @Mock
+    private PlatformTransactionManager transactionManagerMock;
+
+    private TournamentPurgeServiceImpl purgeService;
+
+    @BeforeEach
+    void setUp() {
+        purgeService = new TournamentPurgeServiceImpl(tournamentRepositoryMock, playerRepositoryMock, eventPublisherMock,
+                transactionManagerMock, Runnable::run, 2, Duration.ofHours(1));
+    }
+
+    @Test
+    void testPurge() {
+        when(tournamentRepositoryMock.existsById(1L)).thenReturn(true);
+        when(playerRepositoryMock.findIdsByTournamentId(1L, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(1L, 2L))
+                .thenReturn(List.of(3L, 4L))
+                .thenReturn(List.of());
+        when(playerRepositoryMock.deleteByTournamentIdAndIdIn(1L, Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(1L, 2L));
+        // Player 4 has been deleted concurrently, which must not end the purge early.
+        when(playerRepositoryMock.deleteByTournamentIdAndIdIn(1L, List.of(3L, 4L))).thenReturn(List.of(3L));
+        when(tournamentRepositoryMock.bulkDeleteById(1L)).thenReturn(1);
+
+        PurgeJob job = purgeService.purge(1L);
+
+        assertThat(job.getStatus()).isEqualTo(PurgeJob.Status.COMPLETED);
+        assertThat(job.getDeletedPlayers()).isEqualTo(3);
+        assertThat(purgeService.getJob(job.getId())).isSameAs(job);
+        verify(playerRepositoryMock, times(3)).findIdsByTournamentId(1L, PageRequest.of(0, 2));
+        verify(playerRepositoryMock, times(1)).bulkDeleteByTournamentId(1L);
+        verify(tournamentRepositoryMock, times(1)).bulkDeleteById(1L);
+        verify(transactionManagerMock, times(4)).commit(any());
+        for (long playerId = 1; playerId <= 3; playerId++) {
+            verify(eventPublisherMock, times(1)).publishEvent(new PlayerChangedEvent(playerId, 1L, null, ChangeType.DELETED));
+        }
+        verify(eventPublisherMock, times(2)).publishEvent(new TournamentChangedEvent(1L, ChangeType.UPDATED));
+        verify(eventPublisherMock, times(1)).publishEvent(new TournamentChangedEvent(1L, ChangeType.DELETED));
+    }
+
+    @Test
+    void testPurge_withConcurrentlyDeletedTournament() {
+        when(tournamentRepositoryMock.existsById(1L)).thenReturn(true);
+        when(tournamentRepositoryMock.bulkDeleteById(1L)).thenReturn(0);
+
+        PurgeJob job = purgeService.purge(1L);
+
+        assertThat(job.getStatus()).isEqualTo(PurgeJob.Status.FAILED);
+        assertThat(job.getMessage()).isEqualTo("The tournament with id: 1 does not exist!");
+        verify(transactionManagerMock, times(1)).rollback(any());
+        verify(eventPublisherMock, times(0)).publishEvent(any());
+    }
+
+    @Test
+    void testPurge_withFailure() {
+        when(tournamentRepositoryMock.existsById(1L)).thenReturn(true);
+        when(playerRepositoryMock.findIdsByTournamentId(1L, PageRequest.of(0, 2))).thenThrow(new IllegalStateException("Failure"));
+
+        PurgeJob job = purgeService.purge(1L);
+
+        assertThat(job.getStatus()).isEqualTo(PurgeJob.Status.FAILED);
+        assertThat(job.getMessage()).isEqualTo("Failure");
+        verify(tournamentRepositoryMock, times(0)).bulkDeleteById(1L);
+        verify(eventPublisherMock, times(0)).publishEvent(any());
+    }
+
+    @Test
+    void testPurge_withNotExistingTournament() {
+        when(tournamentRepositoryMock.existsById(1L)).thenReturn(false);
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> purgeService.purge(1L))
+                .withMessage("The tournament with id: 1 does not exist!");
+
+        verify(playerRepositoryMock, times(0)).findIdsByTournamentId(anyLong(), any());
+    }
+
+    @Test
+    void testGetJob_withNotExistingJob() {
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> purgeService.getJob("unknown"))
+                .withMessage("The purge job with id: unknown does not exist!");
+    }
+}
@@ -1,9 +1,17 @@
 package com.paf.exercise.service.impl;
 
+import com.paf.exercise.event.ChangeType;
+import com.paf.exercise.event.TournamentChangedEvent;
 import com.paf.exercise.exception.InvalidInputException;
+import com.paf.exercise.exception.PreconditionFailedException;
 import com.paf.exercise.exception.ResourceNotFoundException;
+import com.paf.exercise.model.CursorPage;
 import com.paf.exercise.model.Player;
+import com.paf.exercise.model.PlayerDetails;
+import com.paf.exercise.model.PlayerSummary;
 import com.paf.exercise.model.Tournament;
+import com.paf.exercise.model.TournamentDetails;
+import com.paf.exercise.model.TournamentSummary;
 import com.paf.exercise.repository.TournamentRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +19,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.Arrays;
 import java.util.List;
@@ -19,6 +29,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +38,9 @@ class TournamentServiceImplTest {
     @Mock
     private TournamentRepository tournamentRepositoryMock;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisherMock;
+
     @InjectMocks
     @Spy
     private TournamentServiceImpl tournamentServiceSpy;
@@ -34,34 +48,60 @@ class TournamentServiceImplTest {
     @Test
     void testCreate() {
         Tournament tournament = getTournament(1L, 200);
-        when(tournamentRepositoryMock.save(any(Tournament.class))).thenReturn(tournament);
+        when(tournamentRepositoryMock.insertIfAbsent(tournament)).thenReturn(true);
         Tournament tournament1 = tournamentServiceSpy.create(tournament);
 
         assertThat(tournament1).isEqualTo(tournament);
-        verify(tournamentRepositoryMock, times(1)).save(any(Tournament.class));
+        verify(tournamentRepositoryMock, times(1)).insertIfAbsent(tournament);
+        verify(tournamentRepositoryMock, times(0)).existsById(any());
+        verify(eventPublisherMock, times(1)).publishEvent(new TournamentChangedEvent(1L, ChangeType.CREATED));
     }
 
     @Test
     void testCreate_withAlreadyExits() {
         Tournament tournament = getTournament(1L, 200);
-        when(tournamentRepositoryMock.existsById(any())).thenReturn(true);
+        when(tournamentRepositoryMock.insertIfAbsent(tournament)).thenReturn(false);
         assertThatExceptionOfType(InvalidInputException.class)
                 .isThrownBy(() -> tournamentServiceSpy.create(tournament))
                 .withMessage("The tournament is already created with id: 1!");
+
+        verify(eventPublisherMock, times(0)).publishEvent(any());
     }
 
     @Test
     void testGetTournaments() {
-        Tournament tournament = getTournament(1L, 200);
-        Tournament tournament1 = getTournament(2L, 250);
+        TournamentSummary tournament = new TournamentSummary(1L, 200);
+        TournamentSummary tournament1 = new TournamentSummary(2L, 250);
+
+        List<TournamentSummary> tournamentList = Arrays.asList(tournament, tournament1);
+        when(tournamentRepositoryMock.findSummaries(0L, PageRequest.of(0, 11))).thenReturn(tournamentList);
+        CursorPage<TournamentSummary> tournaments = tournamentServiceSpy.getTournaments(null, 10);
 
-        List<Tournament> tournamentList = Arrays.asList(tournament, tournament1);
-        when(tournamentRepositoryMock.findAll()).thenReturn(tournamentList);
-        List<Tournament> tournaments = tournamentServiceSpy.getTournaments();
+        assertThat(tournaments.getItems()).containsExactly(tournament, tournament1);
+        assertThat(tournaments.getNextCursor()).isNull();
 
-        assertThat(tournaments).containsExactlyInAnyOrder(tournament, tournament1);
+        verify(tournamentRepositoryMock, times(1)).findSummaries(anyLong(), any());
+    }
 
-        verify(tournamentRepositoryMock, times(1)).findAll();
+    @Test
+    void testGetTournaments_withNextPage() {
+        TournamentSummary tournament = new TournamentSummary(3L, 200);
+        TournamentSummary tournament1 = new TournamentSummary(4L, 250);
+        TournamentSummary tournament2 = new TournamentSummary(5L, 300);
+
+        when(tournamentRepositoryMock.findSummaries(2L, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(tournament, tournament1, tournament2));
+        CursorPage<TournamentSummary> tournaments = tournamentServiceSpy.getTournaments(CursorPage.encode(2L), 2);
+
+        assertThat(tournaments.getItems()).containsExactly(tournament, tournament1);
+        assertThat(CursorPage.decode(tournaments.getNextCursor())).isEqualTo(4L);
+    }
+
+    @Test
+    void testGetTournaments_withInvalidCursor() {
+        assertThatExceptionOfType(InvalidInputException.class)
+                .isThrownBy(() -> tournamentServiceSpy.getTournaments("not-a-cursor", 10))
+                .withMessage("The cursor: not-a-cursor is invalid!");
     }
 
     @Test
@@ -70,14 +110,63 @@ class TournamentServiceImplTest {
         Tournament tournament1 = getTournament(2L, 250);
 
         when(tournamentRepositoryMock.findById(1L)).thenReturn(Optional.of(tournament));
-        when(tournamentRepositoryMock.save(any(Tournament.class))).thenReturn(tournament1);
+        when(tournamentRepositoryMock.saveAndFlush(any(Tournament.class))).thenReturn(tournament1);
 
-        Tournament updatedTournament = tournamentServiceSpy.update(1L, tournament1);
+        TournamentDetails updatedTournament = tournamentServiceSpy.update(1L, tournament1, null);
 
-        assertThat(updatedTournament).isEqualTo(tournament1);
+        assertThat(updatedTournament).isEqualTo(TournamentDetails.of(tournament1));
 
+        verify(tournamentRepositoryMock, times(1)).lockById(1L);
         verify(tournamentRepositoryMock, times(1)).findById(any());
-        verify(tournamentRepositoryMock, times(1)).save(any(Tournament.class));
+        verify(tournamentRepositoryMock, times(1)).saveAndFlush(any(Tournament.class));
+        verify(eventPublisherMock, times(1)).publishEvent(new TournamentChangedEvent(1L, ChangeType.UPDATED));
+    }
+
+    @Test
+    void testUpdate_withMatchingVersion() {
+        Tournament tournament = getTournament(1L, 200);
+        tournament.setVersion(3L);
+
+        when(tournamentRepositoryMock.findById(1L)).thenReturn(Optional.of(tournament));
+        when(tournamentRepositoryMock.saveAndFlush(tournament)).thenReturn(tournament);
+
+        TournamentDetails updatedTournament = tournamentServiceSpy.update(1L, getTournament(1L, 250), 3L);
+
+        assertThat(updatedTournament.getRewardAmount()).isEqualTo(250);
+        verify(tournamentRepositoryMock, times(1)).saveAndFlush(tournament);
+    }
+
+    @Test
+    void testUpdate_withStaleVersion() {
+        Tournament tournament = getTournament(1L, 200);
+        tournament.setVersion(3L);
+
+        when(tournamentRepositoryMock.findById(1L)).thenReturn(Optional.of(tournament));
+
+        assertThatExceptionOfType(PreconditionFailedException.class)
+                .isThrownBy(() -> tournamentServiceSpy.update(1L, getTournament(1L, 250), 2L))
+                .withMessage("The tournament with id: 1 is no longer at version: 2!");
+
+        assertThat(tournament.getRewardAmount()).isEqualTo(200);
+        verify(tournamentRepositoryMock, times(0)).saveAndFlush(any(Tournament.class));
+        verify(eventPublisherMock, times(0)).publishEvent(any());
+    }
+
+    @Test
+    void testGetVersion() {
+        when(tournamentRepositoryMock.findVersionById(1L)).thenReturn(Optional.of(4L));
+
+        assertThat(tournamentServiceSpy.getVersion(1L)).isEqualTo(4L);
+        verify(tournamentRepositoryMock, times(0)).findById(any());
+    }
+
+    @Test
+    void testGetVersion_withNotExistingKey() {
+        when(tournamentRepositoryMock.findVersionById(1L)).thenReturn(Optional.empty());
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> tournamentServiceSpy.getVersion(1L))
+                .withMessage("The tournament with id: 1 does not exist!");
     }
 
 
@@ -88,23 +177,25 @@ class TournamentServiceImplTest {
         when(tournamentRepositoryMock.findById(1L)).thenReturn(Optional.empty());
 
         assertThatExceptionOfType(ResourceNotFoundException.class)
-                .isThrownBy(() -> tournamentServiceSpy.update(1L, tournament))
+                .isThrownBy(() -> tournamentServiceSpy.update(1L, tournament, null))
                 .withMessage("The tournament with id: 1 does not exist!");
 
         verify(tournamentRepositoryMock, times(1)).findById(any());
-        verify(tournamentRepositoryMock, times(0)).save(any(Tournament.class));
+        verify(tournamentRepositoryMock, times(0)).saveAndFlush(any(Tournament.class));
     }
 
 
     @Test
     void testGetTournamentById() {
         Tournament tournament = getTournament(1L, 200);
+        tournament.setPlayers(List.of(Player.builder().id(5L).name("Tester").tournament(tournament).build()));
 
         when(tournamentRepositoryMock.findById(1L)).thenReturn(Optional.of(tournament));
-        Tournament tournamentById = tournamentServiceSpy.getTournamentById(1L);
+        TournamentDetails tournamentById = tournamentServiceSpy.getTournamentById(1L);
 
         verify(tournamentRepositoryMock, times(1)).findById(any());
-        assertThat(tournamentById).isEqualTo(tournament);
+        assertThat(tournamentById.getRewardAmount()).isEqualTo(200);
+        assertThat(tournamentById.getPlayers()).containsExactly(new PlayerDetails(5L, "Tester", null));
     }
 
     @Test
@@ -113,7 +204,7 @@ class TournamentServiceImplTest {
 
         when(tournamentRepositoryMock.findById(1L)).thenReturn(Optional.empty());
         assertThatExceptionOfType(ResourceNotFoundException.class)
-                .isThrownBy(() -> tournamentServiceSpy.update(1L, tournament))
+                .isThrownBy(() -> tournamentServiceSpy.update(1L, tournament, null))
                 .withMessage("The tournament with id: 1 does not exist!");
 
         verify(tournamentRepositoryMock, times(1)).findById(any());
@@ -121,49 +212,56 @@ class TournamentServiceImplTest {
 
     @Test
     void testDelete() {
-        Tournament tournament = getTournament(1L, 200);
-        when(tournamentRepositoryMock.findById(1L)).thenReturn(Optional.of(tournament));
+        when(tournamentRepositoryMock.deleteWithPlayersById(1L)).thenReturn(1);
 
         tournamentServiceSpy.delete(1L);
 
-        verify(tournamentRepositoryMock, times(1)).findById(any());
-        verify(tournamentRepositoryMock, times(1)).deleteById(1L);
-        verify(tournamentRepositoryMock, times(0)).deleteById(any());
+        verify(tournamentRepositoryMock, times(1)).deleteWithPlayersById(1L);
+        verify(tournamentRepositoryMock, times(0)).findById(any());
+        verify(eventPublisherMock, times(1)).publishEvent(new TournamentChangedEvent(1L, ChangeType.DELETED));
     }
 
     @Test
     void testDelete_withNotExistingKey() {
-        when(tournamentRepositoryMock.findById(1L)).thenReturn(Optional.empty());
+        when(tournamentRepositoryMock.deleteWithPlayersById(1L)).thenReturn(0);
         assertThatExceptionOfType(ResourceNotFoundException.class)
                 .isThrownBy(() -> tournamentServiceSpy.delete(1L))
                 .withMessage("The tournament with id: 1 does not exist!");
 
-        verify(tournamentRepositoryMock, times(0)).deleteById(any());
+        verify(eventPublisherMock, times(0)).publishEvent(any());
     }
 
     @Test
     void testGetPlayers() {
-        Player player = mock(Player.class);
-        Player player1 = mock(Player.class);
+        PlayerSummary player = new PlayerSummary(1L, "Tester");
+        PlayerSummary player1 = new PlayerSummary(2L, "Tester1");
 
-        Tournament tournament = getTournament(1L, 200);
-        tournament.setPlayers(Arrays.asList(player, player1));
+        when(tournamentRepositoryMock.findRoster(1L, 0L, PageRequest.of(0, 11)))
+                .thenReturn(Arrays.asList(player, player1));
 
-        when(tournamentRepositoryMock.findById(1L)).thenReturn(Optional.of(tournament));
+        CursorPage<PlayerSummary> players = tournamentServiceSpy.getPlayers(1L, null, 10);
+        assertThat(players.getItems().size()).isEqualTo(2);
+        assertThat(players.getItems()).containsExactlyInAnyOrder(player, player1);
+        verify(tournamentRepositoryMock, times(1)).findRoster(anyLong(), anyLong(), any());
+    }
 
-        List<Player> players = tournamentServiceSpy.getPlayers(tournament.getId());
-        assertThat(players.size()).isEqualTo(2);
-        assertThat(players).containsExactlyInAnyOrder(player, player1);
-        verify(tournamentRepositoryMock, times(1)).findById(any());
+    @Test
+    void testGetPlayers_withEmptyRoster() {
+        when(tournamentRepositoryMock.findRoster(1L, 0L, PageRequest.of(0, 11)))
+                .thenReturn(List.of(new PlayerSummary(null, null)));
+
+        CursorPage<PlayerSummary> players = tournamentServiceSpy.getPlayers(1L, null, 10);
+        assertThat(players.getItems()).isEmpty();
+        assertThat(players.getNextCursor()).isNull();
     }
 
     @Test
     void testGetPlayers_withNotExistingKey() {
-        when(tournamentRepositoryMock.findById(1L)).thenReturn(Optional.empty());
+        when(tournamentRepositoryMock.findRoster(anyLong(), anyLong(), any())).thenReturn(List.of());
         assertThatExceptionOfType(ResourceNotFoundException.class)
-                .isThrownBy(() -> tournamentServiceSpy.getPlayers(1L))
+                .isThrownBy(() -> tournamentServiceSpy.getPlayers(1L, null, 10))
                 .withMessage("The tournament with id: 1 does not exist!");
-        verify(tournamentRepositoryMock, times(1)).findById(any());
+        verify(tournamentRepositoryMock, times(1)).findRoster(anyLong(), anyLong(), any());
     }
 
     private static Tournament getTournament(long id, int rewardAmount) {
@@ -0,0 +1,178 @@
+package com.paf.exercise.stats;
+
+import com.paf.exercise.event.ChangeType;
+import com.paf.exercise.event.PlayerChangedEvent;
+import com.paf.exercise.event.TournamentChangedEvent;
+import com.paf.exercise.model.TournamentStats;
+import com.paf.exercise.model.TournamentStatsChanges;
+import com.paf.exercise.model.TournamentStatsCorrection;
+import com.paf.exercise.repository.TournamentStatsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TournamentStatsCollectorTest {
+    private TournamentStatsRepository statsRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private TournamentStatsCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        statsRepository = mock(TournamentStatsRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        collector = new TournamentStatsCollector(statsRepository, meterRegistry,
+                Duration.ofSeconds(1), Duration.ofMinutes(10));
+    }
+
+    @Test
+    void flush_appliesAccumulatedChanges() {
+        collector.onTournamentChanged(new TournamentChangedEvent(1, ChangeType.CREATED));
+        collector.onTournamentChanged(new TournamentChangedEvent(2, ChangeType.UPDATED));
+        collector.onTournamentChanged(new TournamentChangedEvent(3, ChangeType.DELETED));
+        collector.onPlayerChanged(new PlayerChangedEvent(10, 1, "a", ChangeType.CREATED));
+        collector.onPlayerChanged(new PlayerChangedEvent(11, 1, "b", ChangeType.CREATED));
+        collector.onPlayerChanged(new PlayerChangedEvent(11, 1, "c", ChangeType.UPDATED));
+        collector.onPlayerChanged(new PlayerChangedEvent(12, 2, null, ChangeType.DELETED));
+        collector.onPlayerChanged(new PlayerChangedEvent(13, 4, "d", ChangeType.CREATED));
+        collector.onPlayerChanged(new PlayerChangedEvent(13, 4, null, ChangeType.DELETED));
+        assertThat(collector.getPendingPlayers(1)).isEqualTo(2);
+
+        assertThat(collector.flush()).isTrue();
+
+        ArgumentCaptor<TournamentStatsChanges> changes = ArgumentCaptor.forClass(TournamentStatsChanges.class);
+        verify(statsRepository).applyChanges(changes.capture());
+        assertThat(changes.getValue().getCreated()).containsExactly(1L);
+        assertThat(changes.getValue().getUpdated()).containsExactly(2L);
+        assertThat(changes.getValue().getDeleted()).containsExactly(3L);
+        assertThat(changes.getValue().getPlayerDeltas()).isEqualTo(Map.of(1L, 2L, 2L, -1L));
+        assertThat(collector.getPendingPlayers(1)).isZero();
+        assertThat(collector.flush()).isFalse();
+        verify(statsRepository).applyChanges(any());
+    }
+
+    @Test
+    void pendingGauge_countsUnflushedChangesOnly() {
+        collector.onPlayerChanged(new PlayerChangedEvent(10, 1, "a", ChangeType.CREATED));
+        collector.onPlayerChanged(new PlayerChangedEvent(11, 2, "b", ChangeType.CREATED));
+        collector.onPlayerChanged(new PlayerChangedEvent(11, 2, null, ChangeType.DELETED));
+        assertThat(meterRegistry.get("tournament.stats.pending").gauge().value()).isEqualTo(1);
+
+        collector.flush();
+
+        assertThat(meterRegistry.get("tournament.stats.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void flush_withoutChanges() {
+        assertThat(collector.flush()).isFalse();
+        verifyNoInteractions(statsRepository);
+    }
+
+    @Test
+    void flush_keepsChangesOnFailure() {
+        collector.onTournamentChanged(new TournamentChangedEvent(1, ChangeType.CREATED));
+        collector.onPlayerChanged(new PlayerChangedEvent(10, 1, "a", ChangeType.CREATED));
+        doThrow(new IllegalStateException("down")).when(statsRepository).applyChanges(any());
+
+        assertThatThrownBy(collector::flush).isInstanceOf(IllegalStateException.class);
+        collector.onPlayerChanged(new PlayerChangedEvent(11, 1, "b", ChangeType.CREATED));
+        assertThat(collector.getPendingPlayers(1)).isEqualTo(2);
+
+        assertThatThrownBy(collector::flush).isInstanceOf(IllegalStateException.class);
+        ArgumentCaptor<TournamentStatsChanges> changes = ArgumentCaptor.forClass(TournamentStatsChanges.class);
+        verify(statsRepository, times(2)).applyChanges(changes.capture());
+        assertThat(changes.getValue().getCreated()).isEqualTo(Set.of(1L));
+        assertThat(changes.getValue().getPlayerDeltas()).isEqualTo(Map.of(1L, 2L));
+    }
+
+    @Test
+    void reconcile_flushesFirst() {
+        collector.onPlayerChanged(new PlayerChangedEvent(10, 1, "a", ChangeType.CREATED));
+
+        collector.reconcile();
+
+        InOrder order = inOrder(statsRepository);
+        order.verify(statsRepository).applyChanges(any());
+        order.verify(statsRepository).findCorrections();
+        order.verify(statsRepository).applyCorrections(any());
+    }
+
+    /**
+     * A player committed between the flush and the recount is in the recount and still pending: correcting its
+     * tournament to the recount would count the player twice once the pending change is flushed.
+     */
+    @Test
+    void reconcile_skipsTournamentsChangedDuringRecount() {
+        TournamentStatsCorrection changed = new TournamentStatsCorrection(1, false, 1, 100);
+        TournamentStatsCorrection unchanged = new TournamentStatsCorrection(2, false, -3, 200);
+        when(statsRepository.findCorrections()).thenAnswer(invocation -> {
+            collector.onPlayerChanged(new PlayerChangedEvent(10, 1, "a", ChangeType.CREATED));
+            return List.of(changed, unchanged);
+        }).thenReturn(List.of(changed, unchanged));
+
+        assertThat(collector.reconcile()).isEqualTo(1);
+
+        verify(statsRepository).applyCorrections(List.of(unchanged));
+        assertThat(collector.getPendingPlayers(1)).isEqualTo(1);
+        collector.reconcile();
+        verify(statsRepository).applyCorrections(List.of(changed, unchanged));
+    }
+
+    @Test
+    void onTournamentChanged_deletedDropsPendingPlayers() {
+        collector.onPlayerChanged(new PlayerChangedEvent(10, 1, "a", ChangeType.CREATED));
+        collector.onTournamentChanged(new TournamentChangedEvent(1, ChangeType.DELETED));
+        collector.onTournamentChanged(new TournamentChangedEvent(1, ChangeType.CREATED));
+        collector.onPlayerChanged(new PlayerChangedEvent(11, 1, "b", ChangeType.CREATED));
+
+        collector.flush();
+
+        ArgumentCaptor<TournamentStatsChanges> changes = ArgumentCaptor.forClass(TournamentStatsChanges.class);
+        verify(statsRepository).applyChanges(changes.capture());
+        assertThat(changes.getValue().getDeleted()).containsExactly(1L);
+        assertThat(changes.getValue().getCreated()).containsExactly(1L);
+        assertThat(changes.getValue().getPlayerDeltas()).isEqualTo(Map.of(1L, 1L));
+    }
+
+    @Test
+    void readStats_waitsForFlushInProgress() throws Exception {
+        AtomicLong flushedPlayers = new AtomicLong();
+        collector.onPlayerChanged(new PlayerChangedEvent(10, 1, "a", ChangeType.CREATED));
+        CompletableFuture<Optional<TournamentStats>> read = new CompletableFuture<>();
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> read.complete(collector.readStats(1,
+                    id -> Optional.of(new TournamentStats(id, flushedPlayers.get(), 100)))));
+            Thread.sleep(100);
+            assertThat(read).isNotDone();
+            flushedPlayers.set(1);
+            return null;
+        }).when(statsRepository).applyChanges(any());
+
+        collector.flush();
+
+        assertThat(read.get(5, TimeUnit.SECONDS)).contains(new TournamentStats(1, 1, 100));
+    }
+}